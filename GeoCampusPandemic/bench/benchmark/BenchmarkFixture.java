@@ -0,0 +1,155 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import cern.jet.random.engine.RandomEngine;
+import datasource.Campus;
+import engine.HeadlessEventKernel;
+import gis.PlainCampusGeography;
+import model.agents.CommunityMember;
+import model.util.RandomPurpose;
+import model.util.RandomStreams;
+import model.util.Randomizer;
+import simulation.EventScheduler;
+import simulation.RunConfiguration;
+import simulation.SimulationBuilder;
+import util.StageTimer;
+
+public class BenchmarkFixture {
+
+	/**
+	 * Run configuration
+	 */
+	private RunConfiguration configuration;
+
+	/**
+	 * Fraction of infected agents
+	 */
+	private double infectedFraction;
+
+	/**
+	 * Simulation builder
+	 */
+	private SimulationBuilder simulationBuilder;
+
+	/**
+	 * Campus
+	 */
+	private Campus campus;
+
+	/**
+	 * Community members
+	 */
+	private List<CommunityMember> members;
+
+	/**
+	 * Infected community members
+	 */
+	private List<CommunityMember> infected;
+
+	/**
+	 * Fixture random stream
+	 */
+	private RandomEngine random;
+
+	/**
+	 * Create a new benchmark fixture from the bundled campus. Every agent is
+	 * initialized and placed in a random teaching facility, and a fraction
+	 * of them is infected. Nothing is run.
+	 * 
+	 * @param configuration    Run configuration
+	 * @param infectedFraction Fraction of infected agents
+	 */
+	public BenchmarkFixture(RunConfiguration configuration,
+			double infectedFraction) {
+		this.configuration = configuration;
+		this.infectedFraction = infectedFraction;
+		this.random = RandomStreams.create(configuration.getRandomSeed(),
+				RandomStreams.POPULATION_KEY, RandomPurpose.MOBILITY);
+		resetKernel();
+		this.simulationBuilder = new SimulationBuilder();
+		this.simulationBuilder.configuration = configuration;
+		this.simulationBuilder.campusGeography = new PlainCampusGeography(
+				configuration.getInfectionRadius());
+		this.campus = this.simulationBuilder.loadCampus(new StageTimer());
+		this.simulationBuilder.initCampus(this.campus);
+		this.members = this.simulationBuilder.createPopulation();
+		for (CommunityMember member : this.members) {
+			member.init();
+			member.relocate(Randomizer.getRandomPolygon(
+					this.campus.teachingFacilities, this.random));
+		}
+		int count = (int) Math.round(infectedFraction * this.members.size());
+		Set<Integer> indexes = Randomizer.getRandomSubset(this.members.size(),
+				count, this.random);
+		this.infected = new ArrayList<>();
+		for (int index : indexes) {
+			CommunityMember member = this.members.get(index);
+			member.transitionToExposed();
+			member.transitionToInfected();
+			this.infected.add(member);
+		}
+		resetKernel();
+	}
+
+	/**
+	 * Build a new fixture with the same configuration. Benchmarks that
+	 * change the compartments or the exposure state of the agents start
+	 * each iteration from a fresh one.
+	 */
+	public BenchmarkFixture rebuild() {
+		return new BenchmarkFixture(this.configuration, this.infectedFraction);
+	}
+
+	/**
+	 * Replace the event kernel with an empty one. Events scheduled by the
+	 * fixture or by a benchmark are dropped.
+	 */
+	public void resetKernel() {
+		EventScheduler.getInstance().setKernel(new HeadlessEventKernel());
+	}
+
+	/**
+	 * Get run configuration
+	 */
+	public RunConfiguration getConfiguration() {
+		return this.configuration;
+	}
+
+	/**
+	 * Get simulation builder
+	 */
+	public SimulationBuilder getSimulationBuilder() {
+		return this.simulationBuilder;
+	}
+
+	/**
+	 * Get campus
+	 */
+	public Campus getCampus() {
+		return this.campus;
+	}
+
+	/**
+	 * Get community members
+	 */
+	public List<CommunityMember> getMembers() {
+		return this.members;
+	}
+
+	/**
+	 * Get infected community members
+	 */
+	public List<CommunityMember> getInfected() {
+		return this.infected;
+	}
+
+	/**
+	 * Get fixture random stream
+	 */
+	public RandomEngine getRandom() {
+		return this.random;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,747 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import cern.jet.random.engine.MersenneTwister;
+import cern.jet.random.engine.RandomEngine;
+import config.SourcePaths;
+import gis.PlainCampusGeography;
+
+public class CampusGenerator {
+
+	/**
+	 * Default output directory
+	 */
+	private static final String DEFAULT_OUTPUT_DIRECTORY = "./output/synthetic";
+
+	/**
+	 * Origin longitude of the layout, next to the bundled campus
+	 */
+	private static final double ORIGIN_X = -75.58;
+
+	/**
+	 * Origin latitude of the layout, next to the bundled campus
+	 */
+	private static final double ORIGIN_Y = 6.19;
+
+	/**
+	 * Layout cell size (unit: meters)
+	 */
+	private static final double CELL_SIZE = 60;
+
+	/**
+	 * Building side (unit: meters)
+	 */
+	private static final double BUILDING_SIDE = 40;
+
+	/**
+	 * Side of the other polygons (unit: meters)
+	 */
+	private static final double SPOT_SIDE = 15;
+
+	/**
+	 * Area of the in-out spots (unit: square meters)
+	 */
+	private static final double SPOT_AREA = 50;
+
+	/**
+	 * Area of the transit areas (unit: square meters)
+	 */
+	private static final double TRANSIT_AREA = 200;
+
+	/**
+	 * Groups per subject
+	 */
+	private static final int GROUPS_PER_SUBJECT = 3;
+
+	/**
+	 * Maximum academic activities per group
+	 */
+	private static final int MAX_ACTIVITIES = 3;
+
+	/**
+	 * Class slots: start and end time
+	 */
+	private static final double[][] SLOTS = { { 6, 9 }, { 9, 12 },
+			{ 12, 15 }, { 15, 18 }, { 18, 21 }, { 7.5, 9 }, { 10, 12 },
+			{ 13.5, 15 } };
+
+	/**
+	 * Group capacities
+	 */
+	private static final int[] CAPACITIES = { 20, 22, 25, 30, 35 };
+
+	/**
+	 * Attributes header
+	 */
+	private static final String ATTRIBUTES_HEADER = "Place,Area,Weight,Active,Link";
+
+	/**
+	 * Output directory
+	 */
+	private File outputDirectory;
+
+	/**
+	 * Random stream
+	 */
+	private RandomEngine random;
+
+	/**
+	 * Teaching facilities
+	 */
+	private List<Facility> teachingFacilities;
+
+	/**
+	 * Shared areas
+	 */
+	private List<Facility> sharedAreas;
+
+	/**
+	 * Eating places
+	 */
+	private List<Facility> eatingPlaces;
+
+	/**
+	 * In-out spots
+	 */
+	private List<Facility> inOuts;
+
+	/**
+	 * Vehicle in-out spots
+	 */
+	private List<Facility> vehicleInOuts;
+
+	/**
+	 * Transit areas
+	 */
+	private List<Facility> transitAreas;
+
+	/**
+	 * Parking lots
+	 */
+	private List<Facility> parkingLots;
+
+	/**
+	 * Limbos
+	 */
+	private List<Facility> limbos;
+
+	/**
+	 * Other facilities
+	 */
+	private List<Facility> otherFacilities;
+
+	/**
+	 * Create a new synthetic campus generator. Polygons are squares laid out
+	 * on a shuffled grid, and every routed polygon hangs from its nearest
+	 * transit area.
+	 * 
+	 * @param outputDirectory Output directory
+	 * @param seed            Random seed
+	 */
+	public CampusGenerator(File outputDirectory, int seed) {
+		this.outputDirectory = outputDirectory;
+		this.random = new MersenneTwister(seed);
+		this.teachingFacilities = new ArrayList<>();
+		this.sharedAreas = new ArrayList<>();
+		this.eatingPlaces = new ArrayList<>();
+		this.inOuts = new ArrayList<>();
+		this.vehicleInOuts = new ArrayList<>();
+		this.transitAreas = new ArrayList<>();
+		this.parkingLots = new ArrayList<>();
+		this.limbos = new ArrayList<>();
+		this.otherFacilities = new ArrayList<>();
+	}
+
+	/**
+	 * Create the facilities and lay them out
+	 * 
+	 * @param buildings       Teaching facilities
+	 * @param sharedAreas     Shared areas
+	 * @param eatingPlaces    Eating places
+	 * @param gates           In-out spots and vehicle in-out spots, each
+	 * @param transitAreas    Transit areas
+	 * @param parkingLots     Parking lots
+	 * @param otherFacilities Other facilities
+	 */
+	public void createFacilities(int buildings, int sharedAreas,
+			int eatingPlaces, int gates, int transitAreas, int parkingLots,
+			int otherFacilities) {
+		for (int i = 1; i <= buildings; i++) {
+			this.teachingFacilities
+					.add(new Facility("B" + i, BUILDING_SIDE, 0, true));
+		}
+		for (int i = 1; i <= sharedAreas; i++) {
+			this.sharedAreas.add(new Facility("Z" + i, BUILDING_SIDE,
+					this.random.nextDouble(), true));
+		}
+		for (int i = 1; i <= eatingPlaces; i++) {
+			this.eatingPlaces.add(new Facility("F" + i, BUILDING_SIDE,
+					this.random.nextDouble(), true));
+		}
+		for (int i = 1; i <= gates; i++) {
+			Facility limbo = createPlainFacility("LIM" + i, true);
+			Facility inOut = new Facility("G" + i, SPOT_SIDE,
+					this.random.nextDouble(), true);
+			inOut.area = SPOT_AREA;
+			inOut.link = limbo.id;
+			this.limbos.add(limbo);
+			this.inOuts.add(inOut);
+		}
+		for (int i = 1; i <= gates; i++) {
+			Facility limbo = createPlainFacility("LIM" + (gates + i), true);
+			Facility vehicleInOut = new Facility("GV" + i, SPOT_SIDE,
+					this.random.nextDouble(), true);
+			vehicleInOut.area = SPOT_AREA;
+			vehicleInOut.link = limbo.id;
+			this.limbos.add(limbo);
+			this.vehicleInOuts.add(vehicleInOut);
+		}
+		for (int i = 1; i <= transitAreas; i++) {
+			Facility transitArea = new Facility("X" + i, SPOT_SIDE, 0, true);
+			transitArea.area = TRANSIT_AREA;
+			this.transitAreas.add(transitArea);
+		}
+		for (int i = 1; i <= parkingLots; i++) {
+			this.parkingLots.add(createPlainFacility("P" + i, false));
+		}
+		for (int i = 1; i <= otherFacilities; i++) {
+			this.otherFacilities.add(createPlainFacility("OF" + i, false));
+		}
+		normalizeWeights(this.sharedAreas);
+		normalizeWeights(this.eatingPlaces);
+		normalizeWeights(this.inOuts);
+		normalizeWeights(this.vehicleInOuts);
+		layOut();
+	}
+
+	/**
+	 * Write the polygon layers in the layout of the source paths
+	 */
+	public void writePolygons() throws IOException {
+		writeLayer(SourcePaths.TEACHING_FACILITIES_GEOMETRY_SHAPEFILE,
+				SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE,
+				this.teachingFacilities);
+		writeLayer(SourcePaths.SHARED_AREAS_GEOMETRY_SHAPEFILE,
+				SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE,
+				this.sharedAreas);
+		writeLayer(SourcePaths.EATING_PLACES_GEOMETRY_SHAPEFILE,
+				SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE,
+				this.eatingPlaces);
+		writeLayer(SourcePaths.INOUTS_GEOMETRY_SHAPEFILE,
+				SourcePaths.INOUT_SPOTS_ATTRIBUTES_DATABASE, this.inOuts);
+		writeLayer(SourcePaths.VEHICLE_INOUTS_GEOMETRY_SHAPEFILE,
+				SourcePaths.VEHICLE_INOUT_SPOTS_ATTRIBUTES_DATABASE,
+				this.vehicleInOuts);
+		writeLayer(SourcePaths.TRANSIT_AREAS_GEOMETRY_SHAPEFILE,
+				SourcePaths.TRANSIT_AREAS_ATTRIBUTES_DATABASE,
+				this.transitAreas);
+		writeLayer(SourcePaths.PARKING_LOTS_GEOMETRY_SHAPEFILE,
+				SourcePaths.PARKING_LOTS_ATTRIBUTES_DATABASE,
+				this.parkingLots);
+		writeLayer(SourcePaths.LIMBOS_GEOMETRY_SHAPEFILE,
+				SourcePaths.LIMBOS_ATTRIBUTES_DATABASE, this.limbos);
+		writeLayer(SourcePaths.OTHER_FACILITIES_GEOMETRY_SHAPEFILE,
+				SourcePaths.OTHER_FACILITIES_ATTRIBUTES_DATABASE,
+				this.otherFacilities);
+	}
+
+	/**
+	 * Write the routes database. Transit areas form a spanning tree, each
+	 * one linked to its nearest predecessor, plus extra random edges. Every
+	 * other routed polygon is linked to its nearest transit area, and every
+	 * limbo to its gate. It returns the number of edges.
+	 * 
+	 * @param extraEdges Extra edges between transit areas
+	 */
+	public int writeRoutes(int extraEdges) throws IOException {
+		Set<String> edges = new HashSet<>();
+		List<String> rows = new ArrayList<>();
+		for (int i = 1; i < this.transitAreas.size(); i++) {
+			Facility transitArea = this.transitAreas.get(i);
+			addRoute(edges, rows, transitArea, getNearest(transitArea,
+					this.transitAreas.subList(0, i)));
+		}
+		int n = this.transitAreas.size();
+		int attempts = 0;
+		int added = 0;
+		while (n > 1 && added < extraEdges && attempts < extraEdges * 10) {
+			attempts++;
+			Facility origin = this.transitAreas.get(nextIndex(n));
+			Facility destination = this.transitAreas.get(nextIndex(n));
+			if (origin != destination
+					&& addRoute(edges, rows, origin, destination)) {
+				added++;
+			}
+		}
+		List<Facility> routed = new ArrayList<>();
+		routed.addAll(this.teachingFacilities);
+		routed.addAll(this.sharedAreas);
+		routed.addAll(this.eatingPlaces);
+		routed.addAll(this.inOuts);
+		routed.addAll(this.vehicleInOuts);
+		routed.addAll(this.parkingLots);
+		for (Facility facility : routed) {
+			addRoute(edges, rows, facility,
+					getNearest(facility, this.transitAreas));
+		}
+		List<Facility> gates = new ArrayList<>(this.inOuts);
+		gates.addAll(this.vehicleInOuts);
+		for (Facility gate : gates) {
+			addRoute(edges, rows, getFacility(this.limbos, gate.link), gate);
+		}
+		try (PrintWriter writer = createWriter(SourcePaths.ROUTES_DATABASE)) {
+			writer.println("Start,End,Distance");
+			for (String row : rows) {
+				writer.println(row);
+			}
+		}
+		return rows.size();
+	}
+
+	/**
+	 * Write the groups database. Subjects have a few groups, and each group
+	 * meets one to three days a week in a random teaching facility.
+	 * 
+	 * @param groups Groups
+	 */
+	public void writeGroups(int groups) throws IOException {
+		try (PrintWriter writer = createWriter(SourcePaths.GROUPS_DATABASE)) {
+			writer.println(
+					"Subject ID,Group,Day,Start time,End time,Capacity,Teaching facility");
+			for (int i = 0; i < groups; i++) {
+				String subject = String.format("SYN%05d",
+						i / GROUPS_PER_SUBJECT);
+				int group = i % GROUPS_PER_SUBJECT + 1;
+				int capacity = CAPACITIES[nextIndex(CAPACITIES.length)];
+				int activities = 1 + nextIndex(MAX_ACTIVITIES);
+				int firstDay = 1 + nextIndex(5);
+				for (int j = 0; j < activities; j++) {
+					int day = (firstDay + 2 * j - 1) % 5 + 1;
+					double[] slot = SLOTS[nextIndex(SLOTS.length)];
+					Facility facility = this.teachingFacilities
+							.get(nextIndex(this.teachingFacilities.size()));
+					writer.println(subject + "," + group + "," + day + ","
+							+ formatNumber(slot[0]) + ","
+							+ formatNumber(slot[1]) + "," + capacity + ","
+							+ facility.id);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Write the workplaces database. Workplaces are picked among teaching
+	 * facilities, shared areas and eating places, with equal weights.
+	 * 
+	 * @param workplaces Workplaces
+	 */
+	public void writeWorkplaces(int workplaces) throws IOException {
+		List<Facility> candidates = new ArrayList<>();
+		candidates.addAll(this.teachingFacilities);
+		candidates.addAll(this.sharedAreas);
+		candidates.addAll(this.eatingPlaces);
+		shuffle(candidates);
+		int n = Math.min(workplaces, candidates.size());
+		try (PrintWriter writer = createWriter(
+				SourcePaths.WORKPLACES_DATABASE)) {
+			writer.println("Place,Weight");
+			for (int i = 0; i < n; i++) {
+				writer.println(candidates.get(i).id + ","
+						+ formatNumber(1.0 / n));
+			}
+		}
+	}
+
+	/**
+	 * Generate a synthetic campus. Arguments are key=value pairs: output,
+	 * seed, buildings, sharedAreas, eatingPlaces, gates, transitAreas,
+	 * parkingLots, otherFacilities, routeEdges (extra edges between transit
+	 * areas), groups and workplaces. Run the simulation from the output
+	 * directory, with populationMode=random, to load it.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) throws IOException {
+		String outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+		int seed = 1;
+		int buildings = 220;
+		int sharedAreas = 200;
+		int eatingPlaces = 60;
+		int gates = 14;
+		int transitAreas = 240;
+		int parkingLots = 14;
+		int otherFacilities = 10;
+		int routeEdges = 240;
+		int groups = 27000;
+		int workplaces = 130;
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			String key = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			switch (key) {
+			case "output":
+				outputDirectory = value;
+				break;
+			case "seed":
+				seed = Integer.parseInt(value);
+				break;
+			case "buildings":
+				buildings = Integer.parseInt(value);
+				break;
+			case "sharedAreas":
+				sharedAreas = Integer.parseInt(value);
+				break;
+			case "eatingPlaces":
+				eatingPlaces = Integer.parseInt(value);
+				break;
+			case "gates":
+				gates = Integer.parseInt(value);
+				break;
+			case "transitAreas":
+				transitAreas = Integer.parseInt(value);
+				break;
+			case "parkingLots":
+				parkingLots = Integer.parseInt(value);
+				break;
+			case "otherFacilities":
+				otherFacilities = Integer.parseInt(value);
+				break;
+			case "routeEdges":
+				routeEdges = Integer.parseInt(value);
+				break;
+			case "groups":
+				groups = Integer.parseInt(value);
+				break;
+			case "workplaces":
+				workplaces = Integer.parseInt(value);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown parameter: " + key);
+			}
+		}
+		if (buildings < 1 || transitAreas < 1 || gates < 1) {
+			throw new IllegalArgumentException(
+					"A campus needs buildings, transit areas and gates");
+		}
+		CampusGenerator generator = new CampusGenerator(
+				new File(outputDirectory), seed);
+		generator.createFacilities(buildings, sharedAreas, eatingPlaces,
+				gates, transitAreas, parkingLots, otherFacilities);
+		generator.writePolygons();
+		int edges = generator.writeRoutes(routeEdges);
+		generator.writeGroups(groups);
+		generator.writeWorkplaces(workplaces);
+		System.out.printf("Synthetic campus: %s (%d route edges)%n",
+				outputDirectory, edges);
+	}
+
+	/**
+	 * Create a plain facility, i.e. one without area nor weight
+	 * 
+	 * @param id     Facility id
+	 * @param active Active
+	 */
+	private static Facility createPlainFacility(String id, boolean active) {
+		Facility facility = new Facility(id, SPOT_SIDE, 0, active);
+		facility.area = 0;
+		return facility;
+	}
+
+	/**
+	 * Lay out the facilities: campus polygons on a shuffled square grid and
+	 * limbos on a row below it
+	 */
+	private void layOut() {
+		List<Facility> campus = new ArrayList<>();
+		campus.addAll(this.teachingFacilities);
+		campus.addAll(this.sharedAreas);
+		campus.addAll(this.eatingPlaces);
+		campus.addAll(this.inOuts);
+		campus.addAll(this.vehicleInOuts);
+		campus.addAll(this.transitAreas);
+		campus.addAll(this.parkingLots);
+		campus.addAll(this.otherFacilities);
+		shuffle(campus);
+		int columns = (int) Math.ceil(Math.sqrt(campus.size()));
+		for (int i = 0; i < campus.size(); i++) {
+			campus.get(i).place(i % columns, i / columns);
+		}
+		for (int i = 0; i < this.limbos.size(); i++) {
+			this.limbos.get(i).place(i, -2);
+		}
+	}
+
+	/**
+	 * Write a polygon layer: shapefile and attributes database
+	 * 
+	 * @param shapefilePath  Shapefile source path
+	 * @param attributesPath Attributes source path
+	 * @param facilities     Facilities
+	 */
+	private void writeLayer(String shapefilePath, String attributesPath,
+			List<Facility> facilities) throws IOException {
+		ShapefileWriter shapefileWriter = new ShapefileWriter();
+		for (Facility facility : facilities) {
+			shapefileWriter.addPolygon(facility.id, facility.getRing());
+		}
+		shapefileWriter.write(new File(this.outputDirectory, shapefilePath));
+		try (PrintWriter writer = createWriter(attributesPath)) {
+			writer.println(ATTRIBUTES_HEADER);
+			for (Facility facility : facilities) {
+				writer.println(facility.id + "," + formatNumber(facility.area)
+						+ "," + formatNumber(facility.weight) + ","
+						+ (facility.active ? "1" : "0") + ","
+						+ (facility.link != null ? facility.link : ""));
+			}
+		}
+	}
+
+	/**
+	 * Add a route unless it's already there. It returns true if the route
+	 * was added.
+	 * 
+	 * @param edges       Undirected edge keys
+	 * @param rows        Route rows
+	 * @param origin      Origin
+	 * @param destination Destination
+	 */
+	private static boolean addRoute(Set<String> edges, List<String> rows,
+			Facility origin, Facility destination) {
+		boolean ordered = origin.id.compareTo(destination.id) < 0;
+		String key = ordered ? origin.id + "," + destination.id
+				: destination.id + "," + origin.id;
+		if (!edges.add(key)) {
+			return false;
+		}
+		double distance = Math.max(1, Math.round(origin.distance(destination)));
+		rows.add(origin.id + "," + destination.id + ","
+				+ formatNumber(distance));
+		return true;
+	}
+
+	/**
+	 * Get the nearest candidate to a facility
+	 * 
+	 * @param facility   Facility
+	 * @param candidates Candidates
+	 */
+	private static Facility getNearest(Facility facility,
+			List<Facility> candidates) {
+		Facility nearest = null;
+		double nearestDistance = Double.POSITIVE_INFINITY;
+		for (Facility candidate : candidates) {
+			double distance = facility.distance(candidate);
+			if (distance < nearestDistance) {
+				nearest = candidate;
+				nearestDistance = distance;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Get a facility by id
+	 * 
+	 * @param facilities Facilities
+	 * @param id         Facility id
+	 */
+	private static Facility getFacility(List<Facility> facilities,
+			String id) {
+		for (Facility facility : facilities) {
+			if (facility.id.equals(id)) {
+				return facility;
+			}
+		}
+		throw new IllegalArgumentException("Unknown facility: " + id);
+	}
+
+	/**
+	 * Normalize the weights of some facilities so they add up to one
+	 * 
+	 * @param facilities Facilities
+	 */
+	private static void normalizeWeights(List<Facility> facilities) {
+		double total = 0;
+		for (Facility facility : facilities) {
+			total += facility.weight;
+		}
+		for (Facility facility : facilities) {
+			facility.weight = total > 0 ? facility.weight / total : 0;
+		}
+	}
+
+	/**
+	 * Shuffle a list (Fisher-Yates)
+	 * 
+	 * @param list List
+	 */
+	private <T> void shuffle(List<T> list) {
+		for (int i = list.size() - 1; i > 0; i--) {
+			int j = nextIndex(i + 1);
+			T swap = list.get(i);
+			list.set(i, list.get(j));
+			list.set(j, swap);
+		}
+	}
+
+	/**
+	 * Get a random index in [0, size)
+	 * 
+	 * @param size Range size
+	 */
+	private int nextIndex(int size) {
+		return Math.min((int) (this.random.nextDouble() * size), size - 1);
+	}
+
+	/**
+	 * Create a writer for a source path in the output directory
+	 * 
+	 * @param sourcePath Source path
+	 */
+	private PrintWriter createWriter(String sourcePath) throws IOException {
+		File file = new File(this.outputDirectory, sourcePath);
+		file.getAbsoluteFile().getParentFile().mkdirs();
+		return new PrintWriter(new FileWriter(file));
+	}
+
+	/**
+	 * Format a number as the source databases do: integers without
+	 * decimals
+	 * 
+	 * @param value Value
+	 */
+	private static String formatNumber(double value) {
+		if (value == Math.rint(value)) {
+			return Long.toString((long) value);
+		}
+		return String.format(Locale.ROOT, "%.6f", value);
+	}
+
+	/**
+	 * Synthetic facility
+	 */
+	private static class Facility {
+
+		/**
+		 * Facility id
+		 */
+		private String id;
+
+		/**
+		 * Side (unit: meters)
+		 */
+		private double side;
+
+		/**
+		 * Area (unit: square meters). Zero for plain polygons.
+		 */
+		private double area;
+
+		/**
+		 * Weight
+		 */
+		private double weight;
+
+		/**
+		 * Active
+		 */
+		private boolean active;
+
+		/**
+		 * Linked limbo id
+		 */
+		private String link;
+
+		/**
+		 * Center longitude
+		 */
+		private double x;
+
+		/**
+		 * Center latitude
+		 */
+		private double y;
+
+		/**
+		 * Create a new synthetic facility. Its area defaults to the area of
+		 * its square.
+		 * 
+		 * @param id     Facility id
+		 * @param side   Side (unit: meters)
+		 * @param weight Weight
+		 * @param active Active
+		 */
+		public Facility(String id, double side, double weight,
+				boolean active) {
+			this.id = id;
+			this.side = side;
+			this.area = side * side;
+			this.weight = weight;
+			this.active = active;
+		}
+
+		/**
+		 * Place the facility at the center of a layout cell
+		 * 
+		 * @param column Column
+		 * @param row    Row
+		 */
+		public void place(int column, int row) {
+			this.x = ORIGIN_X + toLongitude((column + 0.5) * CELL_SIZE);
+			this.y = ORIGIN_Y + toLatitude((row + 0.5) * CELL_SIZE);
+		}
+
+		/**
+		 * Get the ring of the facility square, closed and clockwise
+		 */
+		public double[] getRing() {
+			double dx = toLongitude(this.side / 2);
+			double dy = toLatitude(this.side / 2);
+			return new double[] { this.x - dx, this.y - dy, this.x - dx,
+					this.y + dy, this.x + dx, this.y + dy, this.x + dx,
+					this.y - dy, this.x - dx, this.y - dy };
+		}
+
+		/**
+		 * Get the distance to another facility (unit: meters)
+		 * 
+		 * @param other Other facility
+		 */
+		public double distance(Facility other) {
+			double dx = (this.x - other.x) / toLongitude(1);
+			double dy = (this.y - other.y) / toLatitude(1);
+			return Math.sqrt(dx * dx + dy * dy);
+		}
+
+		/**
+		 * Convert meters to degrees of longitude at the layout origin
+		 * 
+		 * @param meters Meters
+		 */
+		private static double toLongitude(double meters) {
+			return toLatitude(meters) / Math.cos(Math.toRadians(ORIGIN_Y));
+		}
+
+		/**
+		 * Convert meters to degrees of latitude
+		 * 
+		 * @param meters Meters
+		 */
+		private static double toLatitude(double meters) {
+			return meters / PlainCampusGeography.METERS_PER_DEGREE;
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,68 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import model.agents.AcademicActivity;
+import model.agents.Group;
+import model.util.Randomizer;
+
+public final class GroupSynthesizer {
+
+	/**
+	 * Seat headroom over the expected enrollments
+	 */
+	private static final double SEAT_HEADROOM = 1.1;
+
+	/**
+	 * Separator of the replica number in synthetic group ids
+	 */
+	private static final String REPLICA_SEPARATOR = "~";
+
+	/**
+	 * Private constructor
+	 */
+	private GroupSynthesizer() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Add replicas of the groups until they seat a number of students.
+	 * Replicas keep the capacity and the activities of their group, so
+	 * teaching facilities get crowded as the population grows. It returns
+	 * the number of added groups.
+	 * 
+	 * @param groups   Groups by id
+	 * @param students Number of students
+	 */
+	public static int expand(Map<String, Group> groups, int students) {
+		double enrollments = Randomizer.TRIALS_GROUPS_TO_ENROLL
+				* Randomizer.SUCCESS_PROBABILITY_GROUPS_TO_ENROLL;
+		double seats = students * enrollments * SEAT_HEADROOM;
+		long capacity = 0;
+		for (Group group : groups.values()) {
+			capacity += group.getCapacity();
+		}
+		if (capacity == 0 || capacity >= seats) {
+			return 0;
+		}
+		int replicas = (int) Math.ceil(seats / capacity) - 1;
+		List<Group> originals = new ArrayList<>(groups.values());
+		for (int replica = 1; replica <= replicas; replica++) {
+			for (Group original : originals) {
+				Group group = new Group(
+						original.getId() + REPLICA_SEPARATOR + replica,
+						original.getCapacity());
+				for (AcademicActivity activity : original
+						.getAcademicActivities()) {
+					group.addAcademicActivity(activity.getDay(),
+							activity.getStartTime(), activity.getEndTime(),
+							activity.getTeachingFacilityId());
+				}
+				groups.put(group.getId(), group);
+			}
+		}
+		return replicas * originals.size();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package benchmark;
+
+import java.util.List;
+import model.agents.CommunityMember;
+
+public class InfectBenchmark extends MicroBenchmark {
+
+	/**
+	 * Benchmark fixture
+	 */
+	private BenchmarkFixture fixture;
+
+	/**
+	 * Infected community members
+	 */
+	private List<CommunityMember> infected;
+
+	/**
+	 * Get benchmark name
+	 */
+	@Override
+	public String getName() {
+		return "infect";
+	}
+
+	/**
+	 * Set up the benchmark state
+	 * 
+	 * @param fixture Benchmark fixture
+	 */
+	@Override
+	public void setUp(BenchmarkFixture fixture) {
+		this.fixture = fixture;
+		this.infected = fixture.getInfected();
+		if (this.infected.isEmpty()) {
+			throw new IllegalArgumentException(
+					"The infect benchmark needs infected agents");
+		}
+	}
+
+	/**
+	 * Rebuild the fixture, so every iteration starts from the same
+	 * compartments and exposure state. The shared fixture is left untouched.
+	 */
+	@Override
+	public void reset() {
+		this.fixture = this.fixture.rebuild();
+		this.infected = this.fixture.getInfected();
+	}
+
+	/**
+	 * Expel particles from the next infected agent. Exposed neighbors stay
+	 * exposed within an iteration, so the sweep gets slightly cheaper as
+	 * susceptible neighbors run out; the spatial query dominates.
+	 * 
+	 * @param index Operation index
+	 */
+	@Override
+	public Object operation(long index) {
+		CommunityMember member = this.infected
+				.get((int) (index % this.infected.size()));
+		member.expelParticles();
+		return member;
+	}
+
+}
\ No newline at end of file
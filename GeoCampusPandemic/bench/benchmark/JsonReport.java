@@ -0,0 +1,234 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class JsonReport {
+
+	/**
+	 * Fields, in insertion order
+	 */
+	private Map<String, Object> fields;
+
+	/**
+	 * Create a new flat JSON report. Values are numbers, booleans or
+	 * strings.
+	 */
+	public JsonReport() {
+		this.fields = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Put a field
+	 * 
+	 * @param key   Key
+	 * @param value Value
+	 */
+	public JsonReport put(String key, Object value) {
+		this.fields.put(key, value);
+		return this;
+	}
+
+	/**
+	 * Get a field
+	 * 
+	 * @param key Key
+	 */
+	public Object get(String key) {
+		return this.fields.get(key);
+	}
+
+	/**
+	 * Get fields
+	 */
+	public Map<String, Object> getFields() {
+		return this.fields;
+	}
+
+	/**
+	 * Write the report to a file. Parent directories are created.
+	 * 
+	 * @param file File
+	 */
+	public void write(File file) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			parent.mkdirs();
+		}
+		try (Writer writer = new FileWriter(file)) {
+			writer.write(toJson());
+			writer.write(System.lineSeparator());
+		}
+	}
+
+	/**
+	 * Get the report as a JSON object, one field per line. Non-finite
+	 * numbers, which JSON can't represent, are written as null.
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder("{");
+		String separator = "\n";
+		for (Map.Entry<String, Object> field : this.fields.entrySet()) {
+			json.append(separator).append("  ");
+			appendString(json, field.getKey());
+			json.append(": ");
+			Object value = field.getValue();
+			if (value instanceof Number && !isFinite((Number) value)) {
+				json.append("null");
+			} else if (value instanceof Number || value instanceof Boolean) {
+				json.append(value);
+			} else if (value == null) {
+				json.append("null");
+			} else {
+				appendString(json, value.toString());
+			}
+			separator = ",\n";
+		}
+		return json.append("\n}").toString();
+	}
+
+	/**
+	 * Is a number finite?
+	 * 
+	 * @param number Number
+	 */
+	private static boolean isFinite(Number number) {
+		if (number instanceof Double || number instanceof Float) {
+			return Double.isFinite(number.doubleValue());
+		}
+		return true;
+	}
+
+	/**
+	 * Read a report written by write. Numbers are read as doubles.
+	 * 
+	 * @param file File
+	 */
+	public static JsonReport read(File file) throws IOException {
+		String json = new String(Files.readAllBytes(file.toPath()),
+				StandardCharsets.UTF_8);
+		JsonReport report = new JsonReport();
+		int[] position = { skipWhitespace(json, 0) };
+		expect(json, position, '{');
+		while (json.charAt(position[0]) != '}') {
+			String key = readString(json, position);
+			expect(json, position, ':');
+			report.put(key, readValue(json, position));
+			if (json.charAt(position[0]) == ',') {
+				expect(json, position, ',');
+			}
+		}
+		return report;
+	}
+
+	/**
+	 * Read a value: string, number, boolean or null
+	 * 
+	 * @param json     JSON
+	 * @param position Position, advanced past the value
+	 */
+	private static Object readValue(String json, int[] position) {
+		if (json.charAt(position[0]) == '"') {
+			return readString(json, position);
+		}
+		int start = position[0];
+		int end = start;
+		while (end < json.length() && ",}".indexOf(json.charAt(end)) < 0
+				&& !Character.isWhitespace(json.charAt(end))) {
+			end++;
+		}
+		String token = json.substring(start, end);
+		position[0] = skipWhitespace(json, end);
+		if (token.equals("true") || token.equals("false")) {
+			return Boolean.valueOf(token);
+		}
+		if (token.equals("null")) {
+			return null;
+		}
+		return Double.valueOf(token);
+	}
+
+	/**
+	 * Read a quoted JSON string
+	 * 
+	 * @param json     JSON
+	 * @param position Position, advanced past the string
+	 */
+	private static String readString(String json, int[] position) {
+		expect(json, position, '"');
+		StringBuilder value = new StringBuilder();
+		int i = position[0];
+		while (json.charAt(i) != '"') {
+			char c = json.charAt(i++);
+			if (c == '\\') {
+				c = json.charAt(i++);
+				if (c == 'u') {
+					c = (char) Integer.parseInt(json.substring(i, i + 4), 16);
+					i += 4;
+				}
+			}
+			value.append(c);
+		}
+		position[0] = skipWhitespace(json, i + 1);
+		return value.toString();
+	}
+
+	/**
+	 * Expect a character and advance past it
+	 * 
+	 * @param json     JSON
+	 * @param position Position
+	 * @param expected Expected character
+	 */
+	private static void expect(String json, int[] position, char expected) {
+		if (position[0] >= json.length()
+				|| json.charAt(position[0]) != expected) {
+			throw new IllegalArgumentException(String.format(
+					"Expected '%c' at %d in JSON report", expected,
+					position[0]));
+		}
+		position[0] = skipWhitespace(json, position[0] + 1);
+	}
+
+	/**
+	 * Skip whitespace
+	 * 
+	 * @param json     JSON
+	 * @param position Position
+	 */
+	private static int skipWhitespace(String json, int position) {
+		while (position < json.length()
+				&& Character.isWhitespace(json.charAt(position))) {
+			position++;
+		}
+		return position;
+	}
+
+	/**
+	 * Append a quoted and escaped JSON string
+	 * 
+	 * @param json  JSON builder
+	 * @param value String
+	 */
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < 0x20) {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import datasource.Campus;
+import model.learning.LearningFactory;
+import model.learning.LearningMechanism;
+import model.util.RandomPurpose;
+import model.util.RandomStreams;
+
+public class LearningBenchmark extends MicroBenchmark {
+
+	/**
+	 * Reward of every update
+	 */
+	private static final double REWARD = -1.0;
+
+	/**
+	 * Learning mechanism
+	 */
+	private LearningMechanism learningMechanism;
+
+	/**
+	 * States to select actions from
+	 */
+	private List<String> states;
+
+	/**
+	 * Get benchmark name
+	 */
+	@Override
+	public String getName() {
+		return "learning";
+	}
+
+	/**
+	 * Set up the benchmark state
+	 * 
+	 * @param fixture Benchmark fixture
+	 */
+	@Override
+	public void setUp(BenchmarkFixture fixture) {
+		Campus campus = fixture.getCampus();
+		this.learningMechanism = LearningFactory.makeLearningMechanism(
+				fixture.getConfiguration(),
+				RandomStreams.create(fixture.getConfiguration().getRandomSeed(),
+						RandomStreams.POPULATION_KEY, RandomPurpose.LEARNING),
+				campus.teachingFacilities, campus.sharedAreas,
+				campus.eatingPlaces);
+		this.learningMechanism.init();
+		this.learningMechanism.fixParameters();
+		this.states = new ArrayList<>(campus.teachingFacilities.keySet());
+	}
+
+	/**
+	 * Select an action from the next teaching facility and update the
+	 * learning with the destination
+	 * 
+	 * @param index Operation index
+	 */
+	@Override
+	public Object operation(long index) {
+		String state = this.states.get((int) (index % this.states.size()));
+		String action = this.learningMechanism.selectAction(state);
+		this.learningMechanism.updateLearning(action, REWARD);
+		return action;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import engine.EventKernel;
+import engine.HeadlessEventKernel;
+import gis.CampusGeography;
+import model.agents.CommunityMember;
+import simulation.HeadlessSetup;
+import simulation.HeadlessSimulation;
+import simulation.RunConfiguration;
+import simulation.SimulationBuilder;
+import util.StageTimer;
+import util.TickConverter;
+
+public final class MemoryAccounting {
+
+	/**
+	 * Default checkpoints (unit: days)
+	 */
+	private static final String DEFAULT_CHECKPOINTS = "1,7,30";
+
+	/**
+	 * Default output directory
+	 */
+	private static final String DEFAULT_OUTPUT_DIRECTORY = "./output/benchmark";
+
+	/**
+	 * Memory accounting file name
+	 */
+	private static final String MEMORY_FILE = "memory.csv";
+
+	/**
+	 * Component of the objects shared by several components of an agent
+	 */
+	private static final String SHARED_COMPONENTS = "(shared by components)";
+
+	/**
+	 * Table row format
+	 */
+	private static final String ROW_FORMAT = "  %-40s %10s %14s %12s %8s%n";
+
+	/**
+	 * CSV header
+	 */
+	private static final String CSV_HEADER = "\"checkpoint\",\"component\",\"holders\",\"bytes\",\"bytesPerMember\"";
+
+	/**
+	 * Types the walks don't cross. Agents are measured one by one, and the
+	 * geography and the kernel on their own.
+	 */
+	private static final Class<?>[] BOUNDARIES = { CommunityMember.class,
+			CampusGeography.class, EventKernel.class };
+
+	/**
+	 * Private constructor
+	 */
+	private MemoryAccounting() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Run the memory accounting. Arguments are key=value pairs: checkpoints
+	 * (comma-separated days), output (directory of the report) and any
+	 * parameter id of parameters.xml. The population is measured after the
+	 * build and at each checkpoint.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) throws IOException {
+		String[] checkpoints = DEFAULT_CHECKPOINTS.split(",");
+		String outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+		RunConfiguration.Builder builder = new RunConfiguration.Builder();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			String key = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			if (key.equals("checkpoints")) {
+				checkpoints = value.split(",");
+			} else if (key.equals("output")) {
+				outputDirectory = value;
+			} else {
+				HeadlessSimulation.setParameter(builder, key, value);
+			}
+		}
+		new File(outputDirectory).mkdirs();
+		File file = new File(outputDirectory, MEMORY_FILE);
+		try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+			writer.println(CSV_HEADER);
+			measure(builder.build(), checkpoints, writer);
+		}
+		System.out.println("Memory accounting: " + file.getPath());
+	}
+
+	/**
+	 * Build and run a headless simulation, measuring the population after
+	 * the build and at each checkpoint
+	 * 
+	 * @param configuration Run configuration
+	 * @param checkpoints   Checkpoints (unit: days)
+	 * @param writer        Memory accounting writer
+	 */
+	private static void measure(RunConfiguration configuration,
+			String[] checkpoints, PrintWriter writer) {
+		HeadlessSetup setup = HeadlessSimulation.setUp(configuration,
+				new StageTimer(), null);
+		SimulationBuilder simulationBuilder = setup.simulationBuilder;
+		List<CommunityMember> members = setup.members;
+		HeadlessEventKernel kernel = setup.kernel;
+		checkpoint("build", simulationBuilder, members, kernel, writer);
+		try {
+			for (String checkpoint : checkpoints) {
+				int days = Integer.parseInt(checkpoint.trim());
+				kernel.run(TickConverter.daysToTicks(days));
+				checkpoint("day " + days, simulationBuilder, members, kernel,
+						writer);
+			}
+		} finally {
+			kernel.shutdown();
+		}
+	}
+
+	/**
+	 * Measure the retained size of each agent component, the geography
+	 * index, the pending events and the data shared by the agents. Each
+	 * object is charged once, in that order: shared data first, then the
+	 * agents field by field, the geography and the kernel.
+	 * 
+	 * @param checkpoint        Checkpoint
+	 * @param simulationBuilder Simulation builder
+	 * @param members           Community members
+	 * @param kernel            Event kernel
+	 * @param writer            Memory accounting writer
+	 */
+	private static void checkpoint(String checkpoint,
+			SimulationBuilder simulationBuilder,
+			List<CommunityMember> members, EventKernel kernel,
+			PrintWriter writer) {
+		ObjectSizer sizer = new ObjectSizer(BOUNDARIES);
+		Map<String, long[]> components = new LinkedHashMap<>();
+		add(components, "SimulationBuilder (shared)", 1,
+				sizer.measure(simulationBuilder));
+		Map<Class<?>, List<Field>> fieldsByType = new LinkedHashMap<>();
+		for (CommunityMember member : members) {
+			Class<?> type = member.getClass();
+			add(components, type.getSimpleName() + " (object)", 1,
+					sizer.measureShallow(member));
+			List<Field> fields = fieldsByType.computeIfAbsent(type,
+					ObjectSizer::getInstanceFields);
+			List<Object> roots = new ArrayList<>();
+			for (Field field : fields) {
+				roots.add(getValue(field, member));
+			}
+			long[] sizes = sizer.measureComponents(roots);
+			for (int i = 0; i < fields.size(); i++) {
+				Field field = fields.get(i);
+				String component = field.getDeclaringClass().getSimpleName()
+						+ "." + field.getName();
+				add(components, component, roots.get(i) != null ? 1 : 0,
+						sizes[i]);
+			}
+			add(components, SHARED_COMPONENTS, 0, sizes[fields.size()]);
+		}
+		add(components, "CampusGeography (index)", 1,
+				sizer.measure(simulationBuilder.campusGeography));
+		add(components, "EventKernel (pending events)", 1,
+				sizer.measure(kernel));
+		report(checkpoint, components, members.size(), writer);
+	}
+
+	/**
+	 * Add holders and bytes to a component
+	 * 
+	 * @param components Holders and bytes by component
+	 * @param component  Component
+	 * @param holders    Holders
+	 * @param bytes      Bytes
+	 */
+	private static void add(Map<String, long[]> components, String component,
+			long holders, long bytes) {
+		long[] totals = components.computeIfAbsent(component,
+				k -> new long[2]);
+		totals[0] += holders;
+		totals[1] += bytes;
+	}
+
+	/**
+	 * Get the value of an agent field
+	 * 
+	 * @param field  Field
+	 * @param member Community member
+	 */
+	private static Object getValue(Field field, CommunityMember member) {
+		try {
+			return field.get(member);
+		} catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Write and print the components of a checkpoint, along with the used
+	 * heap after a full collection
+	 * 
+	 * @param checkpoint Checkpoint
+	 * @param components Holders and bytes by component
+	 * @param members    Community members
+	 * @param writer     Memory accounting writer
+	 */
+	private static void report(String checkpoint,
+			Map<String, long[]> components, int members, PrintWriter writer) {
+		long total = 0;
+		for (long[] totals : components.values()) {
+			total += totals[1];
+		}
+		System.gc();
+		long usedHeap = new RuntimeProbe().getUsedHeap();
+		System.out.printf("Memory at %s: %d members, %d bytes measured, "
+				+ "%d bytes of used heap%n", checkpoint, members, total,
+				usedHeap);
+		System.out.printf(ROW_FORMAT, "Component", "Holders", "Bytes",
+				"Per member", "Share");
+		for (Map.Entry<String, long[]> entry : components.entrySet()) {
+			long[] totals = entry.getValue();
+			if (totals[1] == 0) {
+				continue;
+			}
+			double perMember = members > 0 ? (double) totals[1] / members
+					: 0;
+			writer.printf("\"%s\",\"%s\",%d,%d,%.1f%n", checkpoint,
+					entry.getKey(), totals[0], totals[1], perMember);
+			System.out.printf(ROW_FORMAT, entry.getKey(), totals[0],
+					totals[1], String.format("%.1f", perMember),
+					String.format("%.1f%%", 100.0 * totals[1] / total));
+		}
+		writer.flush();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package benchmark;
+
+public abstract class MicroBenchmark {
+
+	/**
+	 * Get benchmark name
+	 */
+	public abstract String getName();
+
+	/**
+	 * Set up the benchmark state. It isn't measured.
+	 * 
+	 * @param fixture Benchmark fixture
+	 */
+	public abstract void setUp(BenchmarkFixture fixture);
+
+	/**
+	 * Reset the state before a measurement iteration, e.g. to drop the
+	 * events scheduled by the previous one. It isn't measured.
+	 */
+	public void reset() {
+		// Nothing to reset by default
+	}
+
+	/**
+	 * Run one operation. The result is consumed by the runner, so it can't
+	 * be optimized away.
+	 * 
+	 * @param index Operation index
+	 */
+	public abstract Object operation(long index);
+
+}
\ No newline at end of file
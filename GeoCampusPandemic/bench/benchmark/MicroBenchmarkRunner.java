@@ -0,0 +1,221 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import config.SourcePaths;
+import datasource.Reader;
+import simulation.HeadlessSimulation;
+import simulation.RunConfiguration;
+
+public final class MicroBenchmarkRunner {
+
+	/**
+	 * Operations between clock reads
+	 */
+	private static final int CLOCK_STRIDE = 64;
+
+	/**
+	 * Default warm-up iterations
+	 */
+	private static final int DEFAULT_WARMUPS = 3;
+
+	/**
+	 * Default measurement iterations
+	 */
+	private static final int DEFAULT_ITERATIONS = 5;
+
+	/**
+	 * Default iteration time (milliseconds)
+	 */
+	private static final long DEFAULT_ITERATION_TIME = 1000;
+
+	/**
+	 * Nanoseconds per millisecond
+	 */
+	private static final long NANOS_PER_MILLI = 1000000L;
+
+	/**
+	 * Operation results. Written so the operations can't be optimized away.
+	 */
+	private static volatile Object sink;
+
+	/**
+	 * Private constructor
+	 */
+	private MicroBenchmarkRunner() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Run the microbenchmarks. Arguments are key=value pairs: population and
+	 * infectedFraction (comma-separated lists to sweep), warmups, iterations,
+	 * iterationTime (milliseconds), benchmarks (comma-separated names) and
+	 * any parameter id of parameters.xml.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) {
+		List<String> populations = new ArrayList<>();
+		List<String> infectedFractions = Arrays.asList("0.01");
+		Set<String> filter = new HashSet<>();
+		int warmups = DEFAULT_WARMUPS;
+		int iterations = DEFAULT_ITERATIONS;
+		long iterationTime = DEFAULT_ITERATION_TIME;
+		List<String[]> parameters = new ArrayList<>();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			String key = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			switch (key) {
+			case "population":
+				populations = Arrays.asList(value.split(","));
+				break;
+			case "infectedFraction":
+				infectedFractions = Arrays.asList(value.split(","));
+				break;
+			case "warmups":
+				warmups = Integer.parseInt(value);
+				break;
+			case "iterations":
+				iterations = Integer.parseInt(value);
+				break;
+			case "iterationTime":
+				iterationTime = Long.parseLong(value);
+				break;
+			case "benchmarks":
+				filter.addAll(Arrays.asList(value.split(",")));
+				break;
+			default:
+				parameters.add(new String[] { key, value });
+				break;
+			}
+		}
+		if (populations.isEmpty()) {
+			populations = Arrays.asList((String) null);
+		}
+		System.out.printf("%-26s %10s %8s %14s %12s%n", "Benchmark",
+				"Population", "Infected", "ns/op", "+/-");
+		for (String population : populations) {
+			for (String infectedFraction : infectedFractions) {
+				BenchmarkFixture fixture = new BenchmarkFixture(
+						buildConfiguration(parameters, population),
+						Double.parseDouble(infectedFraction));
+				for (MicroBenchmark benchmark : getBenchmarks()) {
+					if (!filter.isEmpty()
+							&& !filter.contains(benchmark.getName())) {
+						continue;
+					}
+					benchmark.setUp(fixture);
+					double[] result = measure(benchmark, warmups, iterations,
+							iterationTime * NANOS_PER_MILLI);
+					System.out.printf("%-26s %10d %8s %14.1f %12.1f%n",
+							benchmark.getName(), fixture.getMembers().size(),
+							infectedFraction, result[0], result[1]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Build a run configuration
+	 * 
+	 * @param parameters Parameter ids and values
+	 * @param population Susceptible students, or null to keep the default
+	 */
+	private static RunConfiguration buildConfiguration(
+			List<String[]> parameters, String population) {
+		RunConfiguration.Builder builder = new RunConfiguration.Builder();
+		for (String[] parameter : parameters) {
+			HeadlessSimulation.setParameter(builder, parameter[0],
+					parameter[1]);
+		}
+		if (population != null) {
+			builder.susceptibleStudents(Integer.parseInt(population));
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Get the microbenchmarks
+	 */
+	private static List<MicroBenchmark> getBenchmarks() {
+		List<MicroBenchmark> benchmarks = new ArrayList<>();
+		benchmarks.add(new InfectBenchmark());
+		benchmarks.add(new TripBenchmark());
+		benchmarks.add(new LearningBenchmark());
+		benchmarks.add(new PolygonSamplingBenchmark());
+		benchmarks.add(new ScheduleBenchmark());
+		benchmarks.add(new ReaderBenchmark("readGroupsDatabase",
+				() -> Reader.readGroupsDatabase(SourcePaths.GROUPS_DATABASE)));
+		benchmarks.add(new ReaderBenchmark("readRoutesDatabase",
+				() -> Reader.readRoutesDatabase(SourcePaths.ROUTES_DATABASE)));
+		return benchmarks;
+	}
+
+	/**
+	 * Measure a microbenchmark. Returns the mean and the standard deviation
+	 * of the time per operation (nanoseconds) over the measurement
+	 * iterations.
+	 * 
+	 * @param benchmark     Microbenchmark
+	 * @param warmups       Warm-up iterations
+	 * @param iterations    Measurement iterations
+	 * @param iterationTime Iteration time (nanoseconds)
+	 */
+	private static double[] measure(MicroBenchmark benchmark, int warmups,
+			int iterations, long iterationTime) {
+		long index = 0;
+		for (int i = 0; i < warmups; i++) {
+			benchmark.reset();
+			index = runIteration(benchmark, index, iterationTime)[0];
+		}
+		double[] samples = new double[iterations];
+		for (int i = 0; i < iterations; i++) {
+			benchmark.reset();
+			long[] iteration = runIteration(benchmark, index, iterationTime);
+			samples[i] = (double) iteration[1] / (iteration[0] - index);
+			index = iteration[0];
+		}
+		double mean = 0;
+		for (double sample : samples) {
+			mean += sample;
+		}
+		mean /= iterations;
+		double variance = 0;
+		for (double sample : samples) {
+			variance += (sample - mean) * (sample - mean);
+		}
+		double deviation = iterations > 1
+				? Math.sqrt(variance / (iterations - 1))
+				: 0;
+		return new double[] { mean, deviation };
+	}
+
+	/**
+	 * Run operations for an iteration time. Returns the next operation index
+	 * and the elapsed time (nanoseconds).
+	 * 
+	 * @param benchmark     Microbenchmark
+	 * @param index         First operation index
+	 * @param iterationTime Iteration time (nanoseconds)
+	 */
+	private static long[] runIteration(MicroBenchmark benchmark, long index,
+			long iterationTime) {
+		long start = System.nanoTime();
+		long elapsed = 0;
+		while (elapsed < iterationTime) {
+			for (int i = 0; i < CLOCK_STRIDE; i++) {
+				sink = benchmark.operation(index++);
+			}
+			elapsed = System.nanoTime() - start;
+		}
+		return new long[] { index, elapsed };
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,468 @@
+package benchmark;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+public class ObjectSizer {
+
+	/**
+	 * Object header (unit: bytes). It assumes a 64-bit JVM with compressed
+	 * class pointers.
+	 */
+	private static final int OBJECT_HEADER = 12;
+
+	/**
+	 * Array header (unit: bytes)
+	 */
+	private static final int ARRAY_HEADER = 16;
+
+	/**
+	 * Reference size (unit: bytes). It assumes compressed oops, i.e. a heap
+	 * under 32 GB.
+	 */
+	private static final int REFERENCE = 4;
+
+	/**
+	 * Object alignment (unit: bytes)
+	 */
+	private static final int ALIGNMENT = 8;
+
+	/**
+	 * Hash map node size (unit: bytes)
+	 */
+	private static final int HASH_NODE = 32;
+
+	/**
+	 * Linked hash map and tree map entry size (unit: bytes)
+	 */
+	private static final int LINKED_NODE = 40;
+
+	/**
+	 * Linked list node size (unit: bytes)
+	 */
+	private static final int LIST_NODE = 24;
+
+	/**
+	 * Hash map load factor
+	 */
+	private static final double LOAD_FACTOR = 0.75;
+
+	/**
+	 * Hash map default capacity
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Package prefixes of the JDK. Their objects aren't walked by
+	 * reflection: collections are estimated from their size and the rest
+	 * count their shallow size.
+	 */
+	private static final String[] JDK_PREFIXES = { "java.", "javax.",
+			"jdk.", "sun.", "com.sun." };
+
+	/**
+	 * Types the walk doesn't cross, except from a root
+	 */
+	private Class<?>[] boundaries;
+
+	/**
+	 * Objects measured so far
+	 */
+	private Set<Object> visited;
+
+	/**
+	 * Shallow sizes by class (unit: bytes)
+	 */
+	private Map<Class<?>, Long> shallowSizes;
+
+	/**
+	 * Reference fields by class
+	 */
+	private Map<Class<?>, List<Field>> referenceFields;
+
+	/**
+	 * Create a new object sizer. It walks object graphs and estimates their
+	 * size from the field layout, since no instrumentation agent is
+	 * available. Each object is counted once: later walks skip the objects
+	 * measured by earlier ones.
+	 * 
+	 * @param boundaries Types the walk doesn't cross, except from a root
+	 */
+	public ObjectSizer(Class<?>... boundaries) {
+		this.boundaries = boundaries;
+		this.visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		this.shallowSizes = new HashMap<>();
+		this.referenceFields = new HashMap<>();
+	}
+
+	/**
+	 * Measure the objects reachable from a root and not measured yet
+	 * (unit: bytes)
+	 * 
+	 * @param root Root object
+	 */
+	public long measure(Object root) {
+		return measureComponents(Collections.singletonList(root))[0];
+	}
+
+	/**
+	 * Measure the shallow size of an object, if it wasn't measured yet
+	 * (unit: bytes)
+	 * 
+	 * @param object Object
+	 */
+	public long measureShallow(Object object) {
+		if (object == null || !this.visited.add(object)) {
+			return 0;
+		}
+		return sizeOf(object);
+	}
+
+	/**
+	 * Measure the retained size of each component (unit: bytes). An object
+	 * reachable from several components is retained by none of them, so
+	 * it's counted in the last element.
+	 * 
+	 * @param roots Component roots
+	 */
+	public long[] measureComponents(List<?> roots) {
+		int n = roots.size();
+		Map<Object, Integer> owners = new IdentityHashMap<>();
+		for (int i = 0; i < n; i++) {
+			Object root = roots.get(i);
+			if (root == null || isSkipped(root)) {
+				continue;
+			}
+			int owner = i;
+			walk(root, object -> owners.merge(object, owner,
+					(a, b) -> a.equals(b) ? a : n));
+		}
+		long[] sizes = new long[n + 1];
+		for (Map.Entry<Object, Integer> entry : owners.entrySet()) {
+			sizes[entry.getValue()] += sizeOf(entry.getKey());
+			this.visited.add(entry.getKey());
+		}
+		return sizes;
+	}
+
+	/**
+	 * Walk the objects reachable from a root and not measured yet
+	 * 
+	 * @param root     Root object
+	 * @param consumer Consumer of the reached objects
+	 */
+	private void walk(Object root, Consumer<Object> consumer) {
+		Set<Object> reached = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		Deque<Object> pending = new ArrayDeque<>();
+		reached.add(root);
+		pending.push(root);
+		while (!pending.isEmpty()) {
+			Object object = pending.pop();
+			consumer.accept(object);
+			for (Object child : getChildren(object)) {
+				if (child != null && !isSkipped(child)
+						&& !isBoundary(child) && reached.add(child)) {
+					pending.push(child);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Is the object skipped? Measured objects, classes and enum constants
+	 * are.
+	 * 
+	 * @param object Object
+	 */
+	private boolean isSkipped(Object object) {
+		return this.visited.contains(object) || object instanceof Class
+				|| object instanceof Enum;
+	}
+
+	/**
+	 * Is the object of a boundary type?
+	 * 
+	 * @param object Object
+	 */
+	private boolean isBoundary(Object object) {
+		for (Class<?> boundary : this.boundaries) {
+			if (boundary.isInstance(object)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the objects referenced by an object
+	 * 
+	 * @param object Object
+	 */
+	private List<Object> getChildren(Object object) {
+		List<Object> children = new ArrayList<>();
+		Class<?> type = object.getClass();
+		if (type.isArray()) {
+			if (!type.getComponentType().isPrimitive()) {
+				for (int i = 0; i < Array.getLength(object); i++) {
+					children.add(Array.get(object, i));
+				}
+			}
+		} else if (isJdkType(type)) {
+			if (object instanceof Map) {
+				for (Map.Entry<?, ?> entry : ((Map<?, ?>) object)
+						.entrySet()) {
+					children.add(entry.getKey());
+					children.add(entry.getValue());
+				}
+			} else if (object instanceof Collection) {
+				children.addAll((Collection<?>) object);
+			}
+		} else {
+			for (Field field : getReferenceFields(type)) {
+				try {
+					children.add(field.get(object));
+				} catch (IllegalAccessException e) {
+					// Inaccessible fields aren't walked
+				}
+			}
+		}
+		return children;
+	}
+
+	/**
+	 * Estimate the size of an object, including the internals of strings
+	 * and JDK collections (unit: bytes)
+	 * 
+	 * @param object Object
+	 */
+	private long sizeOf(Object object) {
+		Class<?> type = object.getClass();
+		if (type.isArray()) {
+			Class<?> componentType = type.getComponentType();
+			return getArraySize(Array.getLength(object),
+					componentType.isPrimitive()
+							? getPrimitiveSize(componentType)
+							: REFERENCE);
+		}
+		long size = getShallowSize(type);
+		if (object instanceof String) {
+			String string = (String) object;
+			boolean latin1 = string.chars().allMatch(c -> c <= 0xFF);
+			size += getArraySize(string.length(), latin1 ? 1 : 2);
+		} else if (isJdkType(type) && object instanceof Map) {
+			size += getMapInternals(object, ((Map<?, ?>) object).size());
+		} else if (isJdkType(type) && object instanceof Collection) {
+			size += getCollectionInternals(object,
+					((Collection<?>) object).size());
+		}
+		return size;
+	}
+
+	/**
+	 * Estimate the internals of a JDK map: table and entries (unit: bytes)
+	 * 
+	 * @param map  Map
+	 * @param size Number of entries
+	 */
+	private long getMapInternals(Object map, int size) {
+		if (map instanceof EnumMap) {
+			Map<?, ?> enumMap = (Map<?, ?>) map;
+			int universe = enumMap.isEmpty() ? 0
+					: ((Enum<?>) enumMap.keySet().iterator().next())
+							.getDeclaringClass().getEnumConstants().length;
+			return getArraySize(universe, REFERENCE);
+		}
+		if (map instanceof TreeMap) {
+			return (long) size * LINKED_NODE;
+		}
+		int nodeSize = map instanceof LinkedHashMap ? LINKED_NODE
+				: HASH_NODE;
+		return getHashInternals(size, nodeSize);
+	}
+
+	/**
+	 * Estimate the internals of a JDK collection (unit: bytes). Sets hold a
+	 * backing map and the rest an element array of their size.
+	 * 
+	 * @param collection Collection
+	 * @param size       Number of elements
+	 */
+	private long getCollectionInternals(Object collection, int size) {
+		if (collection instanceof LinkedHashSet) {
+			return getShallowSize(LinkedHashMap.class)
+					+ getHashInternals(size, LINKED_NODE);
+		}
+		if (collection instanceof TreeSet) {
+			return getShallowSize(TreeMap.class) + (long) size * LINKED_NODE;
+		}
+		if (collection instanceof Set) {
+			return getShallowSize(HashMap.class)
+					+ getHashInternals(size, HASH_NODE);
+		}
+		if (collection instanceof LinkedList) {
+			return (long) size * LIST_NODE;
+		}
+		return getArraySize(size, REFERENCE);
+	}
+
+	/**
+	 * Estimate the table and nodes of a hash map (unit: bytes)
+	 * 
+	 * @param size     Number of entries
+	 * @param nodeSize Node size (unit: bytes)
+	 */
+	private static long getHashInternals(int size, int nodeSize) {
+		if (size == 0) {
+			return 0;
+		}
+		int capacity = DEFAULT_CAPACITY;
+		while (capacity * LOAD_FACTOR < size) {
+			capacity <<= 1;
+		}
+		return getArraySize(capacity, REFERENCE) + (long) size * nodeSize;
+	}
+
+	/**
+	 * Get the shallow size of a class' instances (unit: bytes)
+	 * 
+	 * @param type Class
+	 */
+	private long getShallowSize(Class<?> type) {
+		Long shallowSize = this.shallowSizes.get(type);
+		if (shallowSize == null) {
+			long size = OBJECT_HEADER;
+			for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+				for (Field field : c.getDeclaredFields()) {
+					if (!Modifier.isStatic(field.getModifiers())) {
+						Class<?> fieldType = field.getType();
+						size += fieldType.isPrimitive()
+								? getPrimitiveSize(fieldType)
+								: REFERENCE;
+					}
+				}
+			}
+			shallowSize = align(size);
+			this.shallowSizes.put(type, shallowSize);
+		}
+		return shallowSize;
+	}
+
+	/**
+	 * Get the reference fields of a class and its superclasses, cached
+	 * 
+	 * @param type Class
+	 */
+	private List<Field> getReferenceFields(Class<?> type) {
+		return this.referenceFields.computeIfAbsent(type,
+				ObjectSizer::getInstanceFields);
+	}
+
+	/**
+	 * Get the accessible reference fields of a class and its superclasses,
+	 * superclass fields first
+	 * 
+	 * @param type Class
+	 */
+	public static List<Field> getInstanceFields(Class<?> type) {
+		List<Field> fields = new ArrayList<>();
+		for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+			List<Field> declaredFields = new ArrayList<>();
+			for (Field field : c.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers())
+						&& !field.getType().isPrimitive()
+						&& trySetAccessible(field)) {
+					declaredFields.add(field);
+				}
+			}
+			fields.addAll(0, declaredFields);
+		}
+		return fields;
+	}
+
+	/**
+	 * Make a field accessible. It returns false if the module system
+	 * denies it.
+	 * 
+	 * @param field Field
+	 */
+	private static boolean trySetAccessible(Field field) {
+		try {
+			field.setAccessible(true);
+			return true;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Is it a JDK type?
+	 * 
+	 * @param type Class
+	 */
+	private static boolean isJdkType(Class<?> type) {
+		String name = type.getName();
+		for (String prefix : JDK_PREFIXES) {
+			if (name.startsWith(prefix)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Get the size of an array (unit: bytes)
+	 * 
+	 * @param length      Array length
+	 * @param elementSize Element size (unit: bytes)
+	 */
+	private static long getArraySize(int length, int elementSize) {
+		return align(ARRAY_HEADER + (long) length * elementSize);
+	}
+
+	/**
+	 * Get the size of a primitive type (unit: bytes)
+	 * 
+	 * @param type Primitive type
+	 */
+	private static int getPrimitiveSize(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		}
+		if (type == int.class || type == float.class) {
+			return 4;
+		}
+		if (type == short.class || type == char.class) {
+			return 2;
+		}
+		return 1;
+	}
+
+	/**
+	 * Align a size to the object alignment
+	 * 
+	 * @param size Size (unit: bytes)
+	 */
+	private static long align(long size) {
+		return (size + ALIGNMENT - 1) / ALIGNMENT * ALIGNMENT;
+	}
+
+}
\ No newline at end of file
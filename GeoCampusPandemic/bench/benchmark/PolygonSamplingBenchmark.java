@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.util.Map;
+import com.vividsolutions.jts.geom.Coordinate;
+import cern.jet.random.engine.RandomEngine;
+import gis.GISPolygon;
+import model.util.Randomizer;
+
+public class PolygonSamplingBenchmark extends MicroBenchmark {
+
+	/**
+	 * Teaching facilities
+	 */
+	private Map<String, GISPolygon> teachingFacilities;
+
+	/**
+	 * Random stream
+	 */
+	private RandomEngine random;
+
+	/**
+	 * Sampled coordinate
+	 */
+	private Coordinate coordinate;
+
+	/**
+	 * Get benchmark name
+	 */
+	@Override
+	public String getName() {
+		return "polygonSampling";
+	}
+
+	/**
+	 * Set up the benchmark state
+	 * 
+	 * @param fixture Benchmark fixture
+	 */
+	@Override
+	public void setUp(BenchmarkFixture fixture) {
+		this.teachingFacilities = fixture.getCampus().teachingFacilities;
+		this.random = fixture.getRandom();
+		this.coordinate = new Coordinate();
+	}
+
+	/**
+	 * Select a weighted teaching facility and sample a point in it
+	 * 
+	 * @param index Operation index
+	 */
+	@Override
+	public Object operation(long index) {
+		GISPolygon polygon = Randomizer.getRandomPolygonWeightBased(
+				this.teachingFacilities, this.random);
+		polygon.getSampler().sample(this.random, this.coordinate);
+		return this.coordinate;
+	}
+
+}
\ No newline at end of file
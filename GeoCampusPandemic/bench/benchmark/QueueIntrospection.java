@@ -0,0 +1,348 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import engine.HeadlessEventKernel;
+import engine.TickSampler;
+import simulation.HeadlessSimulation;
+import simulation.RunConfiguration;
+import util.StageTimer;
+import util.TickConverter;
+
+public final class QueueIntrospection {
+
+	/**
+	 * Default simulated days
+	 */
+	private static final int DEFAULT_DAYS = 7;
+
+	/**
+	 * Default sampling interval (unit: ticks)
+	 */
+	private static final int DEFAULT_INTERVAL = 24;
+
+	/**
+	 * Default output directory
+	 */
+	private static final String DEFAULT_OUTPUT_DIRECTORY = "./output/benchmark";
+
+	/**
+	 * Queue depth file name
+	 */
+	private static final String DEPTH_FILE = "queue_depth.csv";
+
+	/**
+	 * Queue histogram file name
+	 */
+	private static final String HISTOGRAM_FILE = "queue_histogram.csv";
+
+	/**
+	 * Queue depth CSV header
+	 */
+	private static final String DEPTH_HEADER = "\"tick\",\"pendingEvents\",\"cancelledEvents\",\"insertedEvents\",\"removedEvents\",\"insertsPerTick\",\"removalsPerTick\",\"insertsPerSecond\",\"removalsPerSecond\"";
+
+	/**
+	 * Queue histogram CSV header
+	 */
+	private static final String HISTOGRAM_HEADER = "\"tick\",\"targetType\",\"method\",\"events\"";
+
+	/**
+	 * Nanoseconds per second
+	 */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/**
+	 * Private constructor
+	 */
+	private QueueIntrospection() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Run the queue introspection. Arguments are key=value pairs: days
+	 * (simulated days), start (first sampled tick), interval (ticks between
+	 * samples), output (directory of the report) and any parameter id of
+	 * parameters.xml.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) throws IOException {
+		int days = DEFAULT_DAYS;
+		int start = 0;
+		int interval = DEFAULT_INTERVAL;
+		String outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+		RunConfiguration.Builder builder = new RunConfiguration.Builder();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			String key = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			if (key.equals("days")) {
+				days = Integer.parseInt(value);
+			} else if (key.equals("start")) {
+				start = Integer.parseInt(value);
+			} else if (key.equals("interval")) {
+				interval = Integer.parseInt(value);
+			} else if (key.equals("output")) {
+				outputDirectory = value;
+			} else {
+				HeadlessSimulation.setParameter(builder, key, value);
+			}
+		}
+		if (interval <= 0) {
+			throw new IllegalArgumentException(
+					"Invalid sampling interval: " + interval);
+		}
+		new File(outputDirectory).mkdirs();
+		File depthFile = new File(outputDirectory, DEPTH_FILE);
+		File histogramFile = new File(outputDirectory, HISTOGRAM_FILE);
+		try (PrintWriter depthWriter = new PrintWriter(
+				new FileWriter(depthFile));
+				PrintWriter histogramWriter = new PrintWriter(
+						new FileWriter(histogramFile))) {
+			depthWriter.println(DEPTH_HEADER);
+			histogramWriter.println(HISTOGRAM_HEADER);
+			run(builder.build(), days, start, interval, depthWriter,
+					histogramWriter);
+		}
+		System.out.println("Queue depth: " + depthFile.getPath());
+		System.out.println("Queue histogram: " + histogramFile.getPath());
+	}
+
+	/**
+	 * Build and run a headless simulation with the queue sampler
+	 * 
+	 * @param configuration   Run configuration
+	 * @param days            Simulated days
+	 * @param start           First sampled tick
+	 * @param interval        Ticks between samples
+	 * @param depthWriter     Queue depth writer
+	 * @param histogramWriter Queue histogram writer
+	 */
+	private static void run(RunConfiguration configuration, int days,
+			int start, int interval, PrintWriter depthWriter,
+			PrintWriter histogramWriter) {
+		HeadlessEventKernel kernel = HeadlessSimulation
+				.setUp(configuration, new StageTimer(), null).kernel;
+		QueueSampler sampler = new QueueSampler(kernel, start, interval,
+				depthWriter, histogramWriter);
+		kernel.addSampler(start, sampler);
+		try {
+			kernel.run(TickConverter.daysToTicks(days));
+		} finally {
+			kernel.shutdown();
+		}
+		sampler.report();
+	}
+
+	/**
+	 * Tick sampler of the pending queue. It writes the queue depth, the
+	 * insert and remove rates since the previous sample and the histogram
+	 * of pending events by target type and method name.
+	 */
+	private static class QueueSampler implements TickSampler {
+
+		/**
+		 * Event kernel
+		 */
+		private HeadlessEventKernel kernel;
+
+		/**
+		 * First sampled tick
+		 */
+		private int start;
+
+		/**
+		 * Ticks between samples
+		 */
+		private int interval;
+
+		/**
+		 * Queue depth writer
+		 */
+		private PrintWriter depthWriter;
+
+		/**
+		 * Queue histogram writer
+		 */
+		private PrintWriter histogramWriter;
+
+		/**
+		 * Histogram of the last sample
+		 */
+		private Map<String, Integer> histogram;
+
+		/**
+		 * Tick of the last sample
+		 */
+		private double lastTick;
+
+		/**
+		 * Inserted events at the last sample
+		 */
+		private long lastInserted;
+
+		/**
+		 * Removed events at the last sample
+		 */
+		private long lastRemoved;
+
+		/**
+		 * Timestamp of the last sample (unit: nanoseconds)
+		 */
+		private long lastTime;
+
+		/**
+		 * Sampled depths, for the report
+		 */
+		private List<Integer> depths;
+
+		/**
+		 * Create a new queue sampler
+		 * 
+		 * @param kernel          Event kernel
+		 * @param start           First sampled tick
+		 * @param interval        Ticks between samples
+		 * @param depthWriter     Queue depth writer
+		 * @param histogramWriter Queue histogram writer
+		 */
+		public QueueSampler(HeadlessEventKernel kernel, int start,
+				int interval, PrintWriter depthWriter,
+				PrintWriter histogramWriter) {
+			this.kernel = kernel;
+			this.start = start;
+			this.interval = interval;
+			this.depthWriter = depthWriter;
+			this.histogramWriter = histogramWriter;
+			this.lastTick = start;
+			this.lastTime = System.nanoTime();
+			this.depths = new ArrayList<>();
+		}
+
+		/**
+		 * Sample the queue if the tick is a sampling tick
+		 * 
+		 * @param tick Tick
+		 */
+		@Override
+		public void sample(double tick) {
+			if (isSamplingTick(tick)) {
+				this.histogram = this.kernel.countPendingEvents();
+				write(tick);
+			}
+		}
+
+		/**
+		 * Sample the queue at the sampling ticks of a range. The queue
+		 * doesn't change within the range, so it's counted once.
+		 * 
+		 * @param fromTick First tick
+		 * @param toTick   Last tick
+		 */
+		@Override
+		public void repeat(double fromTick, double toTick) {
+			boolean counted = false;
+			for (double tick = fromTick; tick <= toTick; tick++) {
+				if (isSamplingTick(tick)) {
+					if (!counted) {
+						this.histogram = this.kernel.countPendingEvents();
+						counted = true;
+					}
+					write(tick);
+				}
+			}
+		}
+
+		/**
+		 * Is it a sampling tick?
+		 * 
+		 * @param tick Tick
+		 */
+		private boolean isSamplingTick(double tick) {
+			return (tick - this.start) % this.interval == 0;
+		}
+
+		/**
+		 * Write the depth, rates and histogram of a sample
+		 * 
+		 * @param tick Tick
+		 */
+		private void write(double tick) {
+			int pending = this.kernel.getPendingEvents();
+			int counted = 0;
+			for (Map.Entry<String, Integer> entry : this.histogram
+					.entrySet()) {
+				String key = entry.getKey();
+				int separator = key.lastIndexOf('.');
+				this.histogramWriter.printf("%.1f,\"%s\",\"%s\",%d%n", tick,
+						key.substring(0, separator),
+						key.substring(separator + 1), entry.getValue());
+				counted += entry.getValue();
+			}
+			long inserted = this.kernel.getInsertedEvents();
+			long removed = this.kernel.getRemovedEvents();
+			long time = System.nanoTime();
+			double ticks = Math.max(tick - this.lastTick, 1);
+			double seconds = Math.max(time - this.lastTime, 1)
+					/ NANOS_PER_SECOND;
+			long inserts = inserted - this.lastInserted;
+			long removals = removed - this.lastRemoved;
+			this.depthWriter.printf("%.1f,%d,%d,%d,%d,%.1f,%.1f,%.1f,%.1f%n",
+					tick, pending, pending - counted, inserted, removed,
+					inserts / ticks, removals / ticks, inserts / seconds,
+					removals / seconds);
+			this.lastTick = tick;
+			this.lastInserted = inserted;
+			this.lastRemoved = removed;
+			this.lastTime = time;
+			this.depths.add(pending);
+		}
+
+		/**
+		 * Print the queue depth range and the histogram of the last sample
+		 */
+		public void report() {
+			if (this.depths.isEmpty()) {
+				System.out.println("Queue introspection: no samples");
+				return;
+			}
+			int minDepth = Integer.MAX_VALUE;
+			int maxDepth = 0;
+			long sumDepth = 0;
+			for (int depth : this.depths) {
+				minDepth = Math.min(minDepth, depth);
+				maxDepth = Math.max(maxDepth, depth);
+				sumDepth += depth;
+			}
+			StringBuilder report = new StringBuilder();
+			report.append(String.format(
+					"Queue depth over %d samples: min %d, mean %.1f, max %d",
+					this.depths.size(), minDepth,
+					(double) sumDepth / this.depths.size(), maxDepth));
+			report.append(System.lineSeparator());
+			report.append(String.format(
+					"Events: %d inserted, %d removed",
+					this.kernel.getInsertedEvents(),
+					this.kernel.getRemovedEvents()));
+			report.append(System.lineSeparator());
+			report.append(String.format("Pending events at tick %.1f",
+					this.lastTick));
+			for (Map.Entry<String, Integer> entry : this.histogram
+					.entrySet()) {
+				report.append(System.lineSeparator());
+				report.append(String.format("  %-40s %10d", entry.getKey(),
+						entry.getValue()));
+			}
+			System.out.println(report);
+		}
+
+	}
+
+}
\ No newline at end of file
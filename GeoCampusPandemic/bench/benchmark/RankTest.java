@@ -0,0 +1,100 @@
+package benchmark;
+
+import java.util.Arrays;
+
+public final class RankTest {
+
+	/**
+	 * Private constructor
+	 */
+	private RankTest() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Get the one-sided p-value of the Mann-Whitney U test that the current
+	 * samples are greater than the baseline samples. It uses the exact
+	 * distribution of U, which suits the few repetitions of a benchmark.
+	 * Ties count as half, so the test is slightly conservative with them.
+	 * 
+	 * @param baseline Baseline samples
+	 * @param current  Current samples
+	 */
+	public static double getGreaterPValue(double[] baseline,
+			double[] current) {
+		int m = current.length;
+		int n = baseline.length;
+		if (m == 0 || n == 0) {
+			return 1;
+		}
+		double u = 0;
+		for (double c : current) {
+			for (double b : baseline) {
+				if (c > b) {
+					u += 1;
+				} else if (c == b) {
+					u += 0.5;
+				}
+			}
+		}
+		double[] ways = getUDistribution(m, n);
+		double total = 0;
+		double tail = 0;
+		for (int k = 0; k < ways.length; k++) {
+			total += ways[k];
+			if (k >= u) {
+				tail += ways[k];
+			}
+		}
+		return tail / total;
+	}
+
+	/**
+	 * Get the median of some samples
+	 * 
+	 * @param samples Samples
+	 */
+	public static double getMedian(double[] samples) {
+		if (samples.length == 0) {
+			return Double.NaN;
+		}
+		double[] sorted = samples.clone();
+		Arrays.sort(sorted);
+		int middle = sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[middle]
+				: (sorted[middle - 1] + sorted[middle]) / 2;
+	}
+
+	/**
+	 * Get the null distribution of U: the number of orderings of the pooled
+	 * samples for each count of pairs where the first sample is greater.
+	 * The largest pooled value belongs to either sample, hence the
+	 * recurrence.
+	 * 
+	 * @param m First sample size
+	 * @param n Second sample size
+	 */
+	private static double[] getUDistribution(int m, int n) {
+		double[][][] ways = new double[m + 1][n + 1][];
+		for (int i = 0; i <= m; i++) {
+			for (int j = 0; j <= n; j++) {
+				double[] distribution = new double[i * j + 1];
+				if (i == 0 || j == 0) {
+					distribution[0] = 1;
+				} else {
+					double[] first = ways[i - 1][j];
+					for (int k = 0; k < first.length; k++) {
+						distribution[k + j] += first[k];
+					}
+					double[] second = ways[i][j - 1];
+					for (int k = 0; k < second.length; k++) {
+						distribution[k] += second[k];
+					}
+				}
+				ways[i][j] = distribution;
+			}
+		}
+		return ways[m][n];
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,56 @@
+package benchmark;
+
+import java.util.function.Supplier;
+
+public class ReaderBenchmark extends MicroBenchmark {
+
+	/**
+	 * Benchmark name
+	 */
+	private String name;
+
+	/**
+	 * Parser call
+	 */
+	private Supplier<Object> parser;
+
+	/**
+	 * Create a new reader benchmark
+	 * 
+	 * @param name   Benchmark name
+	 * @param parser Parser call
+	 */
+	public ReaderBenchmark(String name, Supplier<Object> parser) {
+		this.name = name;
+		this.parser = parser;
+	}
+
+	/**
+	 * Get benchmark name
+	 */
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Set up the benchmark state. Parsers read the bundled data files.
+	 * 
+	 * @param fixture Benchmark fixture
+	 */
+	@Override
+	public void setUp(BenchmarkFixture fixture) {
+		// Parsers keep no state
+	}
+
+	/**
+	 * Parse the file once
+	 * 
+	 * @param index Operation index
+	 */
+	@Override
+	public Object operation(long index) {
+		return this.parser.get();
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,555 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import simulation.HeadlessSimulation;
+import simulation.RunConfiguration;
+
+public final class RegressionGate {
+
+	/**
+	 * Default repetitions
+	 */
+	private static final int DEFAULT_REPETITIONS = 5;
+
+	/**
+	 * Default warm-up repetitions
+	 */
+	private static final int DEFAULT_WARMUPS = 1;
+
+	/**
+	 * Default infection sweeps per repetition
+	 */
+	private static final int DEFAULT_SWEEPS = 10000;
+
+	/**
+	 * Default significance level
+	 */
+	private static final double DEFAULT_ALPHA = 0.05;
+
+	/**
+	 * Default relative slowdown flagged
+	 */
+	private static final double DEFAULT_THRESHOLD = 0.05;
+
+	/**
+	 * Default relative memory growth flagged
+	 */
+	private static final double DEFAULT_MEMORY_THRESHOLD = 0.10;
+
+	/**
+	 * Default baselines directory
+	 */
+	private static final String DEFAULT_BASELINES_DIRECTORY = "./output/benchmark/baselines";
+
+	/**
+	 * Default output directory of the simulated week
+	 */
+	private static final String DEFAULT_OUTPUT_DIRECTORY = "./output/benchmark/regression";
+
+	/**
+	 * Simulated days
+	 */
+	private static final int DAYS = 7;
+
+	/**
+	 * Fraction of infected agents in the sweep fixture
+	 */
+	private static final double INFECTED_FRACTION = 0.01;
+
+	/**
+	 * Nanoseconds per second
+	 */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/**
+	 * Metrics, lower is better
+	 */
+	private static final String[] METRICS = { "buildSeconds",
+			"buildHeapBytes", "sweepNanos", "weekSeconds",
+			"weekPeakHeapBytes" };
+
+	/**
+	 * Memory metrics
+	 */
+	private static final List<String> MEMORY_METRICS = List
+			.of("buildHeapBytes", "weekPeakHeapBytes");
+
+	/**
+	 * Prefix of the workload fields, which must match between a baseline and
+	 * a comparison: the sweeps, the days and every run parameter
+	 */
+	private static final String WORKLOAD_PREFIX = "workload.";
+
+	/**
+	 * Table row format
+	 */
+	private static final String ROW_FORMAT = "  %-20s %16s %16s %9s %9s  %s%n";
+
+	/**
+	 * Sample separator
+	 */
+	private static final String SAMPLE_SEPARATOR = ",";
+
+	/**
+	 * Sink of the sweeps, so they aren't optimized away
+	 */
+	private static volatile Object sink;
+
+	/**
+	 * Private constructor
+	 */
+	private RegressionGate() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Run the regression gate. Arguments are key=value pairs: command
+	 * (record or compare), repetitions, warmups, sweeps, baselines
+	 * (directory of the baseline store), baseline (commit to compare
+	 * against, by default the latest other baseline of this machine),
+	 * commit (by default git's HEAD), alpha, threshold, memoryThreshold,
+	 * output (directory of the simulated week) and any parameter id of
+	 * parameters.xml. A comparison exits with status 1 if it flags a
+	 * regression.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) throws IOException {
+		String command = "compare";
+		int repetitions = DEFAULT_REPETITIONS;
+		int warmups = DEFAULT_WARMUPS;
+		int sweeps = DEFAULT_SWEEPS;
+		String baselinesDirectory = DEFAULT_BASELINES_DIRECTORY;
+		String baselineCommit = null;
+		String commit = null;
+		double alpha = DEFAULT_ALPHA;
+		double threshold = DEFAULT_THRESHOLD;
+		double memoryThreshold = DEFAULT_MEMORY_THRESHOLD;
+		String outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+		RunConfiguration.Builder builder = new RunConfiguration.Builder();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			String key = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			switch (key) {
+			case "command":
+				command = value;
+				break;
+			case "repetitions":
+				repetitions = Integer.parseInt(value);
+				break;
+			case "warmups":
+				warmups = Integer.parseInt(value);
+				break;
+			case "sweeps":
+				sweeps = Integer.parseInt(value);
+				break;
+			case "baselines":
+				baselinesDirectory = value;
+				break;
+			case "baseline":
+				baselineCommit = value;
+				break;
+			case "commit":
+				commit = value;
+				break;
+			case "alpha":
+				alpha = Double.parseDouble(value);
+				break;
+			case "threshold":
+				threshold = Double.parseDouble(value);
+				break;
+			case "memoryThreshold":
+				memoryThreshold = Double.parseDouble(value);
+				break;
+			case "output":
+				outputDirectory = value;
+				break;
+			default:
+				HeadlessSimulation.setParameter(builder, key, value);
+			}
+		}
+		if (!command.equals("record") && !command.equals("compare")) {
+			throw new IllegalArgumentException("Unknown command: " + command);
+		}
+		if (repetitions <= 0 || sweeps <= 0) {
+			throw new IllegalArgumentException(String.format(
+					"Invalid repetitions or sweeps: %d, %d", repetitions,
+					sweeps));
+		}
+		if (commit == null) {
+			commit = getHeadCommit();
+		}
+		File machineDirectory = new File(baselinesDirectory,
+				getFingerprint());
+		File baselineFile = null;
+		if (command.equals("compare")) {
+			baselineFile = baselineCommit != null
+					? new File(machineDirectory, baselineCommit + ".json")
+					: findLatestBaseline(machineDirectory, commit);
+			if (baselineFile == null || !baselineFile.isFile()) {
+				throw new IllegalStateException(String.format(
+						"No baseline for machine %s in %s", getFingerprint(),
+						baselinesDirectory));
+			}
+		}
+		JsonReport report = measure(builder.build(), commit, repetitions,
+				warmups, sweeps, outputDirectory);
+		if (command.equals("record")) {
+			File file = new File(machineDirectory, commit + ".json");
+			report.write(file);
+			System.out.println("Baseline: " + file.getPath());
+			return;
+		}
+		JsonReport baseline = JsonReport.read(baselineFile);
+		boolean regressed = compare(baseline, report, alpha, threshold,
+				memoryThreshold);
+		if (regressed) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Run the built-in benchmark: build, infection sweeps and a simulated
+	 * week, a number of times
+	 * 
+	 * @param configuration   Run configuration
+	 * @param commit          Commit
+	 * @param repetitions     Measured repetitions
+	 * @param warmups         Warm-up repetitions
+	 * @param sweeps          Infection sweeps per repetition
+	 * @param outputDirectory Output directory of the simulated week
+	 */
+	private static JsonReport measure(RunConfiguration configuration,
+			String commit, int repetitions, int warmups, int sweeps,
+			String outputDirectory) throws IOException {
+		double[][] samples = new double[METRICS.length][repetitions];
+		for (int i = -warmups; i < repetitions; i++) {
+			double[] metrics = runRepetition(configuration, sweeps,
+					outputDirectory);
+			if (i >= 0) {
+				for (int j = 0; j < METRICS.length; j++) {
+					samples[j][i] = metrics[j];
+				}
+			}
+		}
+		JsonReport report = new JsonReport();
+		report.put("fingerprint", getFingerprint());
+		report.put("machine", getMachineDescription());
+		report.put("commit", commit);
+		report.put("recordedAt", Instant.now().toString());
+		report.put("repetitions", repetitions);
+		report.put("warmups", warmups);
+		report.put(WORKLOAD_PREFIX + "sweeps", sweeps);
+		report.put(WORKLOAD_PREFIX + "days", DAYS);
+		for (Map.Entry<String, Object> parameter : configuration
+				.getParameters().entrySet()) {
+			Object value = parameter.getValue();
+			report.put(WORKLOAD_PREFIX + parameter.getKey(),
+					value instanceof Enum ? ((Enum<?>) value).name() : value);
+		}
+		for (int j = 0; j < METRICS.length; j++) {
+			report.put(METRICS[j] + ".median",
+					RankTest.getMedian(samples[j]));
+			report.put(METRICS[j] + ".samples", joinSamples(samples[j]));
+		}
+		return report;
+	}
+
+	/**
+	 * Run a repetition of the built-in benchmark. It returns the metrics in
+	 * order.
+	 * 
+	 * @param configuration   Run configuration
+	 * @param sweeps          Infection sweeps
+	 * @param outputDirectory Output directory of the simulated week
+	 */
+	private static double[] runRepetition(RunConfiguration configuration,
+			int sweeps, String outputDirectory) throws IOException {
+		// Build
+		System.gc();
+		long buildStart = System.nanoTime();
+		BenchmarkFixture fixture = new BenchmarkFixture(configuration,
+				INFECTED_FRACTION);
+		double buildSeconds = (System.nanoTime() - buildStart)
+				/ NANOS_PER_SECOND;
+		System.gc();
+		long buildHeapBytes = new RuntimeProbe().getUsedHeap();
+		// Infection sweeps
+		InfectBenchmark infectBenchmark = new InfectBenchmark();
+		infectBenchmark.setUp(fixture);
+		long sweepStart = System.nanoTime();
+		for (int i = 0; i < sweeps; i++) {
+			sink = infectBenchmark.operation(i);
+		}
+		double sweepNanos = (double) (System.nanoTime() - sweepStart)
+				/ sweeps;
+		// Week
+		fixture = null;
+		infectBenchmark = null;
+		JsonReport week = ThroughputBenchmark.measure(configuration, DAYS,
+				outputDirectory);
+		return new double[] { buildSeconds, buildHeapBytes, sweepNanos,
+				(Double) week.get("wallTimeSeconds"),
+				(Long) week.get("peakHeapBytes") };
+	}
+
+	/**
+	 * Compare a report with its baseline and print the verdicts. A metric
+	 * regresses if its samples are significantly greater than the
+	 * baseline's and its median grew more than the threshold. It returns
+	 * whether any metric regressed.
+	 * 
+	 * @param baseline        Baseline report
+	 * @param report          Current report
+	 * @param alpha           Significance level
+	 * @param threshold       Relative slowdown flagged
+	 * @param memoryThreshold Relative memory growth flagged
+	 */
+	private static boolean compare(JsonReport baseline, JsonReport report,
+			double alpha, double threshold, double memoryThreshold) {
+		Set<String> fields = new TreeSet<>();
+		fields.addAll(getWorkloadFields(baseline));
+		fields.addAll(getWorkloadFields(report));
+		for (String field : fields) {
+			Object baselineValue = baseline.get(field);
+			Object value = report.get(field);
+			if (!isSameValue(baselineValue, value)) {
+				throw new IllegalStateException(String.format(
+						"Workload differs from the baseline: %s is %s, "
+								+ "baseline has %s",
+						field.substring(WORKLOAD_PREFIX.length()), value,
+						baselineValue));
+			}
+		}
+		System.out.printf("Comparing commit %s with baseline %s (%s)%n",
+				report.get("commit"), baseline.get("commit"),
+				baseline.get("recordedAt"));
+		System.out.printf(ROW_FORMAT, "Metric", "Baseline", "Current",
+				"Change", "p-value", "Verdict");
+		boolean regressed = false;
+		for (String metric : METRICS) {
+			double[] baselineSamples = parseSamples(
+					(String) baseline.get(metric + ".samples"));
+			double[] samples = parseSamples(
+					(String) report.get(metric + ".samples"));
+			if (baselineSamples.length == 0 || samples.length == 0) {
+				throw new IllegalStateException("No samples of " + metric);
+			}
+			double baselineMedian = RankTest.getMedian(baselineSamples);
+			double median = RankTest.getMedian(samples);
+			double change = getChange(baselineMedian, median);
+			double pValue = RankTest.getGreaterPValue(baselineSamples,
+					samples);
+			double metricThreshold = MEMORY_METRICS.contains(metric)
+					? memoryThreshold
+					: threshold;
+			String verdict = "ok";
+			if (pValue < alpha && change > metricThreshold) {
+				verdict = "REGRESSION";
+				regressed = true;
+			} else if (pValue < alpha && change > 0) {
+				verdict = "slower, under threshold";
+			}
+			System.out.printf(ROW_FORMAT, metric,
+					String.format("%.4g", baselineMedian),
+					String.format("%.4g", median),
+					Double.isFinite(change)
+							? String.format("%+.1f%%", 100 * change)
+							: "n/a",
+					String.format("%.4f", pValue), verdict);
+		}
+		return regressed;
+	}
+
+	/**
+	 * Get the workload fields of a report
+	 * 
+	 * @param report Report
+	 */
+	private static Set<String> getWorkloadFields(JsonReport report) {
+		Set<String> fields = new TreeSet<>();
+		for (String field : report.getFields().keySet()) {
+			if (field.startsWith(WORKLOAD_PREFIX)) {
+				fields.add(field);
+			}
+		}
+		return fields;
+	}
+
+	/**
+	 * Are two workload values the same? Numbers are compared by value, as
+	 * a read report holds them as doubles.
+	 * 
+	 * @param baselineValue Baseline value
+	 * @param value         Current value
+	 */
+	private static boolean isSameValue(Object baselineValue, Object value) {
+		if (baselineValue instanceof Number && value instanceof Number) {
+			return ((Number) baselineValue).doubleValue() == ((Number) value)
+					.doubleValue();
+		}
+		return Objects.equals(baselineValue, value);
+	}
+
+	/**
+	 * Get the relative change of a median. A change from a zero baseline
+	 * is infinite, unless the median is zero too.
+	 * 
+	 * @param baselineMedian Baseline median
+	 * @param median         Current median
+	 */
+	private static double getChange(double baselineMedian, double median) {
+		if (baselineMedian == 0) {
+			return median == 0 ? 0 : Double.POSITIVE_INFINITY;
+		}
+		return median / baselineMedian - 1;
+	}
+
+	/**
+	 * Find the latest baseline of a machine, other than the one of the
+	 * current commit
+	 * 
+	 * @param machineDirectory Baselines of the machine
+	 * @param commit           Current commit
+	 */
+	private static File findLatestBaseline(File machineDirectory,
+			String commit) {
+		File[] files = machineDirectory.listFiles(
+				(directory, name) -> name.endsWith(".json")
+						&& !name.equals(commit + ".json"));
+		File latest = null;
+		if (files != null) {
+			for (File file : files) {
+				if (latest == null
+						|| file.lastModified() > latest.lastModified()) {
+					latest = file;
+				}
+			}
+		}
+		return latest;
+	}
+
+	/**
+	 * Get the fingerprint of the machine: a short hash of its description
+	 */
+	private static String getFingerprint() {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = digest.digest(getMachineDescription()
+					.getBytes(StandardCharsets.UTF_8));
+			StringBuilder fingerprint = new StringBuilder();
+			for (int i = 0; i < 6; i++) {
+				fingerprint.append(String.format("%02x", hash[i]));
+			}
+			return fingerprint.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Get the description of the machine: CPU model, processors, maximum
+	 * heap, operating system and JVM
+	 */
+	private static String getMachineDescription() {
+		return String.format("%s; %d processors; %d MB max heap; %s %s; %s %s",
+				getCpuModel(), Runtime.getRuntime().availableProcessors(),
+				Runtime.getRuntime().maxMemory() / (1024 * 1024),
+				System.getProperty("os.name"), System.getProperty("os.arch"),
+				System.getProperty("java.vm.name"),
+				System.getProperty("java.version"));
+	}
+
+	/**
+	 * Get the CPU model from /proc/cpuinfo, or the architecture where it
+	 * isn't available
+	 */
+	private static String getCpuModel() {
+		try {
+			for (String line : Files
+					.readAllLines(Paths.get("/proc/cpuinfo"))) {
+				if (line.startsWith("model name")) {
+					return line.substring(line.indexOf(':') + 1).trim();
+				}
+			}
+		} catch (IOException e) {
+			// Not a Linux machine
+		}
+		return System.getProperty("os.arch");
+	}
+
+	/**
+	 * Get the commit of git's HEAD, or unknown if git isn't available
+	 */
+	private static String getHeadCommit() {
+		try {
+			Process process = new ProcessBuilder("git", "rev-parse",
+					"--short", "HEAD").redirectErrorStream(true).start();
+			try (BufferedReader reader = new BufferedReader(
+					new InputStreamReader(process.getInputStream(),
+							StandardCharsets.UTF_8))) {
+				String line = reader.readLine();
+				if (process.waitFor() == 0 && line != null) {
+					return line.trim();
+				}
+			}
+		} catch (IOException e) {
+			// Git isn't available
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "unknown";
+	}
+
+	/**
+	 * Join samples with the sample separator
+	 * 
+	 * @param samples Samples
+	 */
+	private static String joinSamples(double[] samples) {
+		StringBuilder joined = new StringBuilder();
+		for (double sample : samples) {
+			if (joined.length() > 0) {
+				joined.append(SAMPLE_SEPARATOR);
+			}
+			joined.append(sample);
+		}
+		return joined.toString();
+	}
+
+	/**
+	 * Parse samples joined with the sample separator
+	 * 
+	 * @param joined Joined samples
+	 */
+	private static double[] parseSamples(String joined) {
+		if (joined == null || joined.isEmpty()) {
+			return new double[0];
+		}
+		String[] values = joined.split(SAMPLE_SEPARATOR);
+		double[] samples = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			samples[i] = Double.parseDouble(values[i]);
+		}
+		return samples;
+	}
+
+}
\ No newline at end of file
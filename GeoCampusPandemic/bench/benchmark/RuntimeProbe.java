@@ -0,0 +1,103 @@
+package benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+
+public class RuntimeProbe {
+
+	/**
+	 * GC time at the last reset (milliseconds)
+	 */
+	private long gcTime;
+
+	/**
+	 * GC count at the last reset
+	 */
+	private long gcCount;
+
+	/**
+	 * Create a new runtime probe. It measures peak heap and garbage
+	 * collection since its last reset.
+	 */
+	public RuntimeProbe() {
+		reset();
+	}
+
+	/**
+	 * Reset the peak heap usage and the garbage collection baseline
+	 */
+	public void reset() {
+		for (MemoryPoolMXBean pool : ManagementFactory
+				.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				pool.resetPeakUsage();
+			}
+		}
+		this.gcTime = getTotalGcTime();
+		this.gcCount = getTotalGcCount();
+	}
+
+	/**
+	 * Get peak heap usage since the last reset (bytes). Pool peaks are
+	 * summed, so it's an upper bound of the actual peak.
+	 */
+	public long getPeakHeap() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory
+				.getMemoryPoolMXBeans()) {
+			if (pool.getType() == MemoryType.HEAP) {
+				peak += pool.getPeakUsage().getUsed();
+			}
+		}
+		return peak;
+	}
+
+	/**
+	 * Get used heap now (bytes)
+	 */
+	public long getUsedHeap() {
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()
+				.getUsed();
+	}
+
+	/**
+	 * Get garbage collection time since the last reset (milliseconds)
+	 */
+	public long getGcTime() {
+		return getTotalGcTime() - this.gcTime;
+	}
+
+	/**
+	 * Get garbage collections since the last reset
+	 */
+	public long getGcCount() {
+		return getTotalGcCount() - this.gcCount;
+	}
+
+	/**
+	 * Get total garbage collection time of the JVM (milliseconds)
+	 */
+	private static long getTotalGcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			time += Math.max(collector.getCollectionTime(), 0);
+		}
+		return time;
+	}
+
+	/**
+	 * Get total garbage collections of the JVM
+	 */
+	private static long getTotalGcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean collector : ManagementFactory
+				.getGarbageCollectorMXBeans()) {
+			count += Math.max(collector.getCollectionCount(), 0);
+		}
+		return count;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,289 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.List;
+import datasource.Campus;
+import engine.HeadlessEventKernel;
+import model.agents.CommunityMember;
+import simulation.HeadlessSimulation;
+import simulation.RunConfiguration;
+import simulation.SetupListener;
+import simulation.SimulationBuilder;
+import util.StageTimer;
+import util.TickConverter;
+
+public final class ScalingSuite {
+
+	/**
+	 * Default population sizes
+	 */
+	private static final String DEFAULT_POPULATIONS = "1000,10000,100000,1000000";
+
+	/**
+	 * Default output directory
+	 */
+	private static final String DEFAULT_OUTPUT_DIRECTORY = "./output/benchmark";
+
+	/**
+	 * Scaling curves file name
+	 */
+	private static final String SCALING_FILE = "scaling.csv";
+
+	/**
+	 * Days of the first week
+	 */
+	private static final int FIRST_WEEK_DAYS = 7;
+
+	/**
+	 * Nanoseconds per second
+	 */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/**
+	 * Table row format
+	 */
+	private static final String ROW_FORMAT = "%10s %10s %8s %-12s %10s %12s %12s %10s %12s %10s%n";
+
+	/**
+	 * CSV header
+	 */
+	private static final String CSV_HEADER = "\"population\",\"members\",\"groups\",\"phase\",\"seconds\",\"usedHeapBytes\",\"peakHeapBytes\",\"gcTimeMillis\",\"executedEvents\",\"pendingEvents\"";
+
+	/**
+	 * Private constructor
+	 */
+	private ScalingSuite() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Run the scaling suite. Arguments are key=value pairs: populations
+	 * (comma-separated susceptible students), fullRun (run up to the end
+	 * tick after the first week), output (directory of the scaling curves)
+	 * and any parameter id of parameters.xml. Extra groups are synthesized
+	 * when the campus can't seat a population.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) throws IOException {
+		List<String> populations = Arrays
+				.asList(DEFAULT_POPULATIONS.split(","));
+		boolean fullRun = true;
+		String outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+		RunConfiguration.Builder builder = new RunConfiguration.Builder();
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			String key = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			if (key.equals("populations")) {
+				populations = Arrays.asList(value.split(","));
+			} else if (key.equals("fullRun")) {
+				fullRun = Boolean.parseBoolean(value);
+			} else if (key.equals("output")) {
+				outputDirectory = value;
+			} else {
+				HeadlessSimulation.setParameter(builder, key, value);
+			}
+		}
+		new File(outputDirectory).mkdirs();
+		File file = new File(outputDirectory, SCALING_FILE);
+		try (PrintWriter writer = new PrintWriter(new FileWriter(file))) {
+			writer.println(CSV_HEADER);
+			System.out.printf(ROW_FORMAT, "Population", "Members", "Groups",
+					"Phase", "Seconds", "Used heap", "Peak heap", "GC ms",
+					"Events", "Pending");
+			for (String population : populations) {
+				builder.susceptibleStudents(Integer.parseInt(population));
+				measure(builder.build(), fullRun, writer);
+				writer.flush();
+			}
+		}
+		System.out.println("Scaling curves: " + file.getPath());
+	}
+
+	/**
+	 * Build and run a headless simulation phase by phase: campus, groups,
+	 * population and build, then first week and full run
+	 * 
+	 * @param configuration Run configuration
+	 * @param fullRun       Run up to the end tick after the first week
+	 * @param writer        Scaling curves writer
+	 */
+	private static void measure(RunConfiguration configuration,
+			boolean fullRun, PrintWriter writer) {
+		Row row = new Row(configuration.getSusceptibleStudents(), writer);
+		// Build. Groups are expanded to the population size before the
+		// population is created.
+		int students = configuration.getExposedStudents()
+				+ configuration.getSusceptibleStudents();
+		long buildStart = row.start();
+		HeadlessEventKernel kernel = HeadlessSimulation.setUp(configuration,
+				new StageTimer(), new SetupListener() {
+
+					@Override
+					public void onCampus(Campus campus) {
+						row.groups = campus.groups.size();
+						row.record("campus");
+						GroupSynthesizer.expand(campus.groups, students);
+						row.groups = campus.groups.size();
+						row.record("groups");
+					}
+
+					@Override
+					public void onPopulation(List<CommunityMember> members) {
+						row.members = members.size();
+						row.record("population");
+					}
+
+				}).kernel;
+		row.recordSince("build", buildStart);
+		// Run
+		try {
+			long runStart = row.start();
+			kernel.run(TickConverter.daysToTicks(FIRST_WEEK_DAYS));
+			row.events(kernel);
+			row.recordSince("firstWeek", runStart);
+			if (fullRun) {
+				kernel.run(SimulationBuilder.END_TICK);
+				row.events(kernel);
+				row.recordSince("fullRun", runStart);
+			}
+		} finally {
+			kernel.shutdown();
+		}
+	}
+
+	/**
+	 * Scaling curve rows of a population size
+	 */
+	private static class Row {
+
+		/**
+		 * Susceptible students
+		 */
+		private int population;
+
+		/**
+		 * Community members
+		 */
+		private int members;
+
+		/**
+		 * Groups
+		 */
+		private int groups;
+
+		/**
+		 * Executed events
+		 */
+		private long executedEvents;
+
+		/**
+		 * Pending events
+		 */
+		private int pendingEvents;
+
+		/**
+		 * Phase start timestamp
+		 */
+		private long phaseStart;
+
+		/**
+		 * Untimed nanoseconds, spent collecting garbage to measure heap
+		 */
+		private long untimed;
+
+		/**
+		 * Runtime probe
+		 */
+		private RuntimeProbe probe;
+
+		/**
+		 * Scaling curves writer
+		 */
+		private PrintWriter writer;
+
+		/**
+		 * Create the rows of a population size
+		 * 
+		 * @param population Susceptible students
+		 * @param writer     Scaling curves writer
+		 */
+		public Row(int population, PrintWriter writer) {
+			this.population = population;
+			this.writer = writer;
+			System.gc();
+			this.probe = new RuntimeProbe();
+		}
+
+		/**
+		 * Start a phase. It returns the start timestamp.
+		 */
+		public long start() {
+			this.phaseStart = now();
+			return this.phaseStart;
+		}
+
+		/**
+		 * Get a timestamp that excludes the untimed collections
+		 */
+		private long now() {
+			return System.nanoTime() - this.untimed;
+		}
+
+		/**
+		 * Record the event counts of the kernel
+		 * 
+		 * @param kernel Event kernel
+		 */
+		public void events(HeadlessEventKernel kernel) {
+			this.executedEvents = kernel.getExecutedEvents();
+			this.pendingEvents = kernel.getPendingEvents();
+		}
+
+		/**
+		 * Record the phase since the last one and start the next one
+		 * 
+		 * @param phase Phase
+		 */
+		public void record(String phase) {
+			recordSince(phase, this.phaseStart);
+			start();
+		}
+
+		/**
+		 * Record a phase since a start timestamp. Used heap is measured
+		 * after a full collection, which isn't timed. Peak heap and GC time
+		 * are cumulative.
+		 * 
+		 * @param phase     Phase
+		 * @param startTime Start timestamp
+		 */
+		public void recordSince(String phase, long startTime) {
+			double seconds = (now() - startTime) / NANOS_PER_SECOND;
+			long peakHeap = this.probe.getPeakHeap();
+			long gcTime = this.probe.getGcTime();
+			long gcStart = System.nanoTime();
+			System.gc();
+			long usedHeap = this.probe.getUsedHeap();
+			this.untimed += System.nanoTime() - gcStart;
+			this.writer.printf("%d,%d,%d,\"%s\",%.3f,%d,%d,%d,%d,%d%n",
+					this.population, this.members, this.groups, phase,
+					seconds, usedHeap, peakHeap, gcTime, this.executedEvents,
+					this.pendingEvents);
+			System.out.printf(ROW_FORMAT, this.population, this.members,
+					this.groups, phase, String.format("%.3f", seconds),
+					usedHeap, peakHeap, gcTime, this.executedEvents,
+					this.pendingEvents);
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import cern.jet.random.engine.RandomEngine;
+import model.agents.Group;
+import model.agents.Schedule;
+import model.util.Randomizer;
+
+public class ScheduleBenchmark extends MicroBenchmark {
+
+	/**
+	 * Number of schedules
+	 */
+	private static final int SCHEDULES = 1024;
+
+	/**
+	 * Schedules
+	 */
+	private List<Schedule> schedules;
+
+	/**
+	 * Get benchmark name
+	 */
+	@Override
+	public String getName() {
+		return "getNextAcademicActivity";
+	}
+
+	/**
+	 * Set up the benchmark state. Schedules enroll to random groups, as
+	 * students do.
+	 * 
+	 * @param fixture Benchmark fixture
+	 */
+	@Override
+	public void setUp(BenchmarkFixture fixture) {
+		RandomEngine random = fixture.getRandom();
+		List<Group> groups = new ArrayList<>(
+				fixture.getCampus().groups.values());
+		this.schedules = new ArrayList<>();
+		for (int i = 0; i < SCHEDULES; i++) {
+			int count = Randomizer.getRandomGroupsToEnrollTo(random);
+			List<Group> enrolled = new ArrayList<>();
+			for (int index : Randomizer.getRandomSubset(groups.size(),
+					Math.min(count, groups.size()), random)) {
+				enrolled.add(groups.get(index));
+			}
+			this.schedules.add(new Schedule(enrolled));
+		}
+	}
+
+	/**
+	 * Look up the next academic activity of a schedule on a weekday
+	 * 
+	 * @param index Operation index
+	 */
+	@Override
+	public Object operation(long index) {
+		Schedule schedule = this.schedules
+				.get((int) (index % this.schedules.size()));
+		int day = 1 + (int) (index % 5);
+		double hour = 7 + index % 12;
+		return schedule.getNextAcademicActivity(day, hour);
+	}
+
+}
\ No newline at end of file
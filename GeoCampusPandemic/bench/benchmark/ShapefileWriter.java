@@ -0,0 +1,274 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+public class ShapefileWriter {
+
+	/**
+	 * Shapefile file code
+	 */
+	private static final int FILE_CODE = 9994;
+
+	/**
+	 * Shapefile version
+	 */
+	private static final int VERSION = 1000;
+
+	/**
+	 * Polygon shape type
+	 */
+	private static final int POLYGON_TYPE = 5;
+
+	/**
+	 * Header length (unit: bytes)
+	 */
+	private static final int HEADER_LENGTH = 100;
+
+	/**
+	 * Record header length (unit: bytes)
+	 */
+	private static final int RECORD_HEADER_LENGTH = 8;
+
+	/**
+	 * Attribute field length (unit: bytes)
+	 */
+	private static final int FIELD_LENGTH = 80;
+
+	/**
+	 * Attribute field names, as in the bundled shapefiles
+	 */
+	private static final String[] FIELD_NAMES = { "Name", "descriptio" };
+
+	/**
+	 * Projection of the bundled shapefiles
+	 */
+	private static final String PROJECTION = "GEOGCS[\"GCS_WGS_1984\",DATUM[\"D_WGS_1984\",SPHEROID[\"WGS_1984\",6378137,298.257223563]],PRIMEM[\"Greenwich\",0],UNIT[\"Degree\",0.017453292519943295]]";
+
+	/**
+	 * Polygon names
+	 */
+	private List<String> names;
+
+	/**
+	 * Polygon rings: x and y of each point, closed and clockwise
+	 */
+	private List<double[]> rings;
+
+	/**
+	 * Create a new polygon shapefile writer. Shapefiles are written without
+	 * GeoTools, in the layout of the bundled ones: single-ring polygons, a
+	 * name and a description field, WGS 84 coordinates.
+	 */
+	public ShapefileWriter() {
+		this.names = new ArrayList<>();
+		this.rings = new ArrayList<>();
+	}
+
+	/**
+	 * Add a polygon
+	 * 
+	 * @param name Polygon name
+	 * @param ring x and y of each point, closed and clockwise
+	 */
+	public void addPolygon(String name, double[] ring) {
+		this.names.add(name);
+		this.rings.add(ring);
+	}
+
+	/**
+	 * Write the shapefile: main file, index, attributes, projection and code
+	 * page
+	 * 
+	 * @param shapefile Path to the main file (.shp)
+	 */
+	public void write(File shapefile) throws IOException {
+		String path = shapefile.getPath();
+		String base = path.substring(0, path.length() - ".shp".length());
+		shapefile.getAbsoluteFile().getParentFile().mkdirs();
+		writeGeometry(shapefile, new File(base + ".shx"));
+		writeAttributes(new File(base + ".dbf"));
+		writeText(new File(base + ".prj"), PROJECTION);
+		writeText(new File(base + ".cpg"), "UTF-8");
+	}
+
+	/**
+	 * Write the main file and its index
+	 * 
+	 * @param shpFile Main file
+	 * @param shxFile Index file
+	 */
+	private void writeGeometry(File shpFile, File shxFile)
+			throws IOException {
+		int n = this.rings.size();
+		int[] lengths = new int[n];
+		int shpLength = HEADER_LENGTH;
+		double[] bounds = { Double.POSITIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.NEGATIVE_INFINITY };
+		for (int i = 0; i < n; i++) {
+			double[] ring = this.rings.get(i);
+			lengths[i] = 44 + 4 + 16 * (ring.length / 2);
+			shpLength += RECORD_HEADER_LENGTH + lengths[i];
+			double[] box = getBounds(ring);
+			bounds[0] = Math.min(bounds[0], box[0]);
+			bounds[1] = Math.min(bounds[1], box[1]);
+			bounds[2] = Math.max(bounds[2], box[2]);
+			bounds[3] = Math.max(bounds[3], box[3]);
+		}
+		int shxLength = HEADER_LENGTH + RECORD_HEADER_LENGTH * n;
+		ByteBuffer shp = ByteBuffer.allocate(shpLength);
+		ByteBuffer shx = ByteBuffer.allocate(shxLength);
+		putHeader(shp, shpLength, bounds);
+		putHeader(shx, shxLength, bounds);
+		for (int i = 0; i < n; i++) {
+			double[] ring = this.rings.get(i);
+			shx.order(ByteOrder.BIG_ENDIAN);
+			shx.putInt(shp.position() / 2);
+			shx.putInt(lengths[i] / 2);
+			shp.order(ByteOrder.BIG_ENDIAN);
+			shp.putInt(i + 1);
+			shp.putInt(lengths[i] / 2);
+			shp.order(ByteOrder.LITTLE_ENDIAN);
+			shp.putInt(POLYGON_TYPE);
+			for (double value : getBounds(ring)) {
+				shp.putDouble(value);
+			}
+			shp.putInt(1);
+			shp.putInt(ring.length / 2);
+			shp.putInt(0);
+			for (double value : ring) {
+				shp.putDouble(value);
+			}
+		}
+		writeBytes(shpFile, shp.array());
+		writeBytes(shxFile, shx.array());
+	}
+
+	/**
+	 * Write the attributes file (dBase III)
+	 * 
+	 * @param dbfFile Attributes file
+	 */
+	private void writeAttributes(File dbfFile) throws IOException {
+		int n = this.names.size();
+		int headerLength = 32 + 32 * FIELD_NAMES.length + 1;
+		int recordLength = 1 + FIELD_LENGTH * FIELD_NAMES.length;
+		ByteBuffer dbf = ByteBuffer
+				.allocate(headerLength + recordLength * n + 1)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		Calendar today = Calendar.getInstance();
+		dbf.put((byte) 3);
+		dbf.put((byte) (today.get(Calendar.YEAR) - 1900));
+		dbf.put((byte) (today.get(Calendar.MONTH) + 1));
+		dbf.put((byte) today.get(Calendar.DAY_OF_MONTH));
+		dbf.putInt(n);
+		dbf.putShort((short) headerLength);
+		dbf.putShort((short) recordLength);
+		dbf.position(32);
+		for (String fieldName : FIELD_NAMES) {
+			int start = dbf.position();
+			dbf.put(fieldName.getBytes(StandardCharsets.US_ASCII));
+			dbf.position(start + 11);
+			dbf.put((byte) 'C');
+			dbf.position(start + 16);
+			dbf.put((byte) FIELD_LENGTH);
+			dbf.position(start + 32);
+		}
+		dbf.put((byte) 0x0D);
+		for (String name : this.names) {
+			dbf.put((byte) ' ');
+			putField(dbf, name);
+			putField(dbf, "");
+		}
+		dbf.put((byte) 0x1A);
+		writeBytes(dbfFile, dbf.array());
+	}
+
+	/**
+	 * Put the header of the main file or the index
+	 * 
+	 * @param buffer Buffer
+	 * @param length File length (unit: bytes)
+	 * @param bounds Bounding box: min x, min y, max x and max y
+	 */
+	private static void putHeader(ByteBuffer buffer, int length,
+			double[] bounds) {
+		buffer.order(ByteOrder.BIG_ENDIAN);
+		buffer.putInt(FILE_CODE);
+		buffer.position(24);
+		buffer.putInt(length / 2);
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putInt(VERSION);
+		buffer.putInt(POLYGON_TYPE);
+		for (double value : bounds) {
+			buffer.putDouble(value);
+		}
+		buffer.position(HEADER_LENGTH);
+	}
+
+	/**
+	 * Put a character field, padded with spaces
+	 * 
+	 * @param buffer Buffer
+	 * @param value  Field value
+	 */
+	private static void putField(ByteBuffer buffer, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		int length = Math.min(bytes.length, FIELD_LENGTH);
+		buffer.put(bytes, 0, length);
+		for (int i = length; i < FIELD_LENGTH; i++) {
+			buffer.put((byte) ' ');
+		}
+	}
+
+	/**
+	 * Get the bounding box of a ring: min x, min y, max x and max y
+	 * 
+	 * @param ring x and y of each point
+	 */
+	private static double[] getBounds(double[] ring) {
+		double[] bounds = { Double.POSITIVE_INFINITY,
+				Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.NEGATIVE_INFINITY };
+		for (int i = 0; i < ring.length; i += 2) {
+			bounds[0] = Math.min(bounds[0], ring[i]);
+			bounds[1] = Math.min(bounds[1], ring[i + 1]);
+			bounds[2] = Math.max(bounds[2], ring[i]);
+			bounds[3] = Math.max(bounds[3], ring[i + 1]);
+		}
+		return bounds;
+	}
+
+	/**
+	 * Write bytes to a file
+	 * 
+	 * @param file  File
+	 * @param bytes Bytes
+	 */
+	private static void writeBytes(File file, byte[] bytes)
+			throws IOException {
+		try (OutputStream out = new FileOutputStream(file)) {
+			out.write(bytes);
+		}
+	}
+
+	/**
+	 * Write a text file
+	 * 
+	 * @param file File
+	 * @param text Text
+	 */
+	private static void writeText(File file, String text) throws IOException {
+		writeBytes(file, text.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
\ No newline at end of file
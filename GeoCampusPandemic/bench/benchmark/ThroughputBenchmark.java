@@ -0,0 +1,120 @@
+package benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import simulation.HeadlessSimulation;
+import simulation.RunConfiguration;
+import util.TickConverter;
+
+public final class ThroughputBenchmark {
+
+	/**
+	 * Default simulated days
+	 */
+	private static final int DEFAULT_DAYS = 7;
+
+	/**
+	 * Default output directory
+	 */
+	private static final String DEFAULT_OUTPUT_DIRECTORY = "./output/benchmark";
+
+	/**
+	 * Report file name
+	 */
+	private static final String REPORT_FILE = "throughput.json";
+
+	/**
+	 * Nanoseconds per second
+	 */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/**
+	 * Private constructor
+	 */
+	private ThroughputBenchmark() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Run a headless simulation for some days and measure its throughput
+	 * 
+	 * @param configuration   Run configuration
+	 * @param days            Simulated days
+	 * @param outputDirectory Output directory of the simulation
+	 */
+	public static JsonReport measure(RunConfiguration configuration, int days,
+			String outputDirectory) throws IOException {
+		double endTick = TickConverter.daysToTicks(days);
+		HeadlessSimulation simulation = new HeadlessSimulation(configuration,
+				1, outputDirectory);
+		simulation.setEndTick(endTick);
+		System.gc();
+		RuntimeProbe probe = new RuntimeProbe();
+		long start = System.nanoTime();
+		simulation.run();
+		double wallTime = (System.nanoTime() - start) / NANOS_PER_SECOND;
+		JsonReport report = new JsonReport();
+		report.put("randomSeed", configuration.getRandomSeed());
+		report.put("susceptibleStudents",
+				configuration.getSusceptibleStudents());
+		report.put("susceptibleStaffers",
+				configuration.getSusceptibleStaffers());
+		report.put("idleFastForward", configuration.isIdleFastForward());
+		report.put("parallelDispatch", configuration.isParallelDispatch());
+		report.put("workerThreads", configuration.getWorkerThreads());
+		report.put("exposureModel", configuration.getExposureModel());
+		report.put("days", days);
+		report.put("ticks", endTick);
+		report.put("wallTimeSeconds", wallTime);
+		report.put("ticksPerSecond", endTick / wallTime);
+		report.put("executedEvents", simulation.getExecutedEvents());
+		report.put("eventsPerSecond",
+				simulation.getExecutedEvents() / wallTime);
+		report.put("infectionQueries", simulation.getInfectionQueries());
+		report.put("peakHeapBytes", probe.getPeakHeap());
+		report.put("gcTimeMillis", probe.getGcTime());
+		report.put("gcCount", probe.getGcCount());
+		report.put("javaVersion", System.getProperty("java.version"));
+		report.put("availableProcessors",
+				Runtime.getRuntime().availableProcessors());
+		return report;
+	}
+
+	/**
+	 * Run the throughput benchmark. Arguments are key=value pairs: days,
+	 * output (directory of the simulation outputs and the report), report
+	 * (report file) and any parameter id of parameters.xml. The random seed
+	 * is fixed unless it's given.
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) throws IOException {
+		RunConfiguration.Builder builder = new RunConfiguration.Builder();
+		int days = DEFAULT_DAYS;
+		String outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+		String reportFile = null;
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			String key = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			if (key.equals("days")) {
+				days = Integer.parseInt(value);
+			} else if (key.equals("output")) {
+				outputDirectory = value;
+			} else if (key.equals("report")) {
+				reportFile = value;
+			} else {
+				HeadlessSimulation.setParameter(builder, key, value);
+			}
+		}
+		File file = reportFile != null ? new File(reportFile)
+				: new File(outputDirectory, REPORT_FILE);
+		JsonReport report = measure(builder.build(), days, outputDirectory);
+		report.write(file);
+		System.out.println(report.toJson());
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.util.List;
+import model.agents.CommunityMember;
+
+public class TripBenchmark extends MicroBenchmark {
+
+	/**
+	 * Benchmark fixture
+	 */
+	private BenchmarkFixture fixture;
+
+	/**
+	 * Community members
+	 */
+	private List<CommunityMember> members;
+
+	/**
+	 * Get benchmark name
+	 */
+	@Override
+	public String getName() {
+		return "moveToPolygon";
+	}
+
+	/**
+	 * Set up the benchmark state
+	 * 
+	 * @param fixture Benchmark fixture
+	 */
+	@Override
+	public void setUp(BenchmarkFixture fixture) {
+		this.fixture = fixture;
+		this.members = fixture.getMembers();
+	}
+
+	/**
+	 * Drop the relocations of the previous iteration
+	 */
+	@Override
+	public void reset() {
+		this.fixture.resetKernel();
+	}
+
+	/**
+	 * Plan a trip to an eating place: select the place, look up the
+	 * shortest path and schedule its relocations
+	 * 
+	 * @param index Operation index
+	 */
+	@Override
+	public Object operation(long index) {
+		CommunityMember member = this.members
+				.get((int) (index % this.members.size()));
+		member.haveLunch();
+		return member;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,129 @@
+package datasource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import gis.GISPolygon;
+import model.agents.Group;
+
+public class Campus {
+
+	/**
+	 * Teaching facilities
+	 */
+	public Map<String, GISPolygon> teachingFacilities;
+
+	/**
+	 * Shared areas
+	 */
+	public Map<String, GISPolygon> sharedAreas;
+
+	/**
+	 * Eating places
+	 */
+	public Map<String, GISPolygon> eatingPlaces;
+
+	/**
+	 * In-Out spots
+	 */
+	public Map<String, GISPolygon> inOuts;
+
+	/**
+	 * Vehicle in-out spots
+	 */
+	public Map<String, GISPolygon> vehicleInOuts;
+
+	/**
+	 * Transit areas
+	 */
+	public Map<String, GISPolygon> transitAreas;
+
+	/**
+	 * Parking lots
+	 */
+	public Map<String, GISPolygon> parkingLots;
+
+	/**
+	 * Limbos
+	 */
+	public Map<String, GISPolygon> limbos;
+
+	/**
+	 * Other facilities
+	 */
+	public Map<String, GISPolygon> otherFacilities;
+
+	/**
+	 * Workplace weights by polygon id
+	 */
+	public Map<String, Double> workplaces;
+
+	/**
+	 * Routes
+	 */
+	public Graph<String, DefaultWeightedEdge> routes;
+
+	/**
+	 * Shortest paths between all vertexes
+	 */
+	public Map<String, GraphPath<String, DefaultWeightedEdge>> shortestPaths;
+
+	/**
+	 * Groups
+	 */
+	public Map<String, Group> groups;
+
+	/**
+	 * Get the polygons of the campus, limbos included, in layer order and
+	 * without duplicates
+	 */
+	public List<GISPolygon> getPolygons() {
+		return getPolygons(true);
+	}
+
+	/**
+	 * Get the polygons on campus, i.e. every polygon but the limbos, in layer
+	 * order and without duplicates
+	 */
+	public List<GISPolygon> getCampusPolygons() {
+		return getPolygons(false);
+	}
+
+	/**
+	 * Get the polygons of the campus, in layer order and without duplicates
+	 * 
+	 * @param includeLimbos Include the limbos
+	 */
+	private List<GISPolygon> getPolygons(boolean includeLimbos) {
+		List<Map<String, GISPolygon>> layers = new ArrayList<>();
+		layers.add(this.teachingFacilities);
+		layers.add(this.sharedAreas);
+		layers.add(this.eatingPlaces);
+		layers.add(this.inOuts);
+		layers.add(this.vehicleInOuts);
+		layers.add(this.transitAreas);
+		layers.add(this.parkingLots);
+		if (includeLimbos) {
+			layers.add(this.limbos);
+		}
+		layers.add(this.otherFacilities);
+		Set<GISPolygon> visited = Collections
+				.newSetFromMap(new IdentityHashMap<>());
+		List<GISPolygon> polygons = new ArrayList<>();
+		for (Map<String, GISPolygon> layer : layers) {
+			for (GISPolygon polygon : layer.values()) {
+				if (visited.add(polygon)) {
+					polygons.add(polygon);
+				}
+			}
+		}
+		return polygons;
+	}
+
+}
\ No newline at end of file
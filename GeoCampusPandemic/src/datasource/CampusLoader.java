@@ -0,0 +1,197 @@
+package datasource;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import config.SourcePaths;
+import gis.GISPolygon;
+import model.agents.Group;
+import model.util.Heuristics;
+import util.ParallelUtil;
+import util.StageTimer;
+
+public class CampusLoader {
+
+	/**
+	 * Worker pool
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * Stage timer
+	 */
+	private StageTimer stageTimer;
+
+	/**
+	 * Create a new campus loader
+	 * 
+	 * @param threads    Number of worker threads. Zero or less uses all the
+	 *                   available processors.
+	 * @param stageTimer Stage timer
+	 */
+	public CampusLoader(int threads, StageTimer stageTimer) {
+		this.executor = Executors
+				.newFixedThreadPool(ParallelUtil.resolveThreads(threads));
+		this.stageTimer = stageTimer;
+	}
+
+	/**
+	 * Load the campus from its sources. Every source is read on the worker
+	 * pool and the method waits for all of them.
+	 */
+	public Campus loadCampus() {
+		Future<Map<String, GISPolygon>> teachingFacilitiesTask = submitPolygons(
+				"Teaching facilities",
+				SourcePaths.TEACHING_FACILITIES_GEOMETRY_SHAPEFILE,
+				SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE);
+		Future<Map<String, GISPolygon>> sharedAreasTask = submitPolygons(
+				"Shared areas", SourcePaths.SHARED_AREAS_GEOMETRY_SHAPEFILE,
+				SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE);
+		Future<Map<String, GISPolygon>> eatingPlacesTask = submitPolygons(
+				"Eating places", SourcePaths.EATING_PLACES_GEOMETRY_SHAPEFILE,
+				SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE);
+		Future<Map<String, GISPolygon>> inOutsTask = submitPolygons(
+				"In-out spots", SourcePaths.INOUTS_GEOMETRY_SHAPEFILE,
+				SourcePaths.INOUT_SPOTS_ATTRIBUTES_DATABASE);
+		Future<Map<String, GISPolygon>> vehicleInOutsTask = submitPolygons(
+				"Vehicle in-out spots",
+				SourcePaths.VEHICLE_INOUTS_GEOMETRY_SHAPEFILE,
+				SourcePaths.VEHICLE_INOUT_SPOTS_ATTRIBUTES_DATABASE);
+		Future<Map<String, GISPolygon>> transitAreasTask = submitPolygons(
+				"Transit areas", SourcePaths.TRANSIT_AREAS_GEOMETRY_SHAPEFILE,
+				SourcePaths.TRANSIT_AREAS_ATTRIBUTES_DATABASE);
+		Future<Map<String, GISPolygon>> parkingLotsTask = submitPolygons(
+				"Parking lots", SourcePaths.PARKING_LOTS_GEOMETRY_SHAPEFILE,
+				SourcePaths.PARKING_LOTS_ATTRIBUTES_DATABASE);
+		Future<Map<String, GISPolygon>> limbosTask = submitPolygons("Limbos",
+				SourcePaths.LIMBOS_GEOMETRY_SHAPEFILE,
+				SourcePaths.LIMBOS_ATTRIBUTES_DATABASE);
+		Future<Map<String, GISPolygon>> otherFacilitiesTask = submitPolygons(
+				"Other facilities",
+				SourcePaths.OTHER_FACILITIES_GEOMETRY_SHAPEFILE,
+				SourcePaths.OTHER_FACILITIES_ATTRIBUTES_DATABASE);
+		Future<Map<String, Double>> workplacesTask = submitWorkplaces(
+				SourcePaths.WORKPLACES_DATABASE);
+		Future<Graph<String, DefaultWeightedEdge>> routesTask = submitRoutes(
+				SourcePaths.ROUTES_DATABASE);
+		Future<Map<String, GraphPath<String, DefaultWeightedEdge>>> shortestPathsTask = submitShortestPaths(
+				routesTask);
+		Future<Map<String, Group>> groupsTask = submitGroups(
+				SourcePaths.GROUPS_DATABASE);
+		Campus campus = new Campus();
+		campus.teachingFacilities = await(teachingFacilitiesTask);
+		campus.sharedAreas = await(sharedAreasTask);
+		campus.eatingPlaces = await(eatingPlacesTask);
+		campus.inOuts = await(inOutsTask);
+		campus.vehicleInOuts = await(vehicleInOutsTask);
+		campus.transitAreas = await(transitAreasTask);
+		campus.parkingLots = await(parkingLotsTask);
+		campus.limbos = await(limbosTask);
+		campus.otherFacilities = await(otherFacilitiesTask);
+		campus.workplaces = await(workplacesTask);
+		campus.routes = await(routesTask);
+		campus.shortestPaths = await(shortestPathsTask);
+		campus.groups = await(groupsTask);
+		return campus;
+	}
+
+	/**
+	 * Submit polygons for loading
+	 * 
+	 * @param stage          Stage name
+	 * @param geometryPath   Path to geometry file
+	 * @param attributesPath Path to attributes file
+	 */
+	public Future<Map<String, GISPolygon>> submitPolygons(String stage,
+			String geometryPath, String attributesPath) {
+		return submit(stage,
+				() -> Reader.readPolygons(geometryPath, attributesPath));
+	}
+
+	/**
+	 * Submit workplaces for loading
+	 * 
+	 * @param filename File name
+	 */
+	public Future<Map<String, Double>> submitWorkplaces(String filename) {
+		return submit("Workplaces",
+				() -> Reader.readWorkplacesDatabase(filename));
+	}
+
+	/**
+	 * Submit routes for loading
+	 * 
+	 * @param filename File name
+	 */
+	public Future<Graph<String, DefaultWeightedEdge>> submitRoutes(
+			String filename) {
+		return submit("Routes", () -> Reader.readRoutesDatabase(filename));
+	}
+
+	/**
+	 * Submit the search of shortest paths. The search starts as soon as the
+	 * routes are loaded.
+	 * 
+	 * @param routes Routes task
+	 */
+	public Future<Map<String, GraphPath<String, DefaultWeightedEdge>>> submitShortestPaths(
+			Future<Graph<String, DefaultWeightedEdge>> routes) {
+		return submit("Shortest paths",
+				() -> Heuristics.findShortestPaths(await(routes)));
+	}
+
+	/**
+	 * Submit groups for loading
+	 * 
+	 * @param filename File name
+	 */
+	public Future<Map<String, Group>> submitGroups(String filename) {
+		return submit("Groups", () -> Reader.readGroupsDatabase(filename));
+	}
+
+	/**
+	 * Shut down the worker pool
+	 */
+	public void shutdown() {
+		this.executor.shutdownNow();
+	}
+
+	/**
+	 * Wait for a task to finish and get its result
+	 * 
+	 * @param task Task
+	 */
+	public static <T> T await(Future<T> task) {
+		try {
+			return task.get();
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Campus loading interrupted", ie);
+		} catch (ExecutionException ee) {
+			throw new IllegalStateException("Campus loading failed",
+					ee.getCause());
+		}
+	}
+
+	/**
+	 * Submit a timed task to the worker pool
+	 * 
+	 * @param stage Stage name
+	 * @param task  Task
+	 */
+	private <T> Future<T> submit(String stage, Callable<T> task) {
+		return this.executor.submit(() -> {
+			long startTime = this.stageTimer.start();
+			T result = task.call();
+			this.stageTimer.record(stage, startTime);
+			return result;
+		});
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,513 @@
+package datasource;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jgrapht.Graph;
+import org.jgrapht.GraphPath;
+import org.jgrapht.graph.DefaultDirectedWeightedGraph;
+import org.jgrapht.graph.DefaultWeightedEdge;
+import org.jgrapht.graph.GraphWalk;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.io.ParseException;
+import com.vividsolutions.jts.io.WKBReader;
+import com.vividsolutions.jts.io.WKBWriter;
+import config.SourcePaths;
+import gis.GISDensityMeter;
+import gis.GISPolygon;
+import model.agents.AcademicActivity;
+import model.agents.Group;
+
+public final class CampusSnapshot {
+
+	/**
+	 * Magic number ("GCPS")
+	 */
+	private static final int MAGIC = 0x47435053;
+
+	/**
+	 * Format version. Increase it whenever the layout changes.
+	 */
+	private static final int VERSION = 2;
+
+	/**
+	 * Digest algorithm of the source fingerprint
+	 */
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	/**
+	 * Shapefile sidecar extensions
+	 */
+	private static final String[] SHAPEFILE_SIDECARS = { ".shx", ".dbf",
+			".prj", ".cpg" };
+
+	/**
+	 * Campus sources. The snapshot is stale once any of them changes.
+	 */
+	private static final String[] SOURCES = {
+			SourcePaths.TEACHING_FACILITIES_GEOMETRY_SHAPEFILE,
+			SourcePaths.SHARED_AREAS_GEOMETRY_SHAPEFILE,
+			SourcePaths.EATING_PLACES_GEOMETRY_SHAPEFILE,
+			SourcePaths.INOUTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.VEHICLE_INOUTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.TRANSIT_AREAS_GEOMETRY_SHAPEFILE,
+			SourcePaths.PARKING_LOTS_GEOMETRY_SHAPEFILE,
+			SourcePaths.LIMBOS_GEOMETRY_SHAPEFILE,
+			SourcePaths.OTHER_FACILITIES_GEOMETRY_SHAPEFILE,
+			SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE,
+			SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE,
+			SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE,
+			SourcePaths.INOUT_SPOTS_ATTRIBUTES_DATABASE,
+			SourcePaths.VEHICLE_INOUT_SPOTS_ATTRIBUTES_DATABASE,
+			SourcePaths.TRANSIT_AREAS_ATTRIBUTES_DATABASE,
+			SourcePaths.PARKING_LOTS_ATTRIBUTES_DATABASE,
+			SourcePaths.LIMBOS_ATTRIBUTES_DATABASE,
+			SourcePaths.OTHER_FACILITIES_ATTRIBUTES_DATABASE,
+			SourcePaths.WORKPLACES_DATABASE, SourcePaths.ROUTES_DATABASE,
+			SourcePaths.GROUPS_DATABASE };
+
+	/**
+	 * Private constructor
+	 */
+	private CampusSnapshot() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Read a campus snapshot. It returns null if the snapshot doesn't exist,
+	 * was written by another format version or doesn't match the content of
+	 * the campus sources.
+	 * 
+	 * @param filename File name
+	 */
+	public static Campus read(String filename) {
+		File file = new File(filename);
+		if (!file.isFile()) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				return null;
+			}
+			byte[] fingerprint = fingerprintSources();
+			byte[] snapshotFingerprint = new byte[fingerprint.length];
+			in.readFully(snapshotFingerprint);
+			if (!Arrays.equals(fingerprint, snapshotFingerprint)) {
+				return null;
+			}
+			WKBReader wkbReader = new WKBReader(new GeometryFactory());
+			Campus campus = new Campus();
+			campus.teachingFacilities = readPolygons(in, wkbReader);
+			campus.sharedAreas = readPolygons(in, wkbReader);
+			campus.eatingPlaces = readPolygons(in, wkbReader);
+			campus.inOuts = readPolygons(in, wkbReader);
+			campus.vehicleInOuts = readPolygons(in, wkbReader);
+			campus.transitAreas = readPolygons(in, wkbReader);
+			campus.parkingLots = readPolygons(in, wkbReader);
+			campus.limbos = readPolygons(in, wkbReader);
+			campus.otherFacilities = readPolygons(in, wkbReader);
+			campus.workplaces = readWorkplaces(in);
+			List<String> vertexes = new ArrayList<>();
+			campus.routes = readRoutes(in, vertexes);
+			campus.shortestPaths = readShortestPaths(in, campus.routes,
+					vertexes);
+			campus.groups = readGroups(in);
+			return campus;
+		} catch (IOException | ParseException e) {
+			e.printStackTrace();
+		}
+		return null;
+	}
+
+	/**
+	 * Write a campus snapshot. It replaces the previous snapshot atomically.
+	 * 
+	 * @param filename File name
+	 * @param campus   Campus
+	 */
+	public static void write(String filename, Campus campus) {
+		File file = new File(filename).getAbsoluteFile();
+		File parent = file.getParentFile();
+		parent.mkdirs();
+		// Write a temporary file and move it into place, so concurrent runs
+		// and crashes never leave a partial snapshot
+		File temporaryFile;
+		try {
+			temporaryFile = File.createTempFile(file.getName(), ".tmp",
+					parent);
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(
+						new FileOutputStream(temporaryFile)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.write(fingerprintSources());
+			WKBWriter wkbWriter = new WKBWriter();
+			writePolygons(out, wkbWriter, campus.teachingFacilities);
+			writePolygons(out, wkbWriter, campus.sharedAreas);
+			writePolygons(out, wkbWriter, campus.eatingPlaces);
+			writePolygons(out, wkbWriter, campus.inOuts);
+			writePolygons(out, wkbWriter, campus.vehicleInOuts);
+			writePolygons(out, wkbWriter, campus.transitAreas);
+			writePolygons(out, wkbWriter, campus.parkingLots);
+			writePolygons(out, wkbWriter, campus.limbos);
+			writePolygons(out, wkbWriter, campus.otherFacilities);
+			writeWorkplaces(out, campus.workplaces);
+			Map<String, Integer> vertexIndexes = writeRoutes(out,
+					campus.routes);
+			writeShortestPaths(out, campus.shortestPaths, vertexIndexes);
+			writeGroups(out, campus.groups);
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+			temporaryFile.delete();
+			return;
+		}
+		try {
+			Files.move(temporaryFile.toPath(), file.toPath(),
+					StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException ioe) {
+			ioe.printStackTrace();
+			temporaryFile.delete();
+		}
+	}
+
+	/**
+	 * Fingerprint the campus sources, along with the shapefile sidecars, by
+	 * name and content
+	 */
+	private static byte[] fingerprintSources() throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		byte[] buffer = new byte[8192];
+		for (String source : SOURCES) {
+			List<File> files = new ArrayList<>();
+			files.add(new File(source));
+			if (source.endsWith(".shp")) {
+				String baseName = source.substring(0, source.length() - 4);
+				for (String sidecar : SHAPEFILE_SIDECARS) {
+					files.add(new File(baseName + sidecar));
+				}
+			}
+			for (File file : files) {
+				digest.update(file.getPath().getBytes("UTF-8"));
+				if (!file.isFile()) {
+					digest.update((byte) 0);
+					continue;
+				}
+				digest.update((byte) 1);
+				try (FileInputStream in = new FileInputStream(file)) {
+					int read;
+					while ((read = in.read(buffer)) > 0) {
+						digest.update(buffer, 0, read);
+					}
+				}
+			}
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Write polygons
+	 * 
+	 * @param out       Output stream
+	 * @param wkbWriter Geometry writer
+	 * @param polygons  Polygons
+	 */
+	private static void writePolygons(DataOutputStream out,
+			WKBWriter wkbWriter, Map<String, GISPolygon> polygons)
+			throws IOException {
+		out.writeInt(polygons.size());
+		for (GISPolygon polygon : polygons.values()) {
+			out.writeUTF(polygon.getId());
+			boolean isDensityMeter = polygon instanceof GISDensityMeter;
+			out.writeBoolean(isDensityMeter);
+			if (isDensityMeter) {
+				out.writeDouble(((GISDensityMeter) polygon).getArea());
+			}
+			out.writeDouble(polygon.getWeight());
+			out.writeBoolean(polygon.isActive());
+			writeNullableString(out, polygon.getLink());
+			byte[] wkb = wkbWriter.write(polygon.getGeometry());
+			out.writeInt(wkb.length);
+			out.write(wkb);
+		}
+	}
+
+	/**
+	 * Read polygons
+	 * 
+	 * @param in        Input stream
+	 * @param wkbReader Geometry reader
+	 */
+	private static Map<String, GISPolygon> readPolygons(DataInputStream in,
+			WKBReader wkbReader) throws IOException, ParseException {
+		int count = in.readInt();
+		Map<String, GISPolygon> polygons = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			String id = in.readUTF();
+			boolean isDensityMeter = in.readBoolean();
+			double area = isDensityMeter ? in.readDouble() : 0;
+			double weight = in.readDouble();
+			boolean active = in.readBoolean();
+			String link = readNullableString(in);
+			byte[] wkb = new byte[in.readInt()];
+			in.readFully(wkb);
+			Geometry geometry = wkbReader.read(wkb);
+			GISPolygon polygon = null;
+			if (isDensityMeter) {
+				polygon = new GISDensityMeter(area, weight, active, link);
+			} else {
+				polygon = new GISPolygon(weight, active, link);
+			}
+			polygon.setPolygonId(id);
+			polygon.setGeometry(geometry);
+			polygons.put(id, polygon);
+		}
+		return polygons;
+	}
+
+	/**
+	 * Write workplaces
+	 * 
+	 * @param out        Output stream
+	 * @param workplaces Workplace weights by polygon id
+	 */
+	private static void writeWorkplaces(DataOutputStream out,
+			Map<String, Double> workplaces) throws IOException {
+		out.writeInt(workplaces.size());
+		for (Map.Entry<String, Double> workplace : workplaces.entrySet()) {
+			out.writeUTF(workplace.getKey());
+			out.writeDouble(workplace.getValue());
+		}
+	}
+
+	/**
+	 * Read workplaces
+	 * 
+	 * @param in Input stream
+	 */
+	private static Map<String, Double> readWorkplaces(DataInputStream in)
+			throws IOException {
+		int count = in.readInt();
+		Map<String, Double> workplaces = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			String id = in.readUTF();
+			workplaces.put(id, in.readDouble());
+		}
+		return workplaces;
+	}
+
+	/**
+	 * Write routes. It returns the index of every vertex.
+	 * 
+	 * @param out    Output stream
+	 * @param routes Routes
+	 */
+	private static Map<String, Integer> writeRoutes(DataOutputStream out,
+			Graph<String, DefaultWeightedEdge> routes) throws IOException {
+		Map<String, Integer> vertexIndexes = new HashMap<>();
+		out.writeInt(routes.vertexSet().size());
+		for (String vertex : routes.vertexSet()) {
+			vertexIndexes.put(vertex, vertexIndexes.size());
+			out.writeUTF(vertex);
+		}
+		out.writeInt(routes.edgeSet().size());
+		for (DefaultWeightedEdge edge : routes.edgeSet()) {
+			out.writeInt(vertexIndexes.get(routes.getEdgeSource(edge)));
+			out.writeInt(vertexIndexes.get(routes.getEdgeTarget(edge)));
+			out.writeDouble(routes.getEdgeWeight(edge));
+		}
+		return vertexIndexes;
+	}
+
+	/**
+	 * Read routes
+	 * 
+	 * @param in       Input stream
+	 * @param vertexes List to fill with the vertexes in index order
+	 */
+	private static Graph<String, DefaultWeightedEdge> readRoutes(
+			DataInputStream in, List<String> vertexes) throws IOException {
+		Graph<String, DefaultWeightedEdge> routes = new DefaultDirectedWeightedGraph<>(
+				DefaultWeightedEdge.class);
+		int vertexCount = in.readInt();
+		for (int i = 0; i < vertexCount; i++) {
+			String vertex = in.readUTF();
+			routes.addVertex(vertex);
+			vertexes.add(vertex);
+		}
+		int edgeCount = in.readInt();
+		for (int i = 0; i < edgeCount; i++) {
+			String source = vertexes.get(in.readInt());
+			String target = vertexes.get(in.readInt());
+			DefaultWeightedEdge edge = routes.addEdge(source, target);
+			routes.setEdgeWeight(edge, in.readDouble());
+		}
+		return routes;
+	}
+
+	/**
+	 * Write shortest paths. Paths are stored as lists of vertex indexes and a
+	 * negative length marks a missing path.
+	 * 
+	 * @param out           Output stream
+	 * @param shortestPaths Shortest paths
+	 * @param vertexIndexes Index of every vertex
+	 */
+	private static void writeShortestPaths(DataOutputStream out,
+			Map<String, GraphPath<String, DefaultWeightedEdge>> shortestPaths,
+			Map<String, Integer> vertexIndexes) throws IOException {
+		out.writeInt(shortestPaths.size());
+		for (Map.Entry<String, GraphPath<String, DefaultWeightedEdge>> entry : shortestPaths
+				.entrySet()) {
+			out.writeUTF(entry.getKey());
+			GraphPath<String, DefaultWeightedEdge> path = entry.getValue();
+			if (path == null) {
+				out.writeInt(-1);
+				continue;
+			}
+			List<String> pathVertexes = path.getVertexList();
+			out.writeInt(pathVertexes.size());
+			for (String vertex : pathVertexes) {
+				out.writeInt(vertexIndexes.get(vertex));
+			}
+			out.writeDouble(path.getWeight());
+		}
+	}
+
+	/**
+	 * Read shortest paths
+	 * 
+	 * @param in       Input stream
+	 * @param routes   Routes
+	 * @param vertexes Vertexes in index order
+	 */
+	private static Map<String, GraphPath<String, DefaultWeightedEdge>> readShortestPaths(
+			DataInputStream in, Graph<String, DefaultWeightedEdge> routes,
+			List<String> vertexes) throws IOException {
+		int count = in.readInt();
+		Map<String, GraphPath<String, DefaultWeightedEdge>> shortestPaths = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			String id = in.readUTF();
+			int length = in.readInt();
+			if (length < 0) {
+				shortestPaths.put(id, null);
+				continue;
+			}
+			List<String> pathVertexes = new ArrayList<>(length);
+			List<DefaultWeightedEdge> pathEdges = new ArrayList<>();
+			for (int j = 0; j < length; j++) {
+				String vertex = vertexes.get(in.readInt());
+				if (j > 0) {
+					String previous = pathVertexes.get(j - 1);
+					pathEdges.add(routes.getEdge(previous, vertex));
+				}
+				pathVertexes.add(vertex);
+			}
+			double weight = in.readDouble();
+			String source = pathVertexes.get(0);
+			String sink = pathVertexes.get(length - 1);
+			shortestPaths.put(id, new GraphWalk<>(routes, source, sink,
+					pathVertexes, pathEdges, weight));
+		}
+		return shortestPaths;
+	}
+
+	/**
+	 * Write groups
+	 * 
+	 * @param out    Output stream
+	 * @param groups Groups
+	 */
+	private static void writeGroups(DataOutputStream out,
+			Map<String, Group> groups) throws IOException {
+		out.writeInt(groups.size());
+		for (Group group : groups.values()) {
+			out.writeUTF(group.getId());
+			out.writeInt(group.getCapacity());
+			List<AcademicActivity> activities = group.getAcademicActivities();
+			out.writeInt(activities.size());
+			for (AcademicActivity activity : activities) {
+				out.writeInt(activity.getDay());
+				out.writeDouble(activity.getStartTime());
+				out.writeDouble(activity.getEndTime());
+				writeNullableString(out, activity.getTeachingFacilityId());
+			}
+		}
+	}
+
+	/**
+	 * Read groups
+	 * 
+	 * @param in Input stream
+	 */
+	private static Map<String, Group> readGroups(DataInputStream in)
+			throws IOException {
+		int count = in.readInt();
+		Map<String, Group> groups = new HashMap<>();
+		for (int i = 0; i < count; i++) {
+			String id = in.readUTF();
+			Group group = new Group(id, in.readInt());
+			int activityCount = in.readInt();
+			for (int j = 0; j < activityCount; j++) {
+				int day = in.readInt();
+				double startTime = in.readDouble();
+				double endTime = in.readDouble();
+				String teachingFacilityId = readNullableString(in);
+				group.addAcademicActivity(day, startTime, endTime,
+						teachingFacilityId);
+			}
+			groups.put(id, group);
+		}
+		return groups;
+	}
+
+	/**
+	 * Write a string that may be null
+	 * 
+	 * @param out   Output stream
+	 * @param value Value
+	 */
+	private static void writeNullableString(DataOutputStream out,
+			String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	/**
+	 * Read a string that may be null
+	 * 
+	 * @param in Input stream
+	 */
+	private static String readNullableString(DataInputStream in)
+			throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+}
\ No newline at end of file
@@ -17,6 +17,8 @@ import org.jgrapht.Graph;
 import org.jgrapht.graph.DefaultDirectedWeightedGraph;
 import org.jgrapht.graph.DefaultWeightedEdge;
 import org.opengis.feature.simple.SimpleFeature;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.MultiPolygon;
 import config.SourceFeatures;
 import gis.GISDensityMeter;
 import gis.GISPolygon;
@@ -64,6 +66,31 @@ public final class Reader {
 		return new ArrayList<>();
 	}
 
+	/**
+	 * Read polygons. Join the geometry of each feature with its attributes.
+	 * 
+	 * @param geometryPath   Path to geometry file
+	 * @param attributesPath Path to attributes file
+	 */
+	public static Map<String, GISPolygon> readPolygons(String geometryPath,
+			String attributesPath) {
+		Map<String, GISPolygon> polygons = new HashMap<>();
+		List<SimpleFeature> features = loadGeometryFromShapefile(geometryPath);
+		Map<String, GISPolygon> attributes = readFacilityAttributesDatabase(
+				attributesPath);
+		for (SimpleFeature feature : features) {
+			MultiPolygon multiPolygon = (MultiPolygon) feature
+					.getDefaultGeometry();
+			Geometry geometry = multiPolygon.getGeometryN(0);
+			String id = (String) feature.getAttribute(1);
+			GISPolygon polygon = attributes.get(id);
+			polygon.setPolygonId(id);
+			polygon.setGeometry(geometry);
+			polygons.put(id, polygon);
+		}
+		return polygons;
+	}
+
 	/**
 	 * Read groups database
 	 * 
@@ -0,0 +1,14 @@
+package engine;
+
+public interface DispatchPolicy {
+
+	/**
+	 * Can the target's events run in a parallel batch? Its events must only
+	 * change its own state, and change shared state through deferred
+	 * effects.
+	 * 
+	 * @param target Target object
+	 */
+	boolean isParallel(Object target);
+
+}
\ No newline at end of file
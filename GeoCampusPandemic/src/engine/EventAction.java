@@ -0,0 +1,137 @@
+package engine;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import util.Metrics;
+
+public class EventAction {
+
+	/**
+	 * Metric of the events fired by method name
+	 */
+	public static final String EVENTS_METRIC = "events";
+
+	/**
+	 * Resolved methods by class and signature
+	 */
+	private static final Map<Class<?>, Map<String, Method>> METHODS = new ConcurrentHashMap<>();
+
+	/**
+	 * Target object
+	 */
+	private Object target;
+
+	/**
+	 * Method to invoke
+	 */
+	private Method method;
+
+	/**
+	 * Method's parameters
+	 */
+	private Object[] params;
+
+	/**
+	 * Create a new event action. Every kernel fires its events through one,
+	 * so the events are counted by method name whatever the kernel.
+	 * 
+	 * @param target     Target object
+	 * @param methodName Method's name
+	 * @param params     Method's parameters
+	 */
+	public EventAction(Object target, String methodName, Object... params) {
+		this.target = target;
+		this.method = resolveMethod(target.getClass(), methodName, params);
+		this.params = params;
+	}
+
+	/**
+	 * Get target object
+	 */
+	public Object getTarget() {
+		return this.target;
+	}
+
+	/**
+	 * Get method's name
+	 */
+	public String getMethodName() {
+		return this.method.getName();
+	}
+
+	/**
+	 * Invoke the method on the target. The event is counted by method name
+	 * when metrics are enabled.
+	 */
+	public void execute() {
+		if (Metrics.isEnabled()) {
+			Metrics.count(EVENTS_METRIC, this.method.getName());
+		}
+		try {
+			this.method.invoke(this.target, this.params);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	/**
+	 * Resolve a public method by name and parameters. Methods are resolved
+	 * once per class, name and parameter types.
+	 * 
+	 * @param clazz      Class of the target object
+	 * @param methodName Method's name
+	 * @param params     Method's parameters
+	 */
+	private static Method resolveMethod(Class<?> clazz, String methodName,
+			Object[] params) {
+		StringBuilder key = new StringBuilder(methodName);
+		for (Object param : params) {
+			key.append('/').append(param.getClass().getName());
+		}
+		Map<String, Method> classMethods = METHODS.computeIfAbsent(clazz,
+				c -> new ConcurrentHashMap<>());
+		Method method = classMethods.get(key.toString());
+		if (method == null) {
+			method = findMethod(clazz, methodName, params);
+			classMethods.put(key.toString(), method);
+		}
+		return method;
+	}
+
+	/**
+	 * Find a public method by name and parameters
+	 * 
+	 * @param clazz      Class of the target object
+	 * @param methodName Method's name
+	 * @param params     Method's parameters
+	 */
+	private static Method findMethod(Class<?> clazz, String methodName,
+			Object[] params) {
+		for (Method method : clazz.getMethods()) {
+			if (!method.getName().equals(methodName)
+					|| method.getParameterCount() != params.length) {
+				continue;
+			}
+			Class<?>[] types = method.getParameterTypes();
+			boolean matches = true;
+			for (int i = 0; i < types.length && matches; i++) {
+				matches = types[i].isInstance(params[i]);
+			}
+			if (matches) {
+				return method;
+			}
+		}
+		throw new IllegalArgumentException(String.format(
+				"No method %s with %d parameters in %s", methodName,
+				params.length, clazz.getName()));
+	}
+
+}
\ No newline at end of file
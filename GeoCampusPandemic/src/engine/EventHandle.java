@@ -0,0 +1,10 @@
+package engine;
+
+public interface EventHandle {
+
+	/**
+	 * Cancel the event. A recurring event doesn't fire again.
+	 */
+	void cancel();
+
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package engine;
+
+public interface EventKernel {
+
+	/**
+	 * Get current tick
+	 */
+	double getCurrentTick();
+
+	/**
+	 * Get the number of pending events
+	 */
+	int getPendingEvents();
+
+	/**
+	 * Schedule one-time event
+	 * 
+	 * @param startTime    Start tick
+	 * @param target       Target object
+	 * @param methodName   Method's name
+	 * @param methodParams Method's parameters
+	 */
+	EventHandle scheduleOneTime(double startTime, Object target,
+			String methodName, Object... methodParams);
+
+	/**
+	 * Schedule recurring event
+	 * 
+	 * @param startTime    Start tick
+	 * @param interval     Tick interval
+	 * @param target       Target object
+	 * @param methodName   Method's name
+	 * @param methodParams Method's parameters
+	 */
+	EventHandle scheduleRecurring(double startTime, double interval,
+			Object target, String methodName, Object... methodParams);
+
+	/**
+	 * Apply an effect on state shared between agents, e.g. the spatial index
+	 * or the polygon counters. Kernels that run events in parallel defer it
+	 * until the event's batch ends.
+	 * 
+	 * @param effect Effect
+	 */
+	void defer(Runnable effect);
+
+}
\ No newline at end of file
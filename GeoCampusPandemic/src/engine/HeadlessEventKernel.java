@@ -0,0 +1,623 @@
+package engine;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import util.Metrics;
+import util.ParallelUtil;
+
+public class HeadlessEventKernel implements EventKernel {
+
+	/**
+	 * Priority of agent events
+	 */
+	public static final double DEFAULT_PRIORITY = 0;
+
+	/**
+	 * Priority of events that run after every other event in a tick, e.g.
+	 * data recording
+	 */
+	public static final double LAST_PRIORITY = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Pending events
+	 */
+	private PriorityQueue<HeadlessEvent> queue;
+
+	/**
+	 * Dispatch policy. Null disables parallel dispatch.
+	 */
+	private DispatchPolicy dispatchPolicy;
+
+	/**
+	 * Dispatch worker threads
+	 */
+	private int dispatchThreads;
+
+	/**
+	 * Dispatch worker pool
+	 */
+	private ExecutorService executor;
+
+	/**
+	 * Deferred effects of the event running on the current thread. Null
+	 * outside parallel batches.
+	 */
+	private ThreadLocal<List<Runnable>> deferredEffects;
+
+	/**
+	 * Tick samplers
+	 */
+	private List<SamplerState> samplers;
+
+	/**
+	 * Idle condition. Null disables idle fast-forward.
+	 */
+	private BooleanSupplier idleCondition;
+
+	/**
+	 * Current tick
+	 */
+	private double currentTick;
+
+	/**
+	 * Next insertion sequence
+	 */
+	private long sequence;
+
+	/**
+	 * Executed events
+	 */
+	private long executedEvents;
+
+	/**
+	 * Fast-forwarded ticks, summed over samplers
+	 */
+	private long fastForwardedTicks;
+
+	/**
+	 * Dispatched parallel batches
+	 */
+	private long parallelBatches;
+
+	/**
+	 * Create a new headless event kernel
+	 */
+	public HeadlessEventKernel() {
+		this.queue = new PriorityQueue<>();
+		this.samplers = new ArrayList<>();
+		this.deferredEffects = new ThreadLocal<>();
+	}
+
+	/**
+	 * Get current tick
+	 */
+	@Override
+	public double getCurrentTick() {
+		return this.currentTick;
+	}
+
+	/**
+	 * Schedule one-time event
+	 * 
+	 * @param startTime    Start tick
+	 * @param target       Target object
+	 * @param methodName   Method's name
+	 * @param methodParams Method's parameters
+	 */
+	@Override
+	public EventHandle scheduleOneTime(double startTime, Object target,
+			String methodName, Object... methodParams) {
+		return schedule(startTime, 0, DEFAULT_PRIORITY, target, methodName,
+				methodParams);
+	}
+
+	/**
+	 * Schedule recurring event
+	 * 
+	 * @param startTime    Start tick
+	 * @param interval     Tick interval
+	 * @param target       Target object
+	 * @param methodName   Method's name
+	 * @param methodParams Method's parameters
+	 */
+	@Override
+	public EventHandle scheduleRecurring(double startTime, double interval,
+			Object target, String methodName, Object... methodParams) {
+		return schedule(startTime, interval, DEFAULT_PRIORITY, target,
+				methodName, methodParams);
+	}
+
+	/**
+	 * Schedule event. Events run in order of tick, then of priority (higher
+	 * first) and then of insertion.
+	 * 
+	 * @param startTime    Start tick
+	 * @param interval     Tick interval. Zero or less means one-time.
+	 * @param priority     Priority
+	 * @param target       Target object
+	 * @param methodName   Method's name
+	 * @param methodParams Method's parameters
+	 */
+	public EventHandle schedule(double startTime, double interval,
+			double priority, Object target, String methodName,
+			Object... methodParams) {
+		HeadlessEvent event = new HeadlessEvent(startTime, interval, priority,
+				new EventAction(target, methodName, methodParams));
+		List<Runnable> effects = this.deferredEffects.get();
+		if (effects == null) {
+			enqueue(event);
+		} else {
+			effects.add(() -> enqueue(event));
+		}
+		return event;
+	}
+
+	/**
+	 * Apply an effect on shared state. Inside a parallel batch it is
+	 * deferred until the batch ends; otherwise it is applied at once.
+	 * 
+	 * @param effect Effect
+	 */
+	@Override
+	public void defer(Runnable effect) {
+		List<Runnable> effects = this.deferredEffects.get();
+		if (effects == null) {
+			effect.run();
+		} else {
+			effects.add(effect);
+		}
+	}
+
+	/**
+	 * Enable parallel dispatch. Consecutive events with the same tick and
+	 * priority whose targets the policy accepts run as a batch: events are
+	 * grouped by target and groups run on a worker pool, each in queue
+	 * order. Deferred effects and scheduled events are then applied in queue
+	 * order, so the results don't depend on the number of threads.
+	 * They differ from sequential dispatch, though: events in a batch see
+	 * shared state as it was when the batch started, not each other's
+	 * effects.
+	 * 
+	 * @param dispatchPolicy Dispatch policy
+	 * @param threads        Worker threads. Zero means all the available
+	 *                       processors.
+	 */
+	public void setParallelDispatch(DispatchPolicy dispatchPolicy,
+			int threads) {
+		this.dispatchPolicy = dispatchPolicy;
+		this.dispatchThreads = ParallelUtil.resolveThreads(threads);
+	}
+
+	/**
+	 * Shut the dispatch worker pool down
+	 */
+	public void shutdown() {
+		if (this.executor != null) {
+			this.executor.shutdownNow();
+			this.executor = null;
+		}
+	}
+
+	/**
+	 * Add a tick sampler. It samples every tick from the start tick, after
+	 * every event of the tick.
+	 * 
+	 * @param startTick Start tick (integer)
+	 * @param sampler   Tick sampler
+	 */
+	public void addSampler(double startTick, TickSampler sampler) {
+		this.samplers.add(new SamplerState(startTick, sampler));
+	}
+
+	/**
+	 * Set the idle condition. While it holds and no event has run since a
+	 * sampler's last sample, the kernel jumps to the next pending event and
+	 * the sampler repeats its last sample for the skipped ticks.
+	 * 
+	 * @param idleCondition Idle condition. Null disables idle fast-forward.
+	 */
+	public void setIdleCondition(BooleanSupplier idleCondition) {
+		this.idleCondition = idleCondition;
+	}
+
+	/**
+	 * Run every event up to the end tick (inclusive)
+	 * 
+	 * @param endTick End tick
+	 */
+	public void run(double endTick) {
+		while (true) {
+			HeadlessEvent event = peekEvent();
+			double nextTime = (event == null) ? Double.POSITIVE_INFINITY
+					: event.time;
+			sampleBefore(nextTime, endTick);
+			if (event == null || event.time > endTick) {
+				break;
+			}
+			this.queue.poll();
+			if (this.dispatchPolicy != null && this.dispatchPolicy
+					.isParallel(event.action.getTarget())) {
+				dispatchBatch(pollBatch(event));
+				continue;
+			}
+			this.currentTick = event.time;
+			invoke(event);
+			this.executedEvents++;
+			if (event.interval > 0 && !event.cancelled) {
+				event.time += event.interval;
+				enqueue(event);
+			}
+		}
+		this.currentTick = endTick;
+	}
+
+	/**
+	 * Get the number of pending events, including cancelled events that
+	 * haven't been discarded yet
+	 */
+	@Override
+	public int getPendingEvents() {
+		return this.queue.size();
+	}
+
+	/**
+	 * Get the number of executed events
+	 */
+	public long getExecutedEvents() {
+		return this.executedEvents;
+	}
+
+	/**
+	 * Get the number of events inserted in the queue, recurring events
+	 * counting once per occurrence
+	 */
+	public long getInsertedEvents() {
+		return this.sequence;
+	}
+
+	/**
+	 * Get the number of events removed from the queue: executed or
+	 * discarded after being cancelled
+	 */
+	public long getRemovedEvents() {
+		return this.sequence - this.queue.size();
+	}
+
+	/**
+	 * Count the pending events by target type and method name, e.g.
+	 * Student.relocate. Cancelled events aren't counted. It walks the whole
+	 * queue, so it's meant for sampling.
+	 */
+	public Map<String, Integer> countPendingEvents() {
+		Map<String, Integer> counts = new TreeMap<>();
+		for (HeadlessEvent event : this.queue) {
+			if (!event.cancelled) {
+				String key = event.action.getTarget().getClass()
+						.getSimpleName() + "." + event.action.getMethodName();
+				counts.merge(key, 1, Integer::sum);
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Get the number of fast-forwarded ticks, summed over samplers
+	 */
+	public long getFastForwardedTicks() {
+		return this.fastForwardedTicks;
+	}
+
+	/**
+	 * Get the number of dispatched parallel batches
+	 */
+	public long getParallelBatches() {
+		return this.parallelBatches;
+	}
+
+	/**
+	 * Add an event to the queue with the next insertion sequence
+	 * 
+	 * @param event Event
+	 */
+	private void enqueue(HeadlessEvent event) {
+		event.sequence = this.sequence++;
+		this.queue.add(event);
+	}
+
+	/**
+	 * Peek the next pending event, discarding cancelled events
+	 */
+	private HeadlessEvent peekEvent() {
+		HeadlessEvent event = this.queue.peek();
+		while (event != null && event.cancelled) {
+			this.queue.poll();
+			event = this.queue.peek();
+		}
+		return event;
+	}
+
+	/**
+	 * Poll the batch of an event: the pending events that follow it with the
+	 * same tick and priority and a parallel target
+	 * 
+	 * @param first First event of the batch, already polled
+	 */
+	private List<HeadlessEvent> pollBatch(HeadlessEvent first) {
+		List<HeadlessEvent> batch = new ArrayList<>();
+		batch.add(first);
+		HeadlessEvent event = peekEvent();
+		while (event != null && event.time == first.time
+				&& event.priority == first.priority
+				&& this.dispatchPolicy.isParallel(event.action.getTarget())) {
+			batch.add(this.queue.poll());
+			event = peekEvent();
+		}
+		return batch;
+	}
+
+	/**
+	 * Dispatch a batch of events. Groups of events with the same target run
+	 * in parallel. Their deferred effects are applied afterwards, in queue
+	 * order.
+	 * 
+	 * @param batch Batch of events, in queue order
+	 */
+	private void dispatchBatch(List<HeadlessEvent> batch) {
+		this.currentTick = batch.get(0).time;
+		// Group events by target, in order of first event
+		Map<Object, List<HeadlessEvent>> targetEvents = new IdentityHashMap<>();
+		List<List<HeadlessEvent>> groups = new ArrayList<>();
+		for (HeadlessEvent event : batch) {
+			Object target = event.action.getTarget();
+			List<HeadlessEvent> group = targetEvents.get(target);
+			if (group == null) {
+				group = new ArrayList<>();
+				targetEvents.put(target, group);
+				groups.add(group);
+			}
+			group.add(event);
+		}
+		// Run groups
+		if (this.executor == null && this.dispatchThreads > 1) {
+			this.executor = Executors.newFixedThreadPool(this.dispatchThreads,
+					runnable -> {
+						Thread thread = new Thread(runnable, "dispatch");
+						thread.setDaemon(true);
+						return thread;
+					});
+		}
+		ParallelUtil.forEachChunk(this.executor, groups.size(),
+				this.dispatchThreads, (from, to) -> {
+					for (int i = from; i < to; i++) {
+						runGroup(groups.get(i));
+					}
+				});
+		this.parallelBatches++;
+		// Apply effects
+		for (HeadlessEvent event : batch) {
+			List<Runnable> effects = event.effects;
+			if (effects == null) {
+				continue;
+			}
+			event.effects = null;
+			for (Runnable effect : effects) {
+				effect.run();
+			}
+			this.executedEvents++;
+			if (event.interval > 0 && !event.cancelled) {
+				event.time += event.interval;
+				enqueue(event);
+			}
+		}
+	}
+
+	/**
+	 * Run the events of a target, in queue order, buffering their effects.
+	 * Events cancelled by a previous event of the group are skipped.
+	 * 
+	 * @param group Events of a target
+	 */
+	private void runGroup(List<HeadlessEvent> group) {
+		try {
+			for (HeadlessEvent event : group) {
+				if (event.cancelled) {
+					continue;
+				}
+				List<Runnable> effects = new ArrayList<>();
+				event.effects = effects;
+				this.deferredEffects.set(effects);
+				invoke(event);
+			}
+		} finally {
+			this.deferredEffects.remove();
+		}
+	}
+
+	/**
+	 * Sample every tick before the next event tick, up to the end tick
+	 * 
+	 * @param nextTime Next event tick
+	 * @param endTick  End tick
+	 */
+	private void sampleBefore(double nextTime, double endTick) {
+		for (SamplerState state : this.samplers) {
+			while (state.nextTick < nextTime && state.nextTick <= endTick) {
+				this.currentTick = state.nextTick;
+				if (isIdle(state)) {
+					double lastTick = Math.min(Math.ceil(nextTime) - 1,
+							endTick);
+					state.sampler.repeat(state.nextTick, lastTick);
+					this.fastForwardedTicks += lastTick - state.nextTick + 1;
+					state.nextTick = lastTick + 1;
+				} else {
+					state.sampler.sample(state.nextTick);
+					state.nextTick++;
+				}
+				state.sampled = true;
+				state.sampledEvents = this.executedEvents;
+			}
+		}
+	}
+
+	/**
+	 * Is the sampler idle? It is if idle fast-forward is enabled, no event
+	 * has run since its last sample and the idle condition holds.
+	 * 
+	 * @param state Sampler state
+	 */
+	private boolean isIdle(SamplerState state) {
+		return this.idleCondition != null && state.sampled
+				&& state.sampledEvents == this.executedEvents
+				&& this.idleCondition.getAsBoolean();
+	}
+
+	/**
+	 * Invoke the event's action. Its run time is recorded by method name
+	 * when metrics are enabled.
+	 * 
+	 * @param event Event
+	 */
+	private void invoke(HeadlessEvent event) {
+		if (!Metrics.isEnabled()) {
+			event.action.execute();
+			return;
+		}
+		long start = System.nanoTime();
+		event.action.execute();
+		Metrics.record("eventNanos", event.action.getMethodName(),
+				System.nanoTime() - start);
+	}
+
+	/**
+	 * Event in the headless kernel
+	 */
+	private static class HeadlessEvent
+			implements EventHandle, Comparable<HeadlessEvent> {
+
+		/**
+		 * Next execution tick
+		 */
+		private double time;
+
+		/**
+		 * Tick interval. Zero or less means one-time.
+		 */
+		private double interval;
+
+		/**
+		 * Priority
+		 */
+		private double priority;
+
+		/**
+		 * Insertion sequence
+		 */
+		private long sequence;
+
+		/**
+		 * Action
+		 */
+		private EventAction action;
+
+		/**
+		 * Cancelled flag
+		 */
+		private boolean cancelled;
+
+		/**
+		 * Deferred effects, while the event's batch runs
+		 */
+		private List<Runnable> effects;
+
+		/**
+		 * Create a new event
+		 * 
+		 * @param time     Execution tick
+		 * @param interval Tick interval
+		 * @param priority Priority
+		 * @param action   Action
+		 */
+		public HeadlessEvent(double time, double interval, double priority,
+				EventAction action) {
+			this.time = time;
+			this.interval = interval;
+			this.priority = priority;
+			this.action = action;
+		}
+
+		/**
+		 * Cancel the event. It is discarded when it reaches the head of the
+		 * queue.
+		 */
+		@Override
+		public void cancel() {
+			this.cancelled = true;
+		}
+
+		/**
+		 * Compare by tick, then by priority (higher first) and then by
+		 * insertion sequence
+		 * 
+		 * @param other Other event
+		 */
+		@Override
+		public int compareTo(HeadlessEvent other) {
+			int cmp = Double.compare(this.time, other.time);
+			if (cmp != 0) {
+				return cmp;
+			}
+			cmp = Double.compare(other.priority, this.priority);
+			if (cmp != 0) {
+				return cmp;
+			}
+			return Long.compare(this.sequence, other.sequence);
+		}
+
+	}
+
+	/**
+	 * Sampling state of a tick sampler
+	 */
+	private static class SamplerState {
+
+		/**
+		 * Tick sampler
+		 */
+		private TickSampler sampler;
+
+		/**
+		 * Next tick to sample
+		 */
+		private double nextTick;
+
+		/**
+		 * Sampled flag
+		 */
+		private boolean sampled;
+
+		/**
+		 * Executed events at the last sample
+		 */
+		private long sampledEvents;
+
+		/**
+		 * Create a new sampler state
+		 * 
+		 * @param startTick Start tick
+		 * @param sampler   Tick sampler
+		 */
+		public SamplerState(double startTick, TickSampler sampler) {
+			this.nextTick = startTick;
+			this.sampler = sampler;
+		}
+
+	}
+
+}
\ No newline at end of file
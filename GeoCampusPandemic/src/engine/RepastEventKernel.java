@@ -0,0 +1,117 @@
+package engine;
+
+import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.engine.schedule.ISchedulableAction;
+import repast.simphony.engine.schedule.ISchedule;
+import repast.simphony.engine.schedule.ScheduleParameters;
+import repast.simphony.essentials.RepastEssentials;
+
+public class RepastEventKernel implements EventKernel {
+
+	/**
+	 * Get current tick
+	 */
+	@Override
+	public double getCurrentTick() {
+		return RepastEssentials.GetTickCount();
+	}
+
+	/**
+	 * Get the number of actions in the current Repast schedule
+	 */
+	@Override
+	public int getPendingEvents() {
+		return RunEnvironment.getInstance().getCurrentSchedule()
+				.getActionCount();
+	}
+
+	/**
+	 * Schedule one-time event in the current Repast schedule. Repast fires
+	 * the event's action.
+	 * 
+	 * @param startTime    Start tick
+	 * @param target       Target object
+	 * @param methodName   Method's name
+	 * @param methodParams Method's parameters
+	 */
+	@Override
+	public EventHandle scheduleOneTime(double startTime, Object target,
+			String methodName, Object... methodParams) {
+		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
+		ScheduleParameters params = ScheduleParameters.createOneTime(startTime);
+		EventAction action = new EventAction(target, methodName,
+				methodParams);
+		return new RepastEventHandle(schedule,
+				schedule.schedule(params, action, "execute"));
+	}
+
+	/**
+	 * Schedule recurring event in the current Repast schedule. Repast fires
+	 * the event's action.
+	 * 
+	 * @param startTime    Start tick
+	 * @param interval     Tick interval
+	 * @param target       Target object
+	 * @param methodName   Method's name
+	 * @param methodParams Method's parameters
+	 */
+	@Override
+	public EventHandle scheduleRecurring(double startTime, double interval,
+			Object target, String methodName, Object... methodParams) {
+		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
+		ScheduleParameters params = ScheduleParameters
+				.createRepeating(startTime, interval);
+		EventAction action = new EventAction(target, methodName,
+				methodParams);
+		return new RepastEventHandle(schedule,
+				schedule.schedule(params, action, "execute"));
+	}
+
+	/**
+	 * Apply an effect at once. Repast runs one action at a time.
+	 * 
+	 * @param effect Effect
+	 */
+	@Override
+	public void defer(Runnable effect) {
+		effect.run();
+	}
+
+	/**
+	 * Handle of an action in a Repast schedule
+	 */
+	private static class RepastEventHandle implements EventHandle {
+
+		/**
+		 * Schedule
+		 */
+		private ISchedule schedule;
+
+		/**
+		 * Scheduled action
+		 */
+		private ISchedulableAction action;
+
+		/**
+		 * Create a new handle
+		 * 
+		 * @param schedule Schedule
+		 * @param action   Scheduled action
+		 */
+		public RepastEventHandle(ISchedule schedule,
+				ISchedulableAction action) {
+			this.schedule = schedule;
+			this.action = action;
+		}
+
+		/**
+		 * Remove the action from the schedule
+		 */
+		@Override
+		public void cancel() {
+			this.schedule.removeAction(this.action);
+		}
+
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,21 @@
+package engine;
+
+public interface TickSampler {
+
+	/**
+	 * Sample the state at the end of a tick
+	 * 
+	 * @param tick Tick
+	 */
+	void sample(double tick);
+
+	/**
+	 * Repeat the last sample for every tick of a range (inclusive). The
+	 * state hasn't changed since the last sample.
+	 * 
+	 * @param fromTick First tick
+	 * @param toTick   Last tick
+	 */
+	void repeat(double fromTick, double toTick);
+
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package gis;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+
+public interface CampusGeography {
+
+	/**
+	 * Move an agent to a coordinate. The coordinate may be reused by the
+	 * caller afterwards.
+	 * 
+	 * @param agent       Agent
+	 * @param destination Destination coordinate
+	 */
+	void move(Object agent, Coordinate destination);
+
+	/**
+	 * Remove an agent from the spatial index. It is placed again by its next
+	 * move. Removing an absent agent does nothing.
+	 * 
+	 * @param agent Agent
+	 */
+	void remove(Object agent);
+
+	/**
+	 * Get the search envelope around an agent
+	 * 
+	 * @param agent    Agent
+	 * @param distance Search distance (unit: meters)
+	 */
+	Envelope getSearchEnvelope(Object agent, double distance);
+
+	/**
+	 * Get the objects of a class within an envelope
+	 * 
+	 * @param envelope Search envelope
+	 * @param clazz    Class of the objects
+	 */
+	<T> Iterable<T> getObjectsWithin(Envelope envelope, Class<T> clazz);
+
+}
\ No newline at end of file
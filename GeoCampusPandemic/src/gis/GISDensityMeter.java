@@ -2,11 +2,53 @@ package gis;
 
 public class GISDensityMeter extends GISPolygon {
 
+	/**
+	 * Ceiling height (unit: meters)
+	 */
+	public static final double CEILING_HEIGHT = 3.0;
+
+	/**
+	 * Removal rate of airborne quanta: ventilation, deposition and
+	 * inactivation (unit: 1/hours)
+	 */
+	public static final double REMOVAL_RATE = 3.0;
+
+	/**
+	 * Quanta emission rate of an infected occupant (unit: quanta/hour)
+	 */
+	public static final double QUANTA_EMISSION_RATE = 25.0;
+
+	/**
+	 * Breathing rate of an occupant (unit: cubic meters/hour)
+	 */
+	public static final double BREATHING_RATE = 0.52;
+
 	/**
 	 * Area
 	 */
 	private double area;
 
+	/**
+	 * Quanta emission rate of the occupants (unit: quanta/hour)
+	 */
+	private double emissionRate;
+
+	/**
+	 * Quanta concentration at the aerosol tick (unit: quanta/cubic meter)
+	 */
+	private double concentration;
+
+	/**
+	 * Concentration integrated up to the aerosol tick (unit: quanta
+	 * hours/cubic meter)
+	 */
+	private double cumulativeConcentration;
+
+	/**
+	 * Tick of the last emission change
+	 */
+	private double aerosolTick;
+
 	/**
 	 * Create a new geo-spatial density meter
 	 * 
@@ -35,4 +77,45 @@ public class GISDensityMeter extends GISPolygon {
 		return this.area;
 	}
 
+	/**
+	 * Add quanta emission. A negative rate withdraws it. The room is well
+	 * mixed and the concentration follows the closed-form solution between
+	 * emission changes, so nothing is updated per tick.
+	 * 
+	 * @param rate Emission rate (unit: quanta/hour)
+	 * @param tick Current tick
+	 */
+	public void addEmission(double rate, double tick) {
+		double elapsed = tick - this.aerosolTick;
+		double steady = getSteadyConcentration();
+		this.cumulativeConcentration = getCumulativeConcentration(tick);
+		this.concentration = steady + (this.concentration - steady)
+				* Math.exp(-REMOVAL_RATE * elapsed);
+		this.aerosolTick = tick;
+		this.emissionRate = Math.max(this.emissionRate + rate, 0);
+	}
+
+	/**
+	 * Get the concentration integrated up to a tick. The dose inhaled by an
+	 * occupant is the breathing rate times the difference between its
+	 * departure and its arrival.
+	 * 
+	 * @param tick Tick (unit: hours)
+	 */
+	public double getCumulativeConcentration(double tick) {
+		double elapsed = tick - this.aerosolTick;
+		double steady = getSteadyConcentration();
+		double decay = 1 - Math.exp(-REMOVAL_RATE * elapsed);
+		return this.cumulativeConcentration + steady * elapsed
+				+ (this.concentration - steady) * decay / REMOVAL_RATE;
+	}
+
+	/**
+	 * Get the steady-state concentration of the current emission
+	 */
+	private double getSteadyConcentration() {
+		double volume = this.area * CEILING_HEIGHT;
+		return this.emissionRate / (REMOVAL_RATE * volume);
+	}
+
 }
\ No newline at end of file
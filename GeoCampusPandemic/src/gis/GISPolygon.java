@@ -1,5 +1,9 @@
 package gis;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 import com.vividsolutions.jts.geom.Geometry;
 import repast.simphony.space.gis.Geography;
 
@@ -35,6 +39,11 @@ public class GISPolygon {
 	 */
 	protected Geometry geometry;
 
+	/**
+	 * Point sampler
+	 */
+	protected PolygonSampler sampler;
+
 	/**
 	 * Reference to geography projection
 	 */
@@ -50,6 +59,27 @@ public class GISPolygon {
 	 */
 	protected int effectiveContacts;
 
+	/**
+	 * Infectious load: infectiousness of the infectious agents in the
+	 * polygon
+	 */
+	protected double infectiousLoad;
+
+	/**
+	 * Infectious load accumulated up to the load tick (unit: ticks)
+	 */
+	protected double cumulativeLoad;
+
+	/**
+	 * Tick of the last infectious load change
+	 */
+	protected double loadTick;
+
+	/**
+	 * Agents in the polygon without a drawn position, in arrival order
+	 */
+	protected Set<Object> unplacedAgents;
+
 	/**
 	 * Create a new geo-spatial polygon
 	 * 
@@ -61,6 +91,7 @@ public class GISPolygon {
 		this.weight = weight;
 		this.active = active;
 		this.link = link;
+		this.unplacedAgents = new LinkedHashSet<>();
 	}
 
 	/**
@@ -72,10 +103,22 @@ public class GISPolygon {
 	public void setGeometryInGeography(Geography<Object> geography,
 			Geometry geometry) {
 		this.geography = geography;
-		this.geometry = geometry;
+		setGeometry(geometry);
 		this.geography.move(this, this.geometry);
 	}
 
+	/**
+	 * Set geometry. The polygon isn't placed in any geography projection.
+	 * 
+	 * @param geometry Reference to geometry
+	 */
+	public void setGeometry(Geometry geometry) {
+		if (this.sampler == null || this.geometry != geometry) {
+			this.sampler = new PolygonSampler(geometry);
+		}
+		this.geometry = geometry;
+	}
+
 	/**
 	 * Handle the 'onArrival' event
 	 */
@@ -111,6 +154,61 @@ public class GISPolygon {
 		return this.effectiveContacts;
 	}
 
+	/**
+	 * Add infectious load. A negative load withdraws it.
+	 * 
+	 * @param load Infectious load
+	 * @param tick Current tick
+	 */
+	public void addInfectiousLoad(double load, double tick) {
+		this.cumulativeLoad = getCumulativeLoad(tick);
+		this.loadTick = tick;
+		this.infectiousLoad = Math.max(this.infectiousLoad + load, 0);
+	}
+
+	/**
+	 * Get the infectious load accumulated up to a tick. The load shared by
+	 * an agent is the difference between its departure and its arrival.
+	 * 
+	 * @param tick Tick
+	 */
+	public double getCumulativeLoad(double tick) {
+		return this.cumulativeLoad
+				+ this.infectiousLoad * (tick - this.loadTick);
+	}
+
+	/**
+	 * Add an agent without a drawn position
+	 * 
+	 * @param agent Agent
+	 */
+	public void addUnplacedAgent(Object agent) {
+		this.unplacedAgents.add(agent);
+	}
+
+	/**
+	 * Remove an agent without a drawn position
+	 * 
+	 * @param agent Agent
+	 */
+	public void removeUnplacedAgent(Object agent) {
+		this.unplacedAgents.remove(agent);
+	}
+
+	/**
+	 * Count agents without a drawn position
+	 */
+	public int countUnplacedAgents() {
+		return this.unplacedAgents.size();
+	}
+
+	/**
+	 * Get a copy of the agents without a drawn position
+	 */
+	public List<Object> getUnplacedAgents() {
+		return new ArrayList<>(this.unplacedAgents);
+	}
+
 	/**
 	 * Set work weight
 	 * 
@@ -171,4 +269,11 @@ public class GISPolygon {
 		return this.geometry;
 	}
 
+	/**
+	 * Get point sampler
+	 */
+	public PolygonSampler getSampler() {
+		return this.sampler;
+	}
+
 }
\ No newline at end of file
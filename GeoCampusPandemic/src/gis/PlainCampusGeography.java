@@ -0,0 +1,197 @@
+package gis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+
+public class PlainCampusGeography implements CampusGeography {
+
+	/**
+	 * Meters per degree of latitude (mean Earth radius)
+	 */
+	public static final double METERS_PER_DEGREE = 111195.08;
+
+	/**
+	 * Cell size (unit: degrees)
+	 */
+	private double cellSize;
+
+	/**
+	 * Agent positions
+	 */
+	private Map<Object, Coordinate> positions;
+
+	/**
+	 * Agents by cell. Cells keep insertion order, so queries are
+	 * reproducible.
+	 */
+	private Map<Long, Set<Object>> cells;
+
+	/**
+	 * Search queries. Infectious agents query the grid concurrently under
+	 * parallel dispatch.
+	 */
+	private LongAdder queries;
+
+	/**
+	 * Create a new plain-coordinate campus geography. Agents are indexed in a
+	 * uniform grid of longitude-latitude cells.
+	 * 
+	 * @param cellSize Cell size (unit: meters)
+	 */
+	public PlainCampusGeography(double cellSize) {
+		this.cellSize = Math.max(cellSize, 1) / METERS_PER_DEGREE;
+		this.positions = new HashMap<>();
+		this.cells = new HashMap<>();
+		this.queries = new LongAdder();
+	}
+
+	/**
+	 * Move an agent to a coordinate
+	 * 
+	 * @param agent       Agent
+	 * @param destination Destination coordinate
+	 */
+	@Override
+	public void move(Object agent, Coordinate destination) {
+		long cell = getPointCellKey(destination.x, destination.y);
+		Coordinate position = this.positions.get(agent);
+		if (position == null) {
+			position = new Coordinate(destination.x, destination.y);
+			this.positions.put(agent, position);
+			this.cells.computeIfAbsent(cell, k -> new LinkedHashSet<>())
+					.add(agent);
+			return;
+		}
+		long previousCell = getPointCellKey(position.x, position.y);
+		if (previousCell != cell) {
+			Set<Object> previousAgents = this.cells.get(previousCell);
+			previousAgents.remove(agent);
+			if (previousAgents.isEmpty()) {
+				this.cells.remove(previousCell);
+			}
+			this.cells.computeIfAbsent(cell, k -> new LinkedHashSet<>())
+					.add(agent);
+		}
+		position.x = destination.x;
+		position.y = destination.y;
+	}
+
+	/**
+	 * Remove an agent from the grid. It is placed again by its next move.
+	 * 
+	 * @param agent Agent
+	 */
+	@Override
+	public void remove(Object agent) {
+		Coordinate position = this.positions.remove(agent);
+		if (position == null) {
+			return;
+		}
+		long cell = getPointCellKey(position.x, position.y);
+		Set<Object> agents = this.cells.get(cell);
+		agents.remove(agent);
+		if (agents.isEmpty()) {
+			this.cells.remove(cell);
+		}
+	}
+
+	/**
+	 * Count agents in the grid
+	 */
+	public int countAgents() {
+		return this.positions.size();
+	}
+
+	/**
+	 * Count search queries, i.e. search envelopes requested so far
+	 */
+	public long countQueries() {
+		return this.queries.sum();
+	}
+
+	/**
+	 * Get the search envelope around an agent. The distance is converted to
+	 * degrees at the agent's latitude.
+	 * 
+	 * @param agent    Agent
+	 * @param distance Search distance (unit: meters)
+	 */
+	@Override
+	public Envelope getSearchEnvelope(Object agent, double distance) {
+		this.queries.increment();
+		Coordinate position = this.positions.get(agent);
+		double dy = distance / METERS_PER_DEGREE;
+		double dx = dy / Math.cos(Math.toRadians(position.y));
+		return new Envelope(position.x - dx, position.x + dx, position.y - dy,
+				position.y + dy);
+	}
+
+	/**
+	 * Get the objects of a class within an envelope
+	 * 
+	 * @param envelope Search envelope
+	 * @param clazz    Class of the objects
+	 */
+	@Override
+	public <T> Iterable<T> getObjectsWithin(Envelope envelope,
+			Class<T> clazz) {
+		List<T> objects = new ArrayList<>();
+		int minColumn = getCellIndex(envelope.getMinX());
+		int maxColumn = getCellIndex(envelope.getMaxX());
+		int minRow = getCellIndex(envelope.getMinY());
+		int maxRow = getCellIndex(envelope.getMaxY());
+		for (int column = minColumn; column <= maxColumn; column++) {
+			for (int row = minRow; row <= maxRow; row++) {
+				Set<Object> agents = this.cells.get(getCellKey(column, row));
+				if (agents == null) {
+					continue;
+				}
+				for (Object agent : agents) {
+					Coordinate position = this.positions.get(agent);
+					if (clazz.isInstance(agent)
+							&& envelope.contains(position.x, position.y)) {
+						objects.add(clazz.cast(agent));
+					}
+				}
+			}
+		}
+		return objects;
+	}
+
+	/**
+	 * Get cell index of a coordinate
+	 * 
+	 * @param value Longitude or latitude
+	 */
+	private int getCellIndex(double value) {
+		return (int) Math.floor(value / this.cellSize);
+	}
+
+	/**
+	 * Get cell key of a point
+	 * 
+	 * @param x Longitude
+	 * @param y Latitude
+	 */
+	private long getPointCellKey(double x, double y) {
+		return getCellKey(getCellIndex(x), getCellIndex(y));
+	}
+
+	/**
+	 * Get cell key of a column and a row
+	 * 
+	 * @param column Column
+	 * @param row    Row
+	 */
+	private static long getCellKey(int column, int row) {
+		return ((long) column << 32) | (row & 0xFFFFFFFFL);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,176 @@
+package gis;
+
+import java.util.ArrayList;
+import java.util.List;
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import com.vividsolutions.jts.triangulate.ConformingDelaunayTriangulationBuilder;
+import cern.jet.random.engine.RandomEngine;
+
+public class PolygonSampler {
+
+	/**
+	 * Triangle vertices: ax, ay, bx, by, cx and cy of each triangle
+	 */
+	private double[] vertices;
+
+	/**
+	 * Alias table probabilities
+	 */
+	private double[] probabilities;
+
+	/**
+	 * Alias table aliases
+	 */
+	private int[] aliases;
+
+	/**
+	 * Create a new polygon sampler. The geometry is triangulated once and
+	 * the triangles are drawn from an area-weighted alias table.
+	 * 
+	 * @param geometry Polygon geometry
+	 */
+	public PolygonSampler(Geometry geometry) {
+		List<double[]> triangles = triangulate(geometry);
+		int n = triangles.size();
+		this.vertices = new double[n * 6];
+		double[] areas = new double[n];
+		for (int i = 0; i < n; i++) {
+			double[] triangle = triangles.get(i);
+			System.arraycopy(triangle, 0, this.vertices, i * 6, 6);
+			areas[i] = getArea(triangle);
+		}
+		buildAliasTable(areas);
+	}
+
+	/**
+	 * Sample a uniform point of the polygon. It takes three draws and no
+	 * retries.
+	 * 
+	 * @param random Random stream
+	 * @param target Coordinate to write the point into
+	 */
+	public void sample(RandomEngine random, Coordinate target) {
+		int n = this.probabilities.length;
+		double u = random.nextDouble() * n;
+		int column = Math.min((int) u, n - 1);
+		int triangle = u - column < this.probabilities[column] ? column
+				: this.aliases[column];
+		double r1 = random.nextDouble();
+		double r2 = random.nextDouble();
+		if (r1 + r2 > 1) {
+			r1 = 1 - r1;
+			r2 = 1 - r2;
+		}
+		int offset = triangle * 6;
+		double ax = this.vertices[offset];
+		double ay = this.vertices[offset + 1];
+		target.x = ax + r1 * (this.vertices[offset + 2] - ax)
+				+ r2 * (this.vertices[offset + 4] - ax);
+		target.y = ay + r1 * (this.vertices[offset + 3] - ay)
+				+ r2 * (this.vertices[offset + 5] - ay);
+	}
+
+	/**
+	 * Count triangles
+	 */
+	public int countTriangles() {
+		return this.probabilities.length;
+	}
+
+	/**
+	 * Triangulate a geometry. The conforming Delaunay triangulation covers
+	 * the convex hull, so triangles whose centroid is out of the geometry
+	 * are dropped. A degenerate geometry falls back to its interior point.
+	 * 
+	 * @param geometry Geometry
+	 */
+	private static List<double[]> triangulate(Geometry geometry) {
+		GeometryFactory geometryFactory = new GeometryFactory();
+		ConformingDelaunayTriangulationBuilder builder = new ConformingDelaunayTriangulationBuilder();
+		builder.setSites(geometry);
+		builder.setConstraints(geometry);
+		Geometry triangulation = builder.getTriangles(geometryFactory);
+		List<double[]> triangles = new ArrayList<>();
+		for (int i = 0; i < triangulation.getNumGeometries(); i++) {
+			Coordinate[] coordinates = triangulation.getGeometryN(i)
+					.getCoordinates();
+			double[] triangle = { coordinates[0].x, coordinates[0].y,
+					coordinates[1].x, coordinates[1].y, coordinates[2].x,
+					coordinates[2].y };
+			Coordinate centroid = new Coordinate(
+					(triangle[0] + triangle[2] + triangle[4]) / 3,
+					(triangle[1] + triangle[3] + triangle[5]) / 3);
+			if (getArea(triangle) > 0 && geometry
+					.contains(geometryFactory.createPoint(centroid))) {
+				triangles.add(triangle);
+			}
+		}
+		if (triangles.isEmpty()) {
+			Coordinate point = geometry.getInteriorPoint().getCoordinate();
+			triangles.add(new double[] { point.x, point.y, point.x, point.y,
+					point.x, point.y });
+		}
+		return triangles;
+	}
+
+	/**
+	 * Get the area of a triangle
+	 * 
+	 * @param triangle Triangle vertices
+	 */
+	private static double getArea(double[] triangle) {
+		double cross = (triangle[2] - triangle[0])
+				* (triangle[5] - triangle[1])
+				- (triangle[4] - triangle[0]) * (triangle[3] - triangle[1]);
+		return Math.abs(cross) / 2;
+	}
+
+	/**
+	 * Build the alias table of the triangles (Vose's method)
+	 * 
+	 * @param areas Triangle areas
+	 */
+	private void buildAliasTable(double[] areas) {
+		int n = areas.length;
+		this.probabilities = new double[n];
+		this.aliases = new int[n];
+		double totalArea = 0;
+		for (double area : areas) {
+			totalArea += area;
+		}
+		double[] scaled = new double[n];
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int smallCount = 0;
+		int largeCount = 0;
+		for (int i = 0; i < n; i++) {
+			scaled[i] = totalArea > 0 ? areas[i] * n / totalArea : 1;
+			if (scaled[i] < 1) {
+				small[smallCount++] = i;
+			} else {
+				large[largeCount++] = i;
+			}
+		}
+		while (smallCount > 0 && largeCount > 0) {
+			int less = small[--smallCount];
+			int more = large[--largeCount];
+			this.probabilities[less] = scaled[less];
+			this.aliases[less] = more;
+			scaled[more] = scaled[more] + scaled[less] - 1;
+			if (scaled[more] < 1) {
+				small[smallCount++] = more;
+			} else {
+				large[largeCount++] = more;
+			}
+		}
+		while (largeCount > 0) {
+			this.probabilities[large[--largeCount]] = 1;
+		}
+		while (smallCount > 0) {
+			this.probabilities[small[--smallCount]] = 1;
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package gis;
+
+import com.vividsolutions.jts.geom.Coordinate;
+import com.vividsolutions.jts.geom.Envelope;
+import com.vividsolutions.jts.geom.Geometry;
+import com.vividsolutions.jts.geom.GeometryFactory;
+import repast.simphony.gis.util.GeometryUtil;
+import repast.simphony.space.gis.Geography;
+
+public class RepastCampusGeography implements CampusGeography {
+
+	/**
+	 * Reference to geography projection
+	 */
+	private Geography<Object> geography;
+
+	/**
+	 * Geometry factory
+	 */
+	private GeometryFactory geometryFactory;
+
+	/**
+	 * Create a new campus geography backed by a Repast geography projection
+	 * 
+	 * @param geography Reference to geography projection
+	 */
+	public RepastCampusGeography(Geography<Object> geography) {
+		this.geography = geography;
+		this.geometryFactory = new GeometryFactory();
+	}
+
+	/**
+	 * Move an agent to a coordinate. The projection keeps the geometry, so
+	 * a new point is created.
+	 * 
+	 * @param agent       Agent
+	 * @param destination Destination coordinate
+	 */
+	@Override
+	public void move(Object agent, Coordinate destination) {
+		this.geography.move(agent, this.geometryFactory
+				.createPoint(new Coordinate(destination)));
+	}
+
+	/**
+	 * Remove an agent from the spatial index. It isn't supported: the Repast
+	 * projection only drops agents that leave the context, which would also
+	 * drop them from the data sets.
+	 * 
+	 * @param agent Agent
+	 */
+	@Override
+	public void remove(Object agent) {
+		throw new UnsupportedOperationException(
+				"Agents can't leave the Repast projection");
+	}
+
+	/**
+	 * Get the envelope of a buffer around an agent
+	 * 
+	 * @param agent    Agent
+	 * @param distance Search distance (unit: meters)
+	 */
+	@Override
+	public Envelope getSearchEnvelope(Object agent, double distance) {
+		Geometry searchArea = GeometryUtil.generateBuffer(this.geography,
+				this.geography.getGeometry(agent), distance);
+		return searchArea.getEnvelopeInternal();
+	}
+
+	/**
+	 * Get the objects of a class within an envelope
+	 * 
+	 * @param envelope Search envelope
+	 * @param clazz    Class of the objects
+	 */
+	@Override
+	public <T> Iterable<T> getObjectsWithin(Envelope envelope,
+			Class<T> clazz) {
+		return this.geography.getObjectsWithin(envelope, clazz);
+	}
+
+}
\ No newline at end of file
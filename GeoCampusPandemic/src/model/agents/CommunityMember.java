@@ -7,29 +7,32 @@ import java.util.Map;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultWeightedEdge;
+import com.vividsolutions.jts.geom.Coordinate;
 import com.vividsolutions.jts.geom.Envelope;
-import com.vividsolutions.jts.geom.Geometry;
-import com.vividsolutions.jts.geom.Point;
+import cern.jet.random.engine.RandomEngine;
 import config.SourceFeatures;
+import engine.EventHandle;
+import gis.CampusGeography;
 import gis.GISDensityMeter;
 import gis.GISPolygon;
+import model.disease.CommunityProcess;
 import model.disease.Compartment;
+import model.disease.ExposureModel;
 import model.disease.PatientType;
 import model.learning.LearningFactory;
 import model.learning.LearningMechanism;
-import model.learning.LearningStyle;
 import model.learning.SelectionStrategy;
+import model.util.AgentRandom;
+import model.util.RandomPurpose;
 import model.util.Randomizer;
-import repast.simphony.engine.environment.RunEnvironment;
-import repast.simphony.engine.schedule.ISchedulableAction;
-import repast.simphony.engine.schedule.ISchedule;
+import profiling.InfectionSweepEvent;
+import profiling.TransitionEvent;
+import profiling.TripEvent;
 import repast.simphony.engine.schedule.ScheduledMethod;
-import repast.simphony.essentials.RepastEssentials;
-import repast.simphony.gis.util.GeometryUtil;
 import simulation.EventScheduler;
-import simulation.ParametersAdapter;
+import simulation.RunConfiguration;
 import simulation.SimulationBuilder;
-import util.PolygonUtil;
+import util.Metrics;
 import util.TickConverter;
 
 public abstract class CommunityMember {
@@ -54,6 +57,12 @@ public abstract class CommunityMember {
 	 */
 	protected double incubationEnd;
 
+	/**
+	 * First particle expulsion tick. Expulsions recur from it while the
+	 * agent is infected and on campus.
+	 */
+	protected double expulsionStart;
+
 	/**
 	 * Learning mechanism
 	 */
@@ -70,6 +79,47 @@ public abstract class CommunityMember {
 	 */
 	protected GISPolygon currentPolygon;
 
+	/**
+	 * Position. It is reused by every relocation.
+	 */
+	protected Coordinate position;
+
+	/**
+	 * Pending position flag. The agent is in a transit polygon and its
+	 * position hasn't been drawn yet.
+	 */
+	protected boolean positionPending;
+
+	/**
+	 * Arrival tick to the current polygon
+	 */
+	protected double arrivalTick;
+
+	/**
+	 * Infectious load added to the load polygon
+	 */
+	protected double infectiousLoad;
+
+	/**
+	 * Polygon holding the agent's infectious load
+	 */
+	protected GISPolygon loadPolygon;
+
+	/**
+	 * Cumulative infectious load of the current polygon on arrival
+	 */
+	protected double exposureStart;
+
+	/**
+	 * Limbo where the agent counts as an infected member of the community
+	 */
+	protected GISPolygon communityPolygon;
+
+	/**
+	 * Cumulative community hazard of the current limbo on arrival
+	 */
+	protected double communityStart;
+
 	/**
 	 * Last exit
 	 */
@@ -80,10 +130,20 @@ public abstract class CommunityMember {
 	 */
 	protected SimulationBuilder simulationBuilder;
 
+	/**
+	 * Run configuration
+	 */
+	protected RunConfiguration configuration;
+
 	/**
 	 * Scheduled actions
 	 */
-	protected Map<SchedulableAction, List<ISchedulableAction>> scheduledActions;
+	protected Map<SchedulableAction, List<EventHandle>> scheduledActions;
+
+	/**
+	 * Agent's random streams
+	 */
+	protected AgentRandom random;
 
 	/**
 	 * Create a new community member agent
@@ -91,14 +151,20 @@ public abstract class CommunityMember {
 	 * @param simulationBuilder Reference to the simulation builder
 	 * @param compartment       Compartment
 	 * @param outbreakTick      Outbreak tick
+	 * @param random            Agent's random streams
 	 */
 	public CommunityMember(SimulationBuilder simulationBuilder,
-			Compartment compartment, double outbreakTick) {
+			Compartment compartment, double outbreakTick, AgentRandom random) {
 		this.simulationBuilder = simulationBuilder;
+		this.configuration = simulationBuilder.configuration;
 		this.compartment = compartment;
 		this.outbreakTick = outbreakTick;
-		this.isVehicleUser = Randomizer.getRandomVehicleUsage();
+		this.isVehicleUser = Randomizer.getRandomVehicleUsage(
+				this.configuration.getVehicleUsageRatio(),
+				random.get(RandomPurpose.ATTRIBUTES));
 		this.scheduledActions = new EnumMap<>(SchedulableAction.class);
+		this.random = random;
+		this.position = new Coordinate();
 	}
 
 	/**
@@ -137,7 +203,7 @@ public abstract class CommunityMember {
 	 * Go have lunch at a designated eating place
 	 */
 	public void haveLunch() {
-		SelectionStrategy selectionStrategy = ParametersAdapter
+		SelectionStrategy selectionStrategy = this.configuration
 				.getSelectionStrategy();
 		GISPolygon polygon = getRandomPolygon(
 				this.simulationBuilder.eatingPlaces, selectionStrategy);
@@ -148,14 +214,15 @@ public abstract class CommunityMember {
 	 * Transition to the exposed compartment
 	 */
 	public void transitionToExposed() {
-		this.compartment = Compartment.EXPOSED;
-		double incubationPeriod = Randomizer.getRandomIncubationPeriod();
+		setCompartment(Compartment.EXPOSED);
+		RandomEngine random = this.random.get(RandomPurpose.DISEASE);
+		double incubationPeriod = Randomizer.getRandomIncubationPeriod(random);
 		double infectiousPeriod = Math
 				.max(incubationPeriod + Randomizer.INFECTION_MIN, 1);
-		this.incubationEnd = RepastEssentials.GetTickCount()
+		EventScheduler eventScheduler = EventScheduler.getInstance();
+		this.incubationEnd = eventScheduler.getCurrentTick()
 				+ TickConverter.daysToTicks(incubationPeriod);
 		double ticks = TickConverter.daysToTicks(infectiousPeriod);
-		EventScheduler eventScheduler = EventScheduler.getInstance();
 		eventScheduler.scheduleOneTimeEvent(ticks, this,
 				"transitionToInfected");
 	}
@@ -164,22 +231,31 @@ public abstract class CommunityMember {
 	 * Transition to the infected compartment
 	 */
 	public void transitionToInfected() {
-		this.compartment = Compartment.INFECTED;
-		PatientType patientType = Randomizer.getRandomPatientType();
+		setCompartment(Compartment.INFECTED);
+		RandomEngine random = this.random.get(RandomPurpose.DISEASE);
+		PatientType patientType = Randomizer.getRandomPatientType(random);
 		// Schedule regular particle expulsion
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		double expulsionInterval = ParametersAdapter
-				.getParticleExpulsionInterval();
-		double expelInterval = TickConverter.minutesToTicks(expulsionInterval);
-		ISchedulableAction expelAction = eventScheduler.scheduleRecurringEvent(
-				1, this, expelInterval, "expelParticles");
-		List<ISchedulableAction> actions = new ArrayList<>();
-		actions.add(expelAction);
-		this.scheduledActions.put(SchedulableAction.EXPEL_PARTICLES, actions);
+		this.expulsionStart = eventScheduler.getCurrentTick() + 1;
+		if (isInCampus()) {
+			scheduleExpulsion();
+		}
+		if (isEventExposure() || isCommunityTransmission()) {
+			GISPolygon polygon = this.currentPolygon;
+			double tick = eventScheduler.getCurrentTick();
+			eventScheduler.defer(() -> {
+				if (isEventExposure()) {
+					enterExposure(polygon, tick);
+				}
+				if (isCommunityTransmission()) {
+					enterCommunity(polygon, tick);
+				}
+			});
+		}
 		// Schedule removal
-		boolean isDying = Randomizer.isGoingToDie(patientType);
+		boolean isDying = Randomizer.isGoingToDie(patientType, random);
 		String removalMethod = (isDying) ? "die" : "transitionToImmune";
-		double timeToDischarge = Randomizer.getRandomTimeToDischarge();
+		double timeToDischarge = Randomizer.getRandomTimeToDischarge(random);
 		double ticksToRemoval = TickConverter
 				.daysToTicks(timeToDischarge - Randomizer.INFECTION_MIN);
 		eventScheduler.scheduleOneTimeEvent(ticksToRemoval, this,
@@ -190,20 +266,33 @@ public abstract class CommunityMember {
 	 * Transition to the immune compartment
 	 */
 	public void transitionToImmune() {
-		this.compartment = Compartment.IMMUNE;
+		setCompartment(Compartment.IMMUNE);
 		unscheduleAction(SchedulableAction.EXPEL_PARTICLES);
+		withdrawLoad();
 	}
 
 	/**
 	 * Transition to the dead compartment
 	 */
 	public void die() {
-		this.compartment = Compartment.DEAD;
+		setCompartment(Compartment.DEAD);
 		unscheduleAction(SchedulableAction.ATTEND_ACTIVITY);
 		unscheduleAction(SchedulableAction.ARRIVE_CAMPUS);
 		unscheduleAction(SchedulableAction.RETURN_HOME);
 		unscheduleAction(SchedulableAction.HAVE_LUNCH);
 		unscheduleAction(SchedulableAction.EXPEL_PARTICLES);
+		withdrawLoad();
+		if (this.configuration.isDetachOffCampus()) {
+			GISPolygon polygon = this.currentPolygon;
+			boolean wasPending = this.positionPending;
+			this.positionPending = false;
+			EventScheduler.getInstance().defer(() -> {
+				if (wasPending) {
+					polygon.removeUnplacedAgent(this);
+				}
+				this.simulationBuilder.campusGeography.remove(this);
+			});
+		}
 	}
 
 	/**
@@ -224,21 +313,85 @@ public abstract class CommunityMember {
 	 * @param polygon Polygon to go to
 	 */
 	public void relocate(GISPolygon polygon) {
-		// Relocation
-		Point destination = PolygonUtil.getRandomPoint(polygon);
-		this.simulationBuilder.geography.move(this, destination);
-		this.currentPolygon.onDeparture();
+		GISPolygon previousPolygon = this.currentPolygon;
+		boolean wasInCampus = isInCampus();
+		boolean wasPending = this.positionPending;
 		this.currentPolygon = polygon;
-		this.currentPolygon.onArrival();
-		// Update learning
-		String currentLocation = polygon.getId();
-		if (this.learningMechanism.containsState(currentLocation)) {
-			GISDensityMeter densityMeter = (GISDensityMeter) this.currentPolygon;
-			double socialDistancing = ParametersAdapter.getSocialDistancing();
-			double density = densityMeter.measureDensity();
-			double reward = (1.0 / socialDistancing) - density;
-			this.learningMechanism.updateLearning(currentLocation, reward);
+		EventScheduler eventScheduler = EventScheduler.getInstance();
+		this.arrivalTick = eventScheduler.getCurrentTick();
+		if (Metrics.isEnabled()) {
+			Metrics.count("relocations",
+					this.simulationBuilder.getPolygonCategory(polygon));
+		}
+		// Relocation. The position is reused, so a deferred move lands on
+		// the latest relocation of the batch. Transit hops may leave it
+		// pending until a query needs it. Detached agents get no position.
+		Coordinate destination = this.position;
+		boolean isDetached = isDetached();
+		this.positionPending = !isDetached
+				&& this.configuration.isLazyPositions()
+				&& this.simulationBuilder.isTransitPolygon(polygon);
+		if (!this.positionPending && !isDetached) {
+			polygon.getSampler().sample(
+					this.random.get(RandomPurpose.POSITION), destination);
 		}
+		boolean isPending = this.positionPending;
+		boolean isPlaced = !isPending && !isDetached;
+		double tick = this.arrivalTick;
+		// Polygons and the geography are shared, so they change along with
+		// the deferred effects
+		eventScheduler.defer(() -> {
+			if (wasPending) {
+				previousPolygon.removeUnplacedAgent(this);
+			}
+			if (isPending) {
+				polygon.addUnplacedAgent(this);
+			}
+			if (isPlaced) {
+				this.simulationBuilder.campusGeography.move(this,
+						destination);
+			} else if (isDetached) {
+				this.simulationBuilder.campusGeography.remove(this);
+			}
+			if (isEventExposure()) {
+				leaveExposure(previousPolygon, tick);
+				enterExposure(polygon, tick);
+			}
+			if (isCommunityTransmission()) {
+				leaveCommunity(previousPolygon, tick);
+				enterCommunity(polygon, tick);
+			}
+			previousPolygon.onDeparture();
+			polygon.onArrival();
+			updateLearning(polygon);
+		});
+		// Particle expulsion only matters on campus
+		if (this.compartment == Compartment.INFECTED
+				&& wasInCampus != isInCampus()) {
+			if (wasInCampus) {
+				unscheduleAction(SchedulableAction.EXPEL_PARTICLES);
+			} else {
+				scheduleExpulsion();
+			}
+		}
+	}
+
+	/**
+	 * Get position. A pending position is drawn and placed in the geography
+	 * first.
+	 */
+	public Coordinate getPosition() {
+		if (this.positionPending) {
+			placePosition();
+		}
+		return this.position;
+	}
+
+	/**
+	 * Get arrival tick to the current polygon
+	 */
+	public double getArrivalTick() {
+		return this.arrivalTick;
 	}
 
 	/**
@@ -342,10 +495,12 @@ public abstract class CommunityMember {
 			}
 			break;
 		case WEIGHT_BASED:
-			selectedPolygon = Randomizer.getRandomPolygonWeightBased(polygons);
+			selectedPolygon = Randomizer.getRandomPolygonWeightBased(polygons,
+					this.random.get(RandomPurpose.MOBILITY));
 			break;
 		default:
-			selectedPolygon = Randomizer.getRandomPolygon(polygons);
+			selectedPolygon = Randomizer.getRandomPolygon(polygons,
+					this.random.get(RandomPurpose.MOBILITY));
 			break;
 		}
 		return selectedPolygon;
@@ -360,6 +515,8 @@ public abstract class CommunityMember {
 	 * @param method  Method to call after arriving to polygon
 	 */
 	protected void moveToPolygon(GISPolygon polygon, String method) {
+		TripEvent tripEvent = new TripEvent();
+		tripEvent.begin();
 		String source = this.currentPolygon.getId();
 		String sink = polygon.getId();
 		// Get shortest paths
@@ -369,10 +526,12 @@ public abstract class CommunityMember {
 		GraphPath<String, DefaultWeightedEdge> path = shortestPaths.get(pathId);
 		List<String> vertexes = path.getVertexList();
 		List<DefaultWeightedEdge> edges = path.getEdgeList();
+		Metrics.record("pathLength", edges.size());
 		// Schedule relocations
 		EventScheduler eventScheduler = EventScheduler.getInstance();
 		double totalTime = 0.0;
-		double speed = Randomizer.getRandomWalkingSpeed();
+		double speed = Randomizer
+				.getRandomWalkingSpeed(this.random.get(RandomPurpose.MOBILITY));
 		for (int i = 0; i < vertexes.size() - 1; i++) {
 			String id = vertexes.get(i + 1);
 			GISPolygon nextPolygon = this.simulationBuilder.getPolygonById(id);
@@ -390,6 +549,13 @@ public abstract class CommunityMember {
 			double ticks = TickConverter.minutesToTicks(totalTime);
 			eventScheduler.scheduleOneTimeEvent(ticks, this, method);
 		}
+		if (tripEvent.shouldCommit()) {
+			tripEvent.origin = source;
+			tripEvent.destination = sink;
+			tripEvent.hops = edges.size();
+			tripEvent.pathLength = path.getWeight();
+			tripEvent.commit();
+		}
 	}
 
 	/**
@@ -408,9 +574,9 @@ public abstract class CommunityMember {
 	 * Initialize learning
 	 */
 	private void initLearning() {
-		LearningStyle learningStyle = ParametersAdapter.getLearningStyle();
 		this.learningMechanism = LearningFactory.makeLearningMechanism(
-				learningStyle, this.simulationBuilder.teachingFacilities,
+				this.configuration, this.random.get(RandomPurpose.LEARNING),
+				this.simulationBuilder.teachingFacilities,
 				this.simulationBuilder.sharedAreas,
 				this.simulationBuilder.eatingPlaces);
 	}
@@ -426,36 +592,359 @@ public abstract class CommunityMember {
 	}
 
 	/**
-	 * Infect nearby susceptible individuals
+	 * Infect nearby susceptible individuals. Placing pending positions moves
+	 * agents in the shared geography, so with lazy positions the sweep runs
+	 * along with the deferred effects.
 	 */
 	private void infect() {
-		double distance = ParametersAdapter.getInfectionRadius();
-		Geometry searchArea = GeometryUtil.generateBuffer(
-				this.simulationBuilder.geography,
-				this.simulationBuilder.geography.getGeometry(this), distance);
-		Envelope searchEnvelope = searchArea.getEnvelopeInternal();
-		Iterable<Student> students = this.simulationBuilder.geography
+		if (this.configuration.isLazyPositions()) {
+			EventScheduler.getInstance().defer(this::sweepNearby);
+		} else {
+			sweepNearby();
+		}
+	}
+
+	/**
+	 * Query the agents within the infection radius and expose them
+	 */
+	private void sweepNearby() {
+		double distance = this.configuration.getInfectionRadius();
+		CampusGeography campusGeography = this.simulationBuilder.campusGeography;
+		if (this.configuration.isLazyPositions()) {
+			getPosition();
+		}
+		InfectionSweepEvent sweepEvent = new InfectionSweepEvent();
+		sweepEvent.begin();
+		Envelope searchEnvelope = campusGeography.getSearchEnvelope(this,
+				distance);
+		Metrics.count("infectionQueries");
+		if (this.configuration.isLazyPositions()) {
+			placeNearbyPositions(searchEnvelope);
+		}
+		Iterable<Student> students = campusGeography
 				.getObjectsWithin(searchEnvelope, Student.class);
-		double incubationDiff = RepastEssentials.GetTickCount()
+		Iterable<Staffer> staffers = campusGeography
+				.getObjectsWithin(searchEnvelope, Staffer.class);
+		double incubationDiff = EventScheduler.getInstance().getCurrentTick()
 				- this.incubationEnd;
-		for (Student student : students) {
-			if (student.compartment == Compartment.SUSCEPTIBLE
-					&& Randomizer.isGettingExposed(incubationDiff)) {
-				student.transitionToExposed();
-				student.currentPolygon.onEffectiveContact();
+		// The sweep event times the query, since exposure may be deferred
+		// to the end of a parallel batch
+		sweepEvent.end();
+		GISPolygon polygon = this.currentPolygon;
+		EventScheduler.getInstance().defer(() -> {
+			long candidates = expose(students, incubationDiff)
+					+ expose(staffers, incubationDiff);
+			Metrics.record("infectionCandidates", candidates);
+			if (sweepEvent.shouldCommit()) {
+				sweepEvent.polygon = polygon.getId();
+				sweepEvent.candidates = candidates;
+				sweepEvent.commit();
+			}
+		});
+	}
+
+	/**
+	 * Expose nearby susceptible individuals. It returns the number of
+	 * candidates tested.
+	 * 
+	 * @param members        Nearby community members
+	 * @param incubationDiff Incubation difference
+	 */
+	private long expose(Iterable<? extends CommunityMember> members,
+			double incubationDiff) {
+		RandomEngine random = this.random.get(RandomPurpose.EXPOSURE);
+		long candidates = 0;
+		for (CommunityMember member : members) {
+			candidates++;
+			// A pending agent was found at a stale position
+			if (member.positionPending) {
+				continue;
+			}
+			if (member.compartment == Compartment.SUSCEPTIBLE
+					&& Randomizer.isGettingExposed(incubationDiff, random)) {
+				member.transitionToExposed();
+				member.currentPolygon.onEffectiveContact();
 			}
 		}
-		Iterable<Staffer> staffers = this.simulationBuilder.geography
-				.getObjectsWithin(searchEnvelope, Staffer.class);
-		for (Staffer staffer : staffers) {
-			if (staffer.compartment == Compartment.SUSCEPTIBLE
-					&& Randomizer.isGettingExposed(incubationDiff)) {
-				staffer.transitionToExposed();
-				staffer.currentPolygon.onEffectiveContact();
+		return candidates;
+	}
+
+	/**
+	 * Set compartment and emit the transition event
+	 * 
+	 * @param compartment Compartment
+	 */
+	private void setCompartment(Compartment compartment) {
+		TransitionEvent.emit(getClass().getSimpleName(),
+				this.compartment.name(), compartment.name(),
+				EventScheduler.getInstance().getCurrentTick());
+		this.compartment = compartment;
+	}
+
+	/**
+	 * Is detached from the geography? Off-campus and dead agents are
+	 * detached if the option is enabled.
+	 */
+	private boolean isDetached() {
+		return this.configuration.isDetachOffCampus() && (!isInCampus()
+				|| this.compartment == Compartment.DEAD);
+	}
+
+	/**
+	 * Draw the position of the agent in its transit polygon and place it in
+	 * the geography
+	 */
+	private void placePosition() {
+		this.currentPolygon.getSampler()
+				.sample(this.random.get(RandomPurpose.POSITION), this.position);
+		this.simulationBuilder.campusGeography.move(this, this.position);
+		this.currentPolygon.removeUnplacedAgent(this);
+		this.positionPending = false;
+	}
+
+	/**
+	 * Place the pending positions of the transit polygons that intersect an
+	 * envelope. Under parallel dispatch an agent may have left a transit
+	 * polygon whose set still holds it until its deferred effects run, so
+	 * only agents whose position is still pending are placed.
+	 * 
+	 * @param envelope Search envelope
+	 */
+	private void placeNearbyPositions(Envelope envelope) {
+		for (GISPolygon polygon : this.simulationBuilder
+				.getTransitPolygons()) {
+			if (polygon.countUnplacedAgents() == 0 || !envelope
+					.intersects(polygon.getGeometry().getEnvelopeInternal())) {
+				continue;
+			}
+			for (Object agent : polygon.getUnplacedAgents()) {
+				CommunityMember member = (CommunityMember) agent;
+				if (member.positionPending) {
+					member.placePosition();
+				}
 			}
 		}
 	}
 
+	/**
+	 * Is exposure driven by occupancy events? The overlap and the aerosol
+	 * models update on arrivals, departures and compartment changes.
+	 */
+	private boolean isEventExposure() {
+		return this.configuration
+				.getExposureModel() != ExposureModel.PROXIMITY;
+	}
+
+	/**
+	 * Enter the exposure ledger of a polygon. An infected agent adds its
+	 * load, and a susceptible agent records the exposure accumulated so far.
+	 * 
+	 * @param polygon Polygon
+	 * @param tick    Arrival tick
+	 */
+	private void enterExposure(GISPolygon polygon, double tick) {
+		if (!hasExposureLedger(polygon)) {
+			return;
+		}
+		if (this.compartment == Compartment.INFECTED) {
+			double infectiousness = Randomizer
+					.getInfectiousness(tick - this.incubationEnd);
+			if (infectiousness > 0) {
+				double load = isAerosolExposure()
+						? GISDensityMeter.QUANTA_EMISSION_RATE
+						: infectiousness;
+				addLoad(polygon, load, tick);
+				this.infectiousLoad = load;
+				this.loadPolygon = polygon;
+			}
+		} else if (this.compartment == Compartment.SUSCEPTIBLE) {
+			this.exposureStart = getCumulativeExposure(polygon, tick);
+		}
+	}
+
+	/**
+	 * Leave the exposure ledger of a polygon. An infected agent withdraws
+	 * its load, and a susceptible agent is exposed to the dose it took in
+	 * since its arrival.
+	 * 
+	 * @param polygon Polygon
+	 * @param tick    Departure tick
+	 */
+	private void leaveExposure(GISPolygon polygon, double tick) {
+		if (this.loadPolygon == polygon) {
+			addLoad(polygon, -this.infectiousLoad, tick);
+			this.infectiousLoad = 0;
+			this.loadPolygon = null;
+		}
+		if (this.compartment != Compartment.SUSCEPTIBLE
+				|| !hasExposureLedger(polygon)) {
+			return;
+		}
+		double exposure = getCumulativeExposure(polygon, tick)
+				- this.exposureStart;
+		double dose = 0;
+		if (isAerosolExposure()) {
+			dose = GISDensityMeter.BREATHING_RATE * exposure;
+		} else {
+			// An expulsion interval of shared load is one contact of the
+			// proximity model
+			dose = TickConverter.ticksToMinutes(exposure)
+					/ this.configuration.getParticleExpulsionInterval();
+		}
+		if (dose > 0 && Randomizer.isGettingExposedByDose(dose,
+				this.random.get(RandomPurpose.EXPOSURE))) {
+			transitionToExposed();
+			polygon.onEffectiveContact();
+		}
+	}
+
+	/**
+	 * Withdraw the infectious load from the load polygon and the community,
+	 * if any
+	 */
+	private void withdrawLoad() {
+		if (!isEventExposure() && !isCommunityTransmission()) {
+			return;
+		}
+		EventScheduler eventScheduler = EventScheduler.getInstance();
+		double tick = eventScheduler.getCurrentTick();
+		eventScheduler.defer(() -> {
+			if (this.loadPolygon != null) {
+				leaveExposure(this.loadPolygon, tick);
+			}
+			if (this.communityPolygon != null) {
+				leaveCommunity(this.communityPolygon, tick);
+			}
+		});
+	}
+
+	/**
+	 * Is community transmission in the limbos enabled?
+	 */
+	private boolean isCommunityTransmission() {
+		return this.configuration.isCommunityTransmission();
+	}
+
+	/**
+	 * Enter the community process of a limbo. An infected agent feeds the
+	 * community, and a susceptible agent records the hazard accumulated so
+	 * far.
+	 * 
+	 * @param polygon Polygon
+	 * @param tick    Arrival tick
+	 */
+	private void enterCommunity(GISPolygon polygon, double tick) {
+		CommunityProcess community = this.simulationBuilder
+				.getCommunity(polygon);
+		if (community == null) {
+			return;
+		}
+		if (this.compartment == Compartment.INFECTED) {
+			community.addCampusInfected(1, tick);
+			this.communityPolygon = polygon;
+		} else if (this.compartment == Compartment.SUSCEPTIBLE) {
+			this.communityStart = community.getCumulativeHazard(tick);
+		}
+	}
+
+	/**
+	 * Leave the community process of a limbo. An infected agent stops
+	 * feeding the community, and a susceptible agent is exposed to the
+	 * hazard it accumulated since its arrival.
+	 * 
+	 * @param polygon Polygon
+	 * @param tick    Departure tick
+	 */
+	private void leaveCommunity(GISPolygon polygon, double tick) {
+		CommunityProcess community = this.simulationBuilder
+				.getCommunity(polygon);
+		if (community == null) {
+			return;
+		}
+		if (this.communityPolygon == polygon) {
+			community.addCampusInfected(-1, tick);
+			this.communityPolygon = null;
+		}
+		if (this.compartment != Compartment.SUSCEPTIBLE) {
+			return;
+		}
+		double hazard = community.getCumulativeHazard(tick)
+				- this.communityStart;
+		if (hazard > 0 && Randomizer.isGettingExposedByDose(hazard,
+				this.random.get(RandomPurpose.EXPOSURE))) {
+			transitionToExposed();
+		}
+	}
+
+	/**
+	 * Is exposure driven by room aerosol concentration?
+	 */
+	private boolean isAerosolExposure() {
+		return this.configuration
+				.getExposureModel() == ExposureModel.AEROSOL;
+	}
+
+	/**
+	 * Has the polygon an exposure ledger? Limbos have none, and the aerosol
+	 * model only covers the density meters, whose area is known.
+	 * 
+	 * @param polygon Polygon
+	 */
+	private boolean hasExposureLedger(GISPolygon polygon) {
+		if (this.simulationBuilder.isLimbo(polygon)) {
+			return false;
+		}
+		return !isAerosolExposure() || polygon instanceof GISDensityMeter;
+	}
+
+	/**
+	 * Add load to the exposure ledger of a polygon: infectiousness for the
+	 * overlap model, emitted quanta for the aerosol model
+	 * 
+	 * @param polygon Polygon
+	 * @param load    Load. A negative load withdraws it.
+	 * @param tick    Current tick
+	 */
+	private void addLoad(GISPolygon polygon, double load, double tick) {
+		if (isAerosolExposure()) {
+			((GISDensityMeter) polygon).addEmission(load, tick);
+		} else {
+			polygon.addInfectiousLoad(load, tick);
+		}
+	}
+
+	/**
+	 * Get the cumulative exposure of a polygon up to a tick
+	 * 
+	 * @param polygon Polygon
+	 * @param tick    Tick
+	 */
+	private double getCumulativeExposure(GISPolygon polygon, double tick) {
+		if (isAerosolExposure()) {
+			return ((GISDensityMeter) polygon)
+					.getCumulativeConcentration(tick);
+		}
+		return polygon.getCumulativeLoad(tick);
+	}
+
+	/**
+	 * Update learning after arriving to a polygon
+	 * 
+	 * @param polygon Polygon
+	 */
+	private void updateLearning(GISPolygon polygon) {
+		String currentLocation = polygon.getId();
+		if (this.learningMechanism.containsState(currentLocation)) {
+			GISDensityMeter densityMeter = (GISDensityMeter) polygon;
+			double socialDistancing = this.configuration
+					.getSocialDistancing();
+			double density = densityMeter.measureDensity();
+			double reward = (1.0 / socialDistancing) - density;
+			this.learningMechanism.updateLearning(currentLocation, reward);
+			Metrics.count("learningUpdates");
+		}
+	}
+
 	/**
 	 * Get random in-out spot
 	 */
@@ -475,12 +964,43 @@ public abstract class CommunityMember {
 	 * @param schedulableAction Action to unschedule
 	 */
 	private void unscheduleAction(SchedulableAction schedulableAction) {
-		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
-		for (ISchedulableAction action : this.scheduledActions
-				.get(schedulableAction)) {
-			schedule.removeAction(action);
+		List<EventHandle> actions = this.scheduledActions
+				.remove(schedulableAction);
+		if (actions == null) {
+			return;
+		}
+		EventScheduler eventScheduler = EventScheduler.getInstance();
+		for (EventHandle action : actions) {
+			eventScheduler.unscheduleEvent(action);
+		}
+	}
+
+	/**
+	 * Schedule regular particle expulsion from the next expulsion tick. The
+	 * expulsions keep their phase across campus visits, so suspending them
+	 * off campus doesn't move the on-campus ones. Event-driven exposure
+	 * needs no expulsions.
+	 */
+	private void scheduleExpulsion() {
+		if (isEventExposure()) {
+			return;
 		}
-		this.scheduledActions.remove(schedulableAction);
+		EventScheduler eventScheduler = EventScheduler.getInstance();
+		double expulsionInterval = this.configuration
+				.getParticleExpulsionInterval();
+		double expelInterval = TickConverter.minutesToTicks(expulsionInterval);
+		double tick = eventScheduler.getCurrentTick();
+		double nextExpulsion = this.expulsionStart;
+		if (nextExpulsion <= tick) {
+			double periods = Math
+					.floor((tick - this.expulsionStart) / expelInterval) + 1;
+			nextExpulsion = this.expulsionStart + periods * expelInterval;
+		}
+		EventHandle expelAction = eventScheduler.scheduleRecurringEvent(
+				nextExpulsion - tick, this, expelInterval, "expelParticles");
+		List<EventHandle> actions = new ArrayList<>();
+		actions.add(expelAction);
+		this.scheduledActions.put(SchedulableAction.EXPEL_PARTICLES, actions);
 	}
 
 }
\ No newline at end of file
@@ -57,7 +57,8 @@ public class Group {
 
 	/**
 	 * Enroll a student in the group. It returns false if the enrollment wasn't
-	 * possible and true otherwise.
+	 * possible and true otherwise. Seats are reserved on a single thread, in
+	 * order of student index.
 	 */
 	public boolean enroll() {
 		boolean enrolled = false;
@@ -82,6 +83,13 @@ public class Group {
 		return this.capacity;
 	}
 
+	/**
+	 * Get enrollments count
+	 */
+	public int getEnrollmentsCount() {
+		return this.enrollmentsCount;
+	}
+
 	/**
 	 * Get list of academic activities
 	 */
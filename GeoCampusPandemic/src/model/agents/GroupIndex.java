@@ -0,0 +1,64 @@
+package model.agents;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class GroupIndex {
+
+	/**
+	 * Groups sorted by id
+	 */
+	private Group[] groups;
+
+	/**
+	 * Position of every group id in the sorted array
+	 */
+	private Map<String, Integer> indexes;
+
+	/**
+	 * Create a new group index. Groups are sorted by id so that indexes don't
+	 * depend on the iteration order of the source map.
+	 * 
+	 * @param groups Groups by id
+	 */
+	public GroupIndex(Map<String, Group> groups) {
+		List<String> ids = new ArrayList<>(groups.keySet());
+		ids.sort(null);
+		this.groups = new Group[ids.size()];
+		this.indexes = new HashMap<>();
+		for (int i = 0; i < ids.size(); i++) {
+			String id = ids.get(i);
+			this.groups[i] = groups.get(id);
+			this.indexes.put(id, i);
+		}
+	}
+
+	/**
+	 * Get the index of a group. It returns -1 if the group doesn't exist.
+	 * 
+	 * @param id Group id
+	 */
+	public int indexOf(String id) {
+		Integer index = this.indexes.get(id);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Get group by index
+	 * 
+	 * @param index Group index
+	 */
+	public Group get(int index) {
+		return this.groups[index];
+	}
+
+	/**
+	 * Get group count
+	 */
+	public int size() {
+		return this.groups.length;
+	}
+
+}
\ No newline at end of file
@@ -2,10 +2,13 @@ package model.agents;
 
 import java.util.ArrayList;
 import java.util.List;
+import cern.jet.random.engine.RandomEngine;
+import engine.EventHandle;
 import gis.GISPolygon;
 import model.disease.Compartment;
+import model.util.AgentRandom;
+import model.util.RandomPurpose;
 import model.util.Randomizer;
-import repast.simphony.engine.schedule.ISchedulableAction;
 import simulation.EventScheduler;
 import simulation.SimulationBuilder;
 import util.TickConverter;
@@ -33,13 +36,15 @@ public class Staffer extends CommunityMember {
 	 * @param contextBuilder Reference to the simulation builder
 	 * @param compartment    Compartment
 	 * @param outbreakTick   Outbreak tick
+	 * @param random         Agent's random streams
 	 */
 	public Staffer(SimulationBuilder contextBuilder, Compartment compartment,
-			double outbreakTick) {
-		super(contextBuilder, compartment, outbreakTick);
+			double outbreakTick, AgentRandom random) {
+		super(contextBuilder, compartment, outbreakTick, random);
+		RandomEngine attributes = random.get(RandomPurpose.ATTRIBUTES);
 		this.workplace = Randomizer.getRandomPolygonWorkWeightBased(
-				this.simulationBuilder.workplaces);
-		this.workStartTime = Randomizer.getRandomStafferArrivalTime();
+				this.simulationBuilder.workplaces, attributes);
+		this.workStartTime = Randomizer.getRandomStafferArrivalTime(attributes);
 	}
 
 	/**
@@ -55,11 +60,11 @@ public class Staffer extends CommunityMember {
 	@Override
 	protected void scheduleActivities() {
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		List<ISchedulableAction> actions = new ArrayList<>();
+		List<EventHandle> actions = new ArrayList<>();
 		for (int i = 1; i <= WEEKDAYS; i++) {
 			double ticksToEvent = TickConverter.dayTimeToTicks(i,
 					this.workStartTime);
-			ISchedulableAction workAction = eventScheduler
+			EventHandle workAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "work");
 			actions.add(workAction);
@@ -73,12 +78,13 @@ public class Staffer extends CommunityMember {
 	@Override
 	protected void scheduleArrivals() {
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		List<ISchedulableAction> actions = new ArrayList<>();
+		RandomEngine random = this.random.get(RandomPurpose.SCHEDULE);
+		List<EventHandle> actions = new ArrayList<>();
 		for (int i = 1; i <= WEEKDAYS; i++) {
-			double arrivalTime = Randomizer.getRandomStafferArrivalTime();
+			double arrivalTime = Randomizer.getRandomStafferArrivalTime(random);
 			double startTime = Math.min(arrivalTime, this.workStartTime - 1);
 			double ticksToEvent = TickConverter.dayTimeToTicks(i, startTime);
-			ISchedulableAction arriveCampusAction = eventScheduler
+			EventHandle arriveCampusAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "haveLunch");
 			actions.add(arriveCampusAction);
@@ -92,11 +98,12 @@ public class Staffer extends CommunityMember {
 	@Override
 	protected void scheduleDepartures() {
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		List<ISchedulableAction> actions = new ArrayList<>();
+		RandomEngine random = this.random.get(RandomPurpose.SCHEDULE);
+		List<EventHandle> actions = new ArrayList<>();
 		for (int i = 1; i <= WEEKDAYS; i++) {
-			double endTime = Randomizer.getRandomStafferDepartureTime();
+			double endTime = Randomizer.getRandomStafferDepartureTime(random);
 			double ticksToEvent = TickConverter.dayTimeToTicks(i, endTime);
-			ISchedulableAction returnHomeAction = eventScheduler
+			EventHandle returnHomeAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "returnHome");
 			actions.add(returnHomeAction);
@@ -110,17 +117,18 @@ public class Staffer extends CommunityMember {
 	@Override
 	protected void scheduleLunch() {
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		List<ISchedulableAction> actions = new ArrayList<>();
+		RandomEngine random = this.random.get(RandomPurpose.SCHEDULE);
+		List<EventHandle> actions = new ArrayList<>();
 		for (int i = 1; i <= WEEKDAYS; i++) {
-			double lunchTime = Randomizer.getRandomLunchTime();
-			double lunchDuration = Randomizer.getRandomLunchDuration();
+			double lunchTime = Randomizer.getRandomLunchTime(random);
+			double lunchDuration = Randomizer.getRandomLunchDuration(random);
 			double ticksToEvent = TickConverter.dayTimeToTicks(i, lunchTime);
-			ISchedulableAction haveLunchAction = eventScheduler
+			EventHandle haveLunchAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "haveLunch");
 			actions.add(haveLunchAction);
 			ticksToEvent += lunchDuration;
-			ISchedulableAction workAction = eventScheduler
+			EventHandle workAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "work");
 			actions.add(workAction);
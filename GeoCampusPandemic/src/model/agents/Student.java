@@ -4,16 +4,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import cern.jet.random.engine.RandomEngine;
+import engine.EventHandle;
 import gis.GISPolygon;
 import model.disease.Compartment;
 import model.learning.SelectionStrategy;
+import model.util.AgentRandom;
 import model.util.Heuristics;
+import model.util.RandomPurpose;
 import model.util.Randomizer;
-import repast.simphony.engine.schedule.ISchedulableAction;
-import repast.simphony.essentials.RepastEssentials;
 import repast.simphony.util.collections.Pair;
 import simulation.EventScheduler;
-import simulation.ParametersAdapter;
 import simulation.SimulationBuilder;
 import util.TickConverter;
 
@@ -51,10 +52,11 @@ public class Student extends CommunityMember {
 	 * @param comparment     Compartment
 	 * @param id             Student id
 	 * @param outbreakTick   Outbreak tick
+	 * @param random         Agent's random streams
 	 */
 	public Student(SimulationBuilder contextBuilder, Compartment compartment,
-			String id, double outbreakTick) {
-		super(contextBuilder, compartment, outbreakTick);
+			String id, double outbreakTick, AgentRandom random) {
+		super(contextBuilder, compartment, outbreakTick, random);
 		this.id = id;
 		this.scheduledDepartures = new HashMap<>();
 	}
@@ -86,7 +88,7 @@ public class Student extends CommunityMember {
 	 * to go there. In the other case, the student goes to have fun.
 	 */
 	public void leaveActivity() {
-		double ticks = RepastEssentials.GetTickCount();
+		double ticks = EventScheduler.getInstance().getCurrentTick();
 		Pair<Integer, Double> dayTime = TickConverter.ticksToDayTime(ticks);
 		int day = dayTime.getFirst();
 		double hour = dayTime.getSecond();
@@ -107,15 +109,14 @@ public class Student extends CommunityMember {
 	 */
 	public void haveFun() {
 		// Walk to shared area
-		Map<String, GISPolygon> places = this.simulationBuilder.sharedAreas;
-		places.putAll(this.simulationBuilder.eatingPlaces);
-		SelectionStrategy selectionStrategy = ParametersAdapter
+		Map<String, GISPolygon> places = this.simulationBuilder.funPlaces;
+		SelectionStrategy selectionStrategy = this.configuration
 				.getSelectionStrategy();
 		GISPolygon polygon = getRandomPolygon(places, selectionStrategy);
 		moveToPolygon(polygon, "");
 		// Schedule having fun in another place
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		double ticks = RepastEssentials.GetTickCount();
+		double ticks = EventScheduler.getInstance().getCurrentTick();
 		Pair<Integer, Double> dayTime = TickConverter.ticksToDayTime(ticks);
 		int day = dayTime.getFirst();
 		double hour = dayTime.getSecond();
@@ -149,23 +150,24 @@ public class Student extends CommunityMember {
 	@Override
 	protected void scheduleActivities() {
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		List<ISchedulableAction> actions = new ArrayList<>();
+		RandomEngine random = this.random.get(RandomPurpose.SCHEDULE);
+		List<EventHandle> actions = new ArrayList<>();
 		for (Group group : this.schedule.getGroups()) {
 			for (AcademicActivity activity : group.getAcademicActivities()) {
 				int day = activity.getDay();
-				double arrivalShift = Randomizer.getRandomArrivalShift();
+				double arrivalShift = Randomizer.getRandomArrivalShift(random);
 				double startTime = activity.getStartTime() - arrivalShift;
 				String teachingFacilityId = activity.getTeachingFacilityId();
 				double ticksToEvent = TickConverter.dayTimeToTicks(day,
 						startTime);
-				ISchedulableAction attendActivityAction = eventScheduler
+				EventHandle attendActivityAction = eventScheduler
 						.scheduleRecurringEvent(ticksToEvent, this,
 								TickConverter.TICKS_PER_WEEK, "attendActivity",
 								teachingFacilityId);
 				actions.add(attendActivityAction);
 				double endTime = activity.getEndTime();
 				ticksToEvent = TickConverter.dayTimeToTicks(day, endTime);
-				ISchedulableAction leaveActivityAction = eventScheduler
+				EventHandle leaveActivityAction = eventScheduler
 						.scheduleRecurringEvent(ticksToEvent, this,
 								TickConverter.TICKS_PER_WEEK, "leaveActivity");
 				actions.add(leaveActivityAction);
@@ -180,17 +182,18 @@ public class Student extends CommunityMember {
 	@Override
 	protected void scheduleArrivals() {
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		List<ISchedulableAction> actions = new ArrayList<>();
+		RandomEngine random = this.random.get(RandomPurpose.SCHEDULE);
+		List<EventHandle> actions = new ArrayList<>();
 		List<Integer> days = this.schedule.getCampusDays();
 		for (Integer day : days) {
 			AcademicActivity firstActivity = this.schedule
 					.getFirstAcademicActivityInDay(day);
-			double arrivalTime = Randomizer.getRandomStudentArrivalTime();
+			double arrivalTime = Randomizer.getRandomStudentArrivalTime(random);
 			double startTime = Math.min(
 					firstActivity.getStartTime() - UB_ARRIVAL_SHIFT,
 					arrivalTime);
 			double ticksToEvent = TickConverter.dayTimeToTicks(day, startTime);
-			ISchedulableAction arriveCampusAction = eventScheduler
+			EventHandle arriveCampusAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "haveFun");
 			actions.add(arriveCampusAction);
@@ -204,15 +207,17 @@ public class Student extends CommunityMember {
 	@Override
 	protected void scheduleDepartures() {
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		List<ISchedulableAction> actions = new ArrayList<>();
+		RandomEngine random = this.random.get(RandomPurpose.SCHEDULE);
+		List<EventHandle> actions = new ArrayList<>();
 		List<Integer> days = this.schedule.getCampusDays();
 		for (Integer day : days) {
 			AcademicActivity lastActivity = this.schedule
 					.getLastAcademicActivityInDay(day);
-			double departureTime = Randomizer.getRandomStudentDepartureTime();
+			double departureTime = Randomizer
+					.getRandomStudentDepartureTime(random);
 			double endTime = Math.max(lastActivity.getEndTime(), departureTime);
 			double ticksToEvent = TickConverter.dayTimeToTicks(day, endTime);
-			ISchedulableAction returnHomeAction = eventScheduler
+			EventHandle returnHomeAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "returnHome");
 			actions.add(returnHomeAction);
@@ -227,23 +232,24 @@ public class Student extends CommunityMember {
 	@Override
 	protected void scheduleLunch() {
 		EventScheduler eventScheduler = EventScheduler.getInstance();
-		List<ISchedulableAction> actions = new ArrayList<>();
+		RandomEngine random = this.random.get(RandomPurpose.SCHEDULE);
+		List<EventHandle> actions = new ArrayList<>();
 		List<Integer> days = this.schedule.getCampusDays();
 		for (Integer day : days) {
 			Pair<Double, Double> lunch = Heuristics
-					.getRandomLunchTime(this.schedule, day);
+					.getRandomLunchTime(this.schedule, day, random);
 			if (lunch == null) {
 				continue;
 			}
 			double lunchTime = lunch.getFirst();
 			double lunchDuration = lunch.getSecond();
 			double ticksToEvent = TickConverter.dayTimeToTicks(day, lunchTime);
-			ISchedulableAction haveLunchAction = eventScheduler
+			EventHandle haveLunchAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "haveLunch");
 			actions.add(haveLunchAction);
 			ticksToEvent += lunchDuration;
-			ISchedulableAction haveFunAction = eventScheduler
+			EventHandle haveFunAction = eventScheduler
 					.scheduleRecurringEvent(ticksToEvent, this,
 							TickConverter.TICKS_PER_WEEK, "haveFun");
 			actions.add(haveFunAction);
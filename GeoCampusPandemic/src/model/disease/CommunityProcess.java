@@ -0,0 +1,124 @@
+package model.disease;
+
+import util.TickConverter;
+
+public class CommunityProcess {
+
+	/**
+	 * Community size behind a limbo
+	 */
+	public static final double COMMUNITY_SIZE = 10000;
+
+	/**
+	 * Initial prevalence of the community
+	 */
+	public static final double INITIAL_PREVALENCE = 0.001;
+
+	/**
+	 * Contact rate (unit: 1/days)
+	 */
+	public static final double CONTACT_RATE = 0.25;
+
+	/**
+	 * Recovery rate (unit: 1/days)
+	 */
+	public static final double RECOVERY_RATE = 0.1;
+
+	/**
+	 * Integration step (unit: ticks)
+	 */
+	public static final double STEP = 1.0;
+
+	/**
+	 * Susceptible fraction
+	 */
+	private double susceptible;
+
+	/**
+	 * Infected fraction
+	 */
+	private double infected;
+
+	/**
+	 * Infected campus agents in the limbo
+	 */
+	private int campusInfected;
+
+	/**
+	 * Force of infection integrated up to the process tick
+	 */
+	private double cumulativeHazard;
+
+	/**
+	 * Process tick
+	 */
+	private double tick;
+
+	/**
+	 * Create a new community process. It is a mean-field SIR model of the
+	 * community behind a limbo, coupled with the infected campus agents that
+	 * are in the limbo.
+	 */
+	public CommunityProcess() {
+		this.susceptible = 1 - INITIAL_PREVALENCE;
+		this.infected = INITIAL_PREVALENCE;
+	}
+
+	/**
+	 * Add infected campus agents. A negative count removes them.
+	 * 
+	 * @param count Count
+	 * @param tick  Current tick
+	 */
+	public void addCampusInfected(int count, double tick) {
+		advance(tick);
+		this.campusInfected = Math.max(this.campusInfected + count, 0);
+	}
+
+	/**
+	 * Get the force of infection integrated up to a tick. The hazard of an
+	 * agent in the limbo is the difference between its departure and its
+	 * arrival.
+	 * 
+	 * @param tick Tick
+	 */
+	public double getCumulativeHazard(double tick) {
+		advance(tick);
+		return this.cumulativeHazard;
+	}
+
+	/**
+	 * Get the infected fraction of the community at a tick
+	 * 
+	 * @param tick Tick
+	 */
+	public double getPrevalence(double tick) {
+		advance(tick);
+		return this.infected;
+	}
+
+	/**
+	 * Integrate the process up to a tick with forward Euler steps. The
+	 * process only moves when it is queried, so its amortized cost is one
+	 * step per tick and limbo.
+	 * 
+	 * @param tick Tick
+	 */
+	private void advance(double tick) {
+		while (this.tick < tick) {
+			double step = Math.min(STEP, tick - this.tick);
+			double days = TickConverter.ticksToDays(step);
+			double hazard = CONTACT_RATE * (this.infected
+					+ this.campusInfected / COMMUNITY_SIZE);
+			double infections = Math.min(hazard * days, 1)
+					* this.susceptible;
+			double recoveries = Math.min(RECOVERY_RATE * days, 1)
+					* this.infected;
+			this.susceptible -= infections;
+			this.infected += infections - recoveries;
+			this.cumulativeHazard += hazard * days;
+			this.tick += step;
+		}
+	}
+
+}
\ No newline at end of file
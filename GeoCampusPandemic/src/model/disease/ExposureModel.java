@@ -0,0 +1,5 @@
+package model.disease;
+
+public enum ExposureModel {
+	PROXIMITY, OVERLAP, AEROSOL
+}
\ No newline at end of file
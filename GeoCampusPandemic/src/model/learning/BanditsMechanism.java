@@ -4,9 +4,10 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import cern.jet.random.engine.RandomEngine;
 import gis.GISPolygon;
-import repast.simphony.random.RandomHelper;
-import simulation.ParametersAdapter;
+import model.util.Randomizer;
+import simulation.RunConfiguration;
 
 public class BanditsMechanism extends LearningMechanism {
 
@@ -28,14 +29,18 @@ public class BanditsMechanism extends LearningMechanism {
 	/**
 	 * Create a new Bandits mechanism
 	 * 
+	 * @param configuration      Run configuration
+	 * @param random             Learning random stream
 	 * @param teachingFacilities Teaching facilities
 	 * @param sharedAreas        Shared areas
 	 * @param eatingPlaces       Eating places
 	 */
-	public BanditsMechanism(Map<String, GISPolygon> teachingFacilities,
+	public BanditsMechanism(RunConfiguration configuration,
+			RandomEngine random, Map<String, GISPolygon> teachingFacilities,
 			Map<String, GISPolygon> sharedAreas,
 			Map<String, GISPolygon> eatingPlaces) {
-		super(teachingFacilities, sharedAreas, eatingPlaces);
+		super(configuration, random, teachingFacilities, sharedAreas,
+				eatingPlaces);
 	}
 
 	/**
@@ -43,17 +48,17 @@ public class BanditsMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void init() {
-		double minInitQValue = ParametersAdapter.getMinimumInitialQValue();
-		double maxInitQValue = ParametersAdapter.getMaximumInitialQValue();
+		double minInitQValue = this.configuration.getMinimumInitialQValue();
+		double maxInitQValue = this.configuration.getMaximumInitialQValue();
 		this.qValues = new HashMap<>();
 		for (String eatingPlace : this.eatingPlaces.keySet()) {
-			double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-					maxInitQValue);
+			double q = Randomizer.nextDoubleFromTo(this.random,
+					minInitQValue, maxInitQValue);
 			this.qValues.put(eatingPlace, q);
 		}
 		for (String sharedArea : this.sharedAreas.keySet()) {
-			double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-					maxInitQValue);
+			double q = Randomizer.nextDoubleFromTo(this.random,
+					minInitQValue, maxInitQValue);
 			this.qValues.put(sharedArea, q);
 		}
 	}
@@ -63,8 +68,8 @@ public class BanditsMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void fixParameters() {
-		this.epsilon = ParametersAdapter.getEpsilon();
-		this.learningRate = ParametersAdapter.getLearningRate();
+		this.epsilon = this.configuration.getEpsilon();
+		this.learningRate = this.configuration.getLearningRate();
 	}
 
 	/**
@@ -74,7 +79,7 @@ public class BanditsMechanism extends LearningMechanism {
 	 */
 	@Override
 	public String selectAction(String currentLocation) {
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
+		double r = Randomizer.nextDoubleFromTo(this.random, 0, 1);
 		List<String> actions = new ArrayList<>(this.qValues.keySet());
 		int index = -1;
 		if (r < 1 - this.epsilon) {
@@ -90,10 +95,11 @@ public class BanditsMechanism extends LearningMechanism {
 					ties.add(action);
 				}
 			}
-			index = RandomHelper.nextIntFromTo(0, ties.size() - 1);
+			index = Randomizer.nextIntFromTo(this.random, 0, ties.size() - 1);
 			return ties.get(index);
 		} else {
-			index = RandomHelper.nextIntFromTo(0, actions.size() - 1);
+			index = Randomizer.nextIntFromTo(this.random, 0,
+					actions.size() - 1);
 			return actions.get(index);
 		}
 	}
@@ -1,7 +1,9 @@
 package model.learning;
 
 import java.util.Map;
+import cern.jet.random.engine.RandomEngine;
 import gis.GISPolygon;
+import simulation.RunConfiguration;
 
 public final class LearningFactory {
 
@@ -13,21 +15,26 @@ public final class LearningFactory {
 	}
 
 	/**
-	 * Instantiate a new learning mechanism
+	 * Instantiate a new learning mechanism of the configured learning style
 	 * 
-	 * @param learningStyle Learning style
+	 * @param configuration      Run configuration
+	 * @param random             Learning random stream
+	 * @param teachingFacilities Teaching facilities
+	 * @param sharedAreas        Shared areas
+	 * @param eatingPlaces       Eating places
 	 */
 	public static LearningMechanism makeLearningMechanism(
-			LearningStyle learningStyle,
+			RunConfiguration configuration, RandomEngine random,
 			Map<String, GISPolygon> teachingFacilities,
 			Map<String, GISPolygon> sharedAreas,
 			Map<String, GISPolygon> eatingPlaces) {
+		LearningStyle learningStyle = configuration.getLearningStyle();
 		if (learningStyle == LearningStyle.Q_LEARNING) {
-			return new QLearningMechanism(teachingFacilities, sharedAreas,
-					eatingPlaces);
+			return new QLearningMechanism(configuration, random,
+					teachingFacilities, sharedAreas, eatingPlaces);
 		} else if (learningStyle == LearningStyle.BANDITS) {
-			return new BanditsMechanism(teachingFacilities, sharedAreas,
-					eatingPlaces);
+			return new BanditsMechanism(configuration, random,
+					teachingFacilities, sharedAreas, eatingPlaces);
 		} else {
 			return null;
 		}
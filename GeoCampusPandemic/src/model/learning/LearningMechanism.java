@@ -1,10 +1,22 @@
 package model.learning;
 
 import java.util.Map;
+import cern.jet.random.engine.RandomEngine;
 import gis.GISPolygon;
+import simulation.RunConfiguration;
 
 public abstract class LearningMechanism {
 
+	/**
+	 * Run configuration
+	 */
+	protected RunConfiguration configuration;
+
+	/**
+	 * Random stream
+	 */
+	protected RandomEngine random;
+
 	/**
 	 * Teaching facilities
 	 */
@@ -23,13 +35,18 @@ public abstract class LearningMechanism {
 	/**
 	 * Create a new learning mechanism
 	 * 
+	 * @param configuration      Run configuration
+	 * @param random             Learning random stream
 	 * @param teachingFacilities Teaching facilities
 	 * @param sharedAreas        Shared areas
 	 * @param eatingPlaces       Eating places
 	 */
-	public LearningMechanism(Map<String, GISPolygon> teachingFacilities,
+	public LearningMechanism(RunConfiguration configuration,
+			RandomEngine random, Map<String, GISPolygon> teachingFacilities,
 			Map<String, GISPolygon> sharedAreas,
 			Map<String, GISPolygon> eatingPlaces) {
+		this.configuration = configuration;
+		this.random = random;
 		this.teachingFacilities = teachingFacilities;
 		this.sharedAreas = sharedAreas;
 		this.eatingPlaces = eatingPlaces;
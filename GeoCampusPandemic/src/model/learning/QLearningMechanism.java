@@ -2,22 +2,28 @@ package model.learning;
 
 import java.util.List;
 import java.util.Map;
+import cern.jet.random.engine.RandomEngine;
 import gis.GISPolygon;
 import repast.simphony.util.collections.Pair;
+import simulation.RunConfiguration;
 
 public class QLearningMechanism extends TDLearningMechanism {
 
 	/**
 	 * Create a new Q-learning mechanism
 	 * 
+	 * @param configuration      Run configuration
+	 * @param random             Learning random stream
 	 * @param teachingFacilities Teaching facilities
 	 * @param sharedAreas        Shared areas
 	 * @param eatingPlaces       Eating places
 	 */
-	public QLearningMechanism(Map<String, GISPolygon> teachingFacilities,
+	public QLearningMechanism(RunConfiguration configuration,
+			RandomEngine random, Map<String, GISPolygon> teachingFacilities,
 			Map<String, GISPolygon> sharedAreas,
 			Map<String, GISPolygon> eatingPlaces) {
-		super(teachingFacilities, sharedAreas, eatingPlaces);
+		super(configuration, random, teachingFacilities, sharedAreas,
+				eatingPlaces);
 	}
 
 	/**
@@ -4,10 +4,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import cern.jet.random.engine.RandomEngine;
 import gis.GISPolygon;
-import repast.simphony.random.RandomHelper;
+import model.util.Randomizer;
 import repast.simphony.util.collections.Pair;
-import simulation.ParametersAdapter;
+import simulation.RunConfiguration;
 
 public abstract class TDLearningMechanism extends LearningMechanism {
 
@@ -44,14 +45,18 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 	/**
 	 * Create a new TD-learning mechanism
 	 * 
+	 * @param configuration      Run configuration
+	 * @param random             Learning random stream
 	 * @param teachingFacilities Teaching facilities
 	 * @param sharedAreas        Shared areas
 	 * @param eatingPlaces       Eating places
 	 */
-	public TDLearningMechanism(Map<String, GISPolygon> teachingFacilities,
+	public TDLearningMechanism(RunConfiguration configuration,
+			RandomEngine random, Map<String, GISPolygon> teachingFacilities,
 			Map<String, GISPolygon> sharedAreas,
 			Map<String, GISPolygon> eatingPlaces) {
-		super(teachingFacilities, sharedAreas, eatingPlaces);
+		super(configuration, random, teachingFacilities, sharedAreas,
+				eatingPlaces);
 	}
 
 	/**
@@ -59,20 +64,20 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void init() {
-		double minInitQValue = ParametersAdapter.getMinimumInitialQValue();
-		double maxInitQValue = ParametersAdapter.getMaximumInitialQValue();
+		double minInitQValue = this.configuration.getMinimumInitialQValue();
+		double maxInitQValue = this.configuration.getMaximumInitialQValue();
 		this.qValues = new HashMap<>();
 		// Teaching facilities to shared areas and eating places
 		for (String teachingFacility : this.teachingFacilities.keySet()) {
 			ArrayList<Pair<String, Double>> destinations = new ArrayList<>();
 			for (String sharedArea : this.sharedAreas.keySet()) {
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
+				double q = Randomizer.nextDoubleFromTo(this.random,
+						minInitQValue, maxInitQValue);
 				destinations.add(new Pair<>(sharedArea, q));
 			}
 			for (String eatingPlace : this.eatingPlaces.keySet()) {
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
+				double q = Randomizer.nextDoubleFromTo(this.random,
+						minInitQValue, maxInitQValue);
 				destinations.add(new Pair<>(eatingPlace, q));
 			}
 			this.qValues.put(teachingFacility, destinations);
@@ -81,16 +86,16 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 		for (String sharedArea : this.sharedAreas.keySet()) {
 			ArrayList<Pair<String, Double>> destinations = new ArrayList<>();
 			for (String eatingPlace : this.eatingPlaces.keySet()) {
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
+				double q = Randomizer.nextDoubleFromTo(this.random,
+						minInitQValue, maxInitQValue);
 				destinations.add(new Pair<>(eatingPlace, q));
 			}
 			for (String nextSharedArea : this.sharedAreas.keySet()) {
 				if (sharedArea.equals(nextSharedArea)) {
 					continue;
 				}
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
+				double q = Randomizer.nextDoubleFromTo(this.random,
+						minInitQValue, maxInitQValue);
 				destinations.add(new Pair<>(nextSharedArea, q));
 			}
 			this.qValues.put(sharedArea, destinations);
@@ -99,8 +104,8 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 		for (String eatingPlace : this.eatingPlaces.keySet()) {
 			ArrayList<Pair<String, Double>> destinations = new ArrayList<>();
 			for (String sharedArea : this.sharedAreas.keySet()) {
-				double q = RandomHelper.nextDoubleFromTo(minInitQValue,
-						maxInitQValue);
+				double q = Randomizer.nextDoubleFromTo(this.random,
+						minInitQValue, maxInitQValue);
 				destinations.add(new Pair<>(sharedArea, q));
 			}
 			this.qValues.put(eatingPlace, destinations);
@@ -112,9 +117,9 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 	 */
 	@Override
 	public void fixParameters() {
-		this.epsilon = ParametersAdapter.getEpsilon();
-		this.learningRate = ParametersAdapter.getLearningRate();
-		this.discountFactor = ParametersAdapter.getDiscountFactor();
+		this.epsilon = this.configuration.getEpsilon();
+		this.learningRate = this.configuration.getLearningRate();
+		this.discountFactor = this.configuration.getDiscountFactor();
 	}
 
 	/**
@@ -128,7 +133,7 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 		List<Pair<String, Double>> destinations = this.qValues
 				.get(currentLocation);
 		Pair<String, Double> selectedDestination = null;
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
+		double r = Randomizer.nextDoubleFromTo(this.random, 0, 1);
 		int index = -1;
 		if (r < 1 - this.epsilon) {
 			double topValue = Double.NEGATIVE_INFINITY;
@@ -143,10 +148,11 @@ public abstract class TDLearningMechanism extends LearningMechanism {
 					ties.add(destination);
 				}
 			}
-			index = RandomHelper.nextIntFromTo(0, ties.size() - 1);
+			index = Randomizer.nextIntFromTo(this.random, 0, ties.size() - 1);
 			selectedDestination = ties.get(index);
 		} else {
-			index = RandomHelper.nextIntFromTo(0, destinations.size() - 1);
+			index = Randomizer.nextIntFromTo(this.random, 0,
+					destinations.size() - 1);
 			selectedDestination = destinations.get(index);
 		}
 		this.lastAction = selectedDestination.getFirst();
@@ -0,0 +1,57 @@
+package model.util;
+
+import cern.jet.random.engine.RandomEngine;
+
+public class AgentRandom {
+
+	/**
+	 * Run seed
+	 */
+	private int runSeed;
+
+	/**
+	 * Agent id
+	 */
+	private long agentId;
+
+	/**
+	 * Streams by purpose. They are created on first use.
+	 */
+	private RandomEngine[] streams;
+
+	/**
+	 * Create the random streams of an agent. There is one stream per draw
+	 * purpose, so e.g. a change in the mobility draws doesn't shift the
+	 * disease draws.
+	 * 
+	 * @param runSeed Run seed
+	 * @param agentId Agent id
+	 */
+	public AgentRandom(int runSeed, long agentId) {
+		this.runSeed = runSeed;
+		this.agentId = agentId;
+		this.streams = new RandomEngine[RandomPurpose.values().length];
+	}
+
+	/**
+	 * Get the stream of a purpose
+	 * 
+	 * @param purpose Draw purpose
+	 */
+	public RandomEngine get(RandomPurpose purpose) {
+		RandomEngine stream = this.streams[purpose.ordinal()];
+		if (stream == null) {
+			stream = RandomStreams.create(this.runSeed, this.agentId, purpose);
+			this.streams[purpose.ordinal()] = stream;
+		}
+		return stream;
+	}
+
+	/**
+	 * Get agent id
+	 */
+	public long getAgentId() {
+		return this.agentId;
+	}
+
+}
\ No newline at end of file
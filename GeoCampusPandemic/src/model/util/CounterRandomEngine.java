@@ -0,0 +1,53 @@
+package model.util;
+
+import cern.jet.random.engine.RandomEngine;
+
+public class CounterRandomEngine extends RandomEngine {
+
+	/**
+	 * Stream key
+	 */
+	private long key;
+
+	/**
+	 * Draw counter
+	 */
+	private long counter;
+
+	/**
+	 * Create a new counter-based random engine. The n-th draw is the
+	 * SplitMix64 hash of the key and n, so the engine only holds two longs
+	 * and draws need no shared state.
+	 * 
+	 * @param key Stream key
+	 */
+	public CounterRandomEngine(long key) {
+		this.key = key;
+	}
+
+	/**
+	 * Get the next 32 random bits
+	 */
+	@Override
+	public int nextInt() {
+		return (int) (nextLong() >>> 32);
+	}
+
+	/**
+	 * Get the next 64 random bits
+	 */
+	@Override
+	public long nextLong() {
+		this.counter++;
+		return RandomStreams.mix64(
+				this.key + this.counter * RandomStreams.GOLDEN_GAMMA);
+	}
+
+	/**
+	 * Get the number of draws so far
+	 */
+	public long getCounter() {
+		return this.counter;
+	}
+
+}
\ No newline at end of file
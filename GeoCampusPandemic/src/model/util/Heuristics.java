@@ -1,18 +1,19 @@
 package model.util;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.alg.interfaces.ShortestPathAlgorithm.SingleSourcePaths;
 import org.jgrapht.alg.shortestpath.DijkstraShortestPath;
 import org.jgrapht.graph.DefaultWeightedEdge;
+import cern.jet.random.engine.RandomEngine;
 import config.SourceFeatures;
 import model.agents.AcademicActivity;
 import model.agents.Group;
+import model.agents.GroupIndex;
 import model.agents.Schedule;
 import repast.simphony.util.collections.Pair;
 
@@ -31,22 +32,27 @@ public final class Heuristics {
 	}
 
 	/**
-	 * Create a new random schedule for a student
+	 * Create a new random schedule for a student. Groups are visited in a
+	 * random order drawn from the student's own stream until the student is
+	 * enrolled in the requested number of groups. The visiting order is a
+	 * lazy Fisher-Yates shuffle, so only the visited positions are touched.
 	 * 
-	 * @param groups Available groups
+	 * @param groupIndex Index of available groups
+	 * @param toEnroll   Number of groups to enroll to
+	 * @param random     Student's random stream
 	 */
-	public static Schedule buildRandomSchedule(Map<String, Group> groups) {
-		int toEnroll = Randomizer.getRandomGroupsToEnrollTo();
+	public static Schedule buildRandomSchedule(GroupIndex groupIndex,
+			int toEnroll, RandomEngine random) {
+		int size = groupIndex.size();
 		int enrolled = 0;
-		List<Group> groupList = new ArrayList<>();
-		for (Map.Entry<String, Group> group : groups.entrySet()) {
-			groupList.add(group.getValue());
-		}
-		Collections.shuffle(groupList);
+		Map<Integer, Integer> swaps = new HashMap<>();
 		Schedule schedule = new Schedule();
 		int i = 0;
-		while (enrolled < toEnroll && i < groups.size()) {
-			Group group = groupList.get(i);
+		while (enrolled < toEnroll && i < size) {
+			int j = Randomizer.nextIntFromTo(random, i, size - 1);
+			int selected = swaps.getOrDefault(j, j);
+			swaps.put(j, swaps.getOrDefault(i, i));
+			Group group = groupIndex.get(selected);
 			if (group.enroll()) {
 				schedule.addGroup(group);
 				enrolled++;
@@ -57,24 +63,23 @@ public final class Heuristics {
 	}
 
 	/**
-	 * Create a heuristic schedule for a student
+	 * Create a heuristic schedule for a student. Group ids that aren't in the
+	 * index are added to the set of unmatched group ids.
 	 * 
-	 * @param studentId         Student id
-	 * @param scheduleSelection Heuristic-based schedule selection
-	 * @param groups            Available groups
+	 * @param selection       Group ids selected by the student
+	 * @param groupIndex      Index of available groups
+	 * @param unmatchedGroups Unmatched group ids. It must be thread-safe when
+	 *                        schedules are built in parallel.
 	 */
-	public static Schedule buildHeuristicSchedule(String studentId,
-			Map<String, ArrayList<String>> scheduleSelection,
-			Map<String, Group> groups) {
-		Schedule schedule = null;
-		if (scheduleSelection.containsKey(studentId)) {
-			schedule = new Schedule();
-			List<String> selection = scheduleSelection.get(studentId);
-			for (String course : selection) {
-				if (groups.containsKey(course)) {
-					Group group = groups.get(course);
-					schedule.addGroup(group);
-				}
+	public static Schedule buildHeuristicSchedule(List<String> selection,
+			GroupIndex groupIndex, Set<String> unmatchedGroups) {
+		Schedule schedule = new Schedule();
+		for (String groupId : selection) {
+			int index = groupIndex.indexOf(groupId);
+			if (index < 0) {
+				unmatchedGroups.add(groupId);
+			} else {
+				schedule.addGroup(groupIndex.get(index));
 			}
 		}
 		return schedule;
@@ -85,17 +90,18 @@ public final class Heuristics {
 	 * 
 	 * @param schedule Student's schedule
 	 * @param day      Day
+	 * @param random   Random stream
 	 */
 	public static Pair<Double, Double> getRandomLunchTime(Schedule schedule,
-			int day) {
+			int day, RandomEngine random) {
 		Pair<Double, Double> lunch = null;
 		AcademicActivity firstActivity = schedule
 				.getFirstAcademicActivityInDay(day);
 		AcademicActivity lastActivity = schedule
 				.getLastAcademicActivityInDay(day);
 		for (int i = 0; i < TRIALS_4_LUNCH_TIME_ASSIGNMENT; i++) {
-			double lunchTime = Randomizer.getRandomLunchTime();
-			double lunchDuration = Randomizer.getRandomLunchDuration();
+			double lunchTime = Randomizer.getRandomLunchTime(random);
+			double lunchDuration = Randomizer.getRandomLunchDuration(random);
 			if (lunchTime > firstActivity.getStartTime()
 					&& lunchTime < lastActivity.getEndTime()
 					&& !schedule.collides(day, lunchTime, lunchDuration)) {
@@ -0,0 +1,5 @@
+package model.util;
+
+public enum RandomPurpose {
+	ATTRIBUTES, SCHEDULE, MOBILITY, POSITION, LEARNING, DISEASE, EXPOSURE
+}
\ No newline at end of file
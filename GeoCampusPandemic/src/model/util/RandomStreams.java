@@ -0,0 +1,51 @@
+package model.util;
+
+import cern.jet.random.engine.RandomEngine;
+
+public final class RandomStreams {
+
+	/**
+	 * Golden ratio increment of the SplitMix64 generator
+	 */
+	static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+	/**
+	 * Key of the population-level stream
+	 */
+	public static final long POPULATION_KEY = -1;
+
+	/**
+	 * Private constructor
+	 */
+	private RandomStreams() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Create a counter-based random stream keyed by the run seed, an agent
+	 * id and a draw purpose. The same key always yields the same stream, no
+	 * matter which thread creates it or when.
+	 * 
+	 * @param runSeed Run seed
+	 * @param agentId Agent id, e.g. the agent index
+	 * @param purpose Draw purpose
+	 */
+	public static RandomEngine create(int runSeed, long agentId,
+			RandomPurpose purpose) {
+		long agentKey = mix64(runSeed * GOLDEN_GAMMA + mix64(agentId));
+		long key = mix64(agentKey + (purpose.ordinal() + 1) * GOLDEN_GAMMA);
+		return new CounterRandomEngine(key);
+	}
+
+	/**
+	 * SplitMix64 finalizer
+	 * 
+	 * @param z Value to mix
+	 */
+	static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+}
\ No newline at end of file
@@ -1,14 +1,16 @@
 package model.util;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import cern.jet.random.Binomial;
 import cern.jet.random.Gamma;
 import cern.jet.random.Normal;
+import cern.jet.random.engine.MersenneTwister;
+import cern.jet.random.engine.RandomEngine;
 import gis.GISPolygon;
 import model.disease.PatientType;
-import repast.simphony.random.RandomHelper;
-import simulation.ParametersAdapter;
 import util.TickConverter;
 
 public final class Randomizer {
@@ -139,6 +141,13 @@ public final class Randomizer {
 	 */
 	public static final double SUCCESS_PROBABILITY_GROUPS_TO_ENROLL = 0.71;
 
+	/**
+	 * Infectiousness distribution. Only its density is used, so its random
+	 * stream is never drawn.
+	 */
+	private static final Gamma INFECTIOUSNESS = new Gamma(INFECTION_ALPHA,
+			1.0 / INFECTION_BETA, new MersenneTwister());
+
 	/**
 	 * Private constructor
 	 */
@@ -148,106 +157,130 @@ public final class Randomizer {
 
 	/**
 	 * Get random lunch time
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomLunchTime() {
-		return RandomHelper.nextDoubleFromTo(MIN_LUNCH_TIME, MAX_LUNCH_TIME);
+	public static double getRandomLunchTime(RandomEngine random) {
+		return nextDoubleFromTo(random, MIN_LUNCH_TIME, MAX_LUNCH_TIME);
 	}
 
 	/**
 	 * Get random lunch duration
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomLunchDuration() {
-		Normal normal = RandomHelper.createNormal(MEAN_LUNCH_DURATION,
-				STD_LUNCH_DURATION);
+	public static double getRandomLunchDuration(RandomEngine random) {
+		Normal normal = new Normal(MEAN_LUNCH_DURATION, STD_LUNCH_DURATION,
+				random);
 		return normal.nextDouble();
 	}
 
 	/**
 	 * Get random arrival shift
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomArrivalShift() {
-		Normal normal = RandomHelper.createNormal(MEAN_ARRIVAL_SHIFT,
-				STD_ARRIVAL_SHIFT);
+	public static double getRandomArrivalShift(RandomEngine random) {
+		Normal normal = new Normal(MEAN_ARRIVAL_SHIFT, STD_ARRIVAL_SHIFT,
+				random);
 		return normal.nextDouble();
 	}
 
 	/**
-	 * Get random vehicle usage
+	 * Get random vehicle usage from a given random stream
+	 * 
+	 * @param vehicleUsageRatio Vehicle usage ratio
+	 * @param random            Random stream
 	 */
-	public static boolean getRandomVehicleUsage() {
-		double vehicleUsageRatio = ParametersAdapter.getVehicleUsageRatio();
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
+	public static boolean getRandomVehicleUsage(double vehicleUsageRatio,
+			RandomEngine random) {
+		double r = nextDoubleFromTo(random, 0, 1);
 		return r < vehicleUsageRatio;
 	}
 
 	/**
 	 * Get random walking speed
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomWalkingSpeed() {
-		return RandomHelper.nextDoubleFromTo(MIN_WALKING_SPEED,
-				MAX_WALKING_SPEED);
+	public static double getRandomWalkingSpeed(RandomEngine random) {
+		return nextDoubleFromTo(random, MIN_WALKING_SPEED, MAX_WALKING_SPEED);
 	}
 
 	/**
-	 * Get random number of groups to enroll to
+	 * Get random number of groups to enroll to from a given random stream
+	 * 
+	 * @param random Random stream
 	 */
-	public static int getRandomGroupsToEnrollTo() {
-		Binomial binomial = RandomHelper.createBinomial(TRIALS_GROUPS_TO_ENROLL,
-				SUCCESS_PROBABILITY_GROUPS_TO_ENROLL);
+	public static int getRandomGroupsToEnrollTo(RandomEngine random) {
+		Binomial binomial = new Binomial(TRIALS_GROUPS_TO_ENROLL,
+				SUCCESS_PROBABILITY_GROUPS_TO_ENROLL, random);
 		return binomial.nextInt();
 	}
 
 	/**
-	 * Get random staffer's arrival time
+	 * Get random staffer's arrival time from a given random stream
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomStafferArrivalTime() {
-		return RandomHelper.nextDoubleFromTo(MIN_STAFFER_ARRIVAL_TIME,
+	public static double getRandomStafferArrivalTime(RandomEngine random) {
+		return nextDoubleFromTo(random, MIN_STAFFER_ARRIVAL_TIME,
 				MAX_STAFFER_ARRIVAL_TIME);
 	}
 
 	/**
 	 * Get random staffer's departure time
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomStafferDepartureTime() {
-		return RandomHelper.nextDoubleFromTo(MIN_STAFFER_DEPARTURE_TIME,
+	public static double getRandomStafferDepartureTime(RandomEngine random) {
+		return nextDoubleFromTo(random, MIN_STAFFER_DEPARTURE_TIME,
 				MAX_STAFFER_DEPARTURE_TIME);
 	}
 
 	/**
 	 * Get random student's arrival time
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomStudentArrivalTime() {
-		return RandomHelper.nextDoubleFromTo(MIN_STUDENT_ARRIVAL_TIME,
+	public static double getRandomStudentArrivalTime(RandomEngine random) {
+		return nextDoubleFromTo(random, MIN_STUDENT_ARRIVAL_TIME,
 				MAX_STUDENT_ARRIVAL_TIME);
 	}
 
 	/**
 	 * Get random student's departure time
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomStudentDepartureTime() {
-		return RandomHelper.nextDoubleFromTo(MIN_STUDENT_DEPARTURE_TIME,
+	public static double getRandomStudentDepartureTime(RandomEngine random) {
+		return nextDoubleFromTo(random, MIN_STUDENT_DEPARTURE_TIME,
 				MAX_STUDENT_DEPARTURE_TIME);
 	}
 
 	/**
 	 * Get random incubation period (unit: days)
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomIncubationPeriod() {
+	public static double getRandomIncubationPeriod(RandomEngine random) {
 		double t = Math.pow(MEAN_INCUBATION_PERIOD, 2)
 				+ Math.pow(STD_INCUBATION_PERIOD, 2);
 		double mu = Math
 				.log(Math.pow(MEAN_INCUBATION_PERIOD, 2) / Math.sqrt(t));
 		double sigma = Math.log(t / Math.pow(MEAN_INCUBATION_PERIOD, 2));
-		Normal normal = RandomHelper.createNormal(mu, sigma);
+		Normal normal = new Normal(mu, sigma, random);
 		double y = normal.nextDouble();
 		return Math.exp(y);
 	}
 
 	/**
 	 * Get random patient type
+	 * 
+	 * @param random Random stream
 	 */
-	public static PatientType getRandomPatientType() {
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
+	public static PatientType getRandomPatientType(RandomEngine random) {
+		double r = nextDoubleFromTo(random, 0, 1);
 		if (r < 0.3) {
 			return PatientType.NO_SYMPTOMS;
 		} else if (r < 0.85) {
@@ -263,9 +296,11 @@ public final class Randomizer {
 	 * Is the patient going to die? Reference: <pending>
 	 * 
 	 * @param patientType Patient type
+	 * @param random      Random stream
 	 */
-	public static boolean isGoingToDie(PatientType patientType) {
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
+	public static boolean isGoingToDie(PatientType patientType,
+			RandomEngine random) {
+		double r = nextDoubleFromTo(random, 0, 1);
 		switch (patientType) {
 		case SEVERE_SYMPTOMS:
 			return r < 0.15;
@@ -280,35 +315,85 @@ public final class Randomizer {
 	 * Is the citizen getting exposed? Reference: <pending>
 	 * 
 	 * @param incubationDiff Incubation difference
+	 * @param random         Random stream
+	 */
+	public static boolean isGettingExposed(double incubationDiff,
+			RandomEngine random) {
+		double r = nextDoubleFromTo(random, 0, 1);
+		return r < getInfectiousness(incubationDiff);
+	}
+
+	/**
+	 * Is the citizen getting exposed after a dose of shared infectious load?
+	 * The dose is the expected number of contacts of the proximity model,
+	 * and each one is an independent chance of exposure.
+	 * 
+	 * @param dose   Dose
+	 * @param random Random stream
+	 */
+	public static boolean isGettingExposedByDose(double dose,
+			RandomEngine random) {
+		double r = nextDoubleFromTo(random, 0, 1);
+		return r < 1 - Math.exp(-dose);
+	}
+
+	/**
+	 * Get the infectiousness of an infected citizen, i.e. the exposure
+	 * probability of a contact. Reference: <pending>
+	 * 
+	 * @param incubationDiff Incubation difference
 	 */
-	public static boolean isGettingExposed(double incubationDiff) {
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
-		Gamma gamma = RandomHelper.createGamma(INFECTION_ALPHA,
-				1.0 / INFECTION_BETA);
+	public static double getInfectiousness(double incubationDiff) {
 		double days = TickConverter.ticksToDays(incubationDiff);
 		if (days < INFECTION_MIN) {
-			return false;
+			return 0;
 		}
-		double p = gamma.pdf(days - INFECTION_MIN);
-		return r < p;
+		return INFECTIOUSNESS.pdf(days - INFECTION_MIN);
 	}
 
 	/**
 	 * Get random time to discharge (unit: days)
+	 * 
+	 * @param random Random stream
 	 */
-	public static double getRandomTimeToDischarge() {
-		Gamma gamma = RandomHelper.createGamma(DISCHARGE_ALPHA,
-				1.0 / DISCHARGE_BETA);
+	public static double getRandomTimeToDischarge(RandomEngine random) {
+		Gamma gamma = new Gamma(DISCHARGE_ALPHA, 1.0 / DISCHARGE_BETA, random);
 		return gamma.nextDouble();
 	}
 
+	/**
+	 * Get a random subset of indexes in [0, size). Partial Fisher-Yates
+	 * shuffle.
+	 * 
+	 * @param size   Range size
+	 * @param count  Number of indexes to pick
+	 * @param random Random stream
+	 */
+	public static Set<Integer> getRandomSubset(int size, int count,
+			RandomEngine random) {
+		int[] indexes = new int[size];
+		for (int i = 0; i < size; i++) {
+			indexes[i] = i;
+		}
+		Set<Integer> subset = new HashSet<>();
+		for (int i = 0; i < Math.min(size, count); i++) {
+			int j = nextIntFromTo(random, i, size - 1);
+			int index = indexes[j];
+			indexes[j] = indexes[i];
+			indexes[i] = index;
+			subset.add(index);
+		}
+		return subset;
+	}
+
 	/**
 	 * Get random geo-spatial polygon
 	 * 
 	 * @param polygons Map of polygons
+	 * @param random   Random stream
 	 */
-	public static GISPolygon getRandomPolygon(
-			Map<String, GISPolygon> polygons) {
+	public static GISPolygon getRandomPolygon(Map<String, GISPolygon> polygons,
+			RandomEngine random) {
 		ArrayList<GISPolygon> polyList = new ArrayList<>();
 		for (GISPolygon polygon : polygons.values()) {
 			if (!polygon.isActive()) {
@@ -316,7 +401,7 @@ public final class Randomizer {
 			}
 			polyList.add(polygon);
 		}
-		int index = RandomHelper.nextIntFromTo(0, polyList.size() - 1);
+		int index = nextIntFromTo(random, 0, polyList.size() - 1);
 		return polyList.get(index);
 	}
 
@@ -324,10 +409,11 @@ public final class Randomizer {
 	 * Get random geo-spatial polygon based on weights
 	 * 
 	 * @param polygons Map of polygons
+	 * @param random   Random stream
 	 */
 	public static GISPolygon getRandomPolygonWeightBased(
-			Map<String, GISPolygon> polygons) {
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
+			Map<String, GISPolygon> polygons, RandomEngine random) {
+		double r = nextDoubleFromTo(random, 0, 1);
 		double cummulativeProbability = 0;
 		for (GISPolygon polygon : polygons.values()) {
 			if (!polygon.isActive()) {
@@ -346,10 +432,11 @@ public final class Randomizer {
 	 * Get random geo-spatial polygon based on work weights
 	 * 
 	 * @param polygons Map of polygons
+	 * @param random   Random stream
 	 */
 	public static GISPolygon getRandomPolygonWorkWeightBased(
-			Map<String, GISPolygon> polygons) {
-		double r = RandomHelper.nextDoubleFromTo(0, 1);
+			Map<String, GISPolygon> polygons, RandomEngine random) {
+		double r = nextDoubleFromTo(random, 0, 1);
 		double cummulativeProbability = 0;
 		for (GISPolygon polygon : polygons.values()) {
 			if (!polygon.isActive()) {
@@ -364,4 +451,30 @@ public final class Randomizer {
 		return null;
 	}
 
+	/**
+	 * Get a uniform random double in [from, to) from a given random stream.
+	 * Same mapping as Colt's uniform distribution.
+	 * 
+	 * @param random Random stream
+	 * @param from   Lower bound
+	 * @param to     Upper bound
+	 */
+	public static double nextDoubleFromTo(RandomEngine random, double from,
+			double to) {
+		return from + (to - from) * random.raw();
+	}
+
+	/**
+	 * Get a uniform random integer in [from, to] from a given random stream.
+	 * Same mapping as Colt's uniform distribution.
+	 * 
+	 * @param random Random stream
+	 * @param from   Lower bound
+	 * @param to     Upper bound
+	 */
+	public static int nextIntFromTo(RandomEngine random, int from, int to) {
+		return (int) ((long) from
+				+ (long) ((1L + (long) to - (long) from) * random.raw()));
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("geocampuspandemic.Day")
+@Label("Simulation Day")
+@Category({ "GeoCampusPandemic", "Simulation" })
+@Description("Wall time of a simulated day")
+public class DayEvent extends Event {
+
+	/**
+	 * Day, starting at one
+	 */
+	@Label("Day")
+	public int day;
+
+}
\ No newline at end of file
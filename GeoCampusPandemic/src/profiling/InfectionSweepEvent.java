@@ -0,0 +1,28 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("geocampuspandemic.InfectionSweep")
+@Label("Infection Sweep")
+@Category({ "GeoCampusPandemic", "Disease" })
+@Description("Neighbor query of a particle expulsion, with the candidates "
+		+ "exposed afterwards")
+public class InfectionSweepEvent extends Event {
+
+	/**
+	 * Polygon id
+	 */
+	@Label("Polygon")
+	public String polygon;
+
+	/**
+	 * Candidates tested
+	 */
+	@Label("Candidates")
+	public long candidates;
+
+}
\ No newline at end of file
@@ -0,0 +1,287 @@
+package profiling;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import engine.EventKernel;
+import gis.GISPolygon;
+import model.agents.CommunityMember;
+import model.disease.Compartment;
+
+public class SimulationMonitor implements SimulationMonitorMBean {
+
+	/**
+	 * Object name domain
+	 */
+	public static final String DOMAIN = "geocampuspandemic";
+
+	/**
+	 * Number of busiest polygons
+	 */
+	private static final int BUSIEST_POLYGONS = 5;
+
+	/**
+	 * Nanoseconds per second
+	 */
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	/**
+	 * Event kernel
+	 */
+	private EventKernel kernel;
+
+	/**
+	 * Community members
+	 */
+	private List<CommunityMember> members;
+
+	/**
+	 * Polygons on campus
+	 */
+	private List<GISPolygon> campusPolygons;
+
+	/**
+	 * Object name, once registered
+	 */
+	private ObjectName objectName;
+
+	/**
+	 * Tick of the previous rate read
+	 */
+	private double lastTick;
+
+	/**
+	 * Timestamp of the previous rate read (unit: nanoseconds)
+	 */
+	private long lastTime;
+
+	/**
+	 * Create a new simulation monitor. It reads the simulation state on
+	 * demand from the JMX thread, so its values are a racy but cheap
+	 * snapshot and the simulation pays nothing between reads.
+	 * 
+	 * @param kernel         Event kernel
+	 * @param members        Community members
+	 * @param campusPolygons Polygons on campus
+	 */
+	public SimulationMonitor(EventKernel kernel,
+			List<CommunityMember> members, List<GISPolygon> campusPolygons) {
+		this.kernel = kernel;
+		this.members = members;
+		this.campusPolygons = campusPolygons;
+		this.lastTick = kernel.getCurrentTick();
+		this.lastTime = System.nanoTime();
+	}
+
+	/**
+	 * Register the monitor in the platform MBean server. A stale monitor
+	 * with the same name, e.g. from a previous run in the Repast GUI, is
+	 * replaced.
+	 * 
+	 * @param name Simulation name
+	 */
+	public void register(String name) {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName objectName = new ObjectName(
+					DOMAIN + ":type=Simulation,name=" + name);
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+			server.registerMBean(this, objectName);
+			this.objectName = objectName;
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Unregister the monitor from the platform MBean server
+	 */
+	public void unregister() {
+		if (this.objectName == null) {
+			return;
+		}
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			if (server.isRegistered(this.objectName)) {
+				server.unregisterMBean(this.objectName);
+			}
+		} catch (JMException e) {
+			e.printStackTrace();
+		}
+		this.objectName = null;
+	}
+
+	/**
+	 * Get current tick
+	 */
+	@Override
+	public double getCurrentTick() {
+		return this.kernel.getCurrentTick();
+	}
+
+	/**
+	 * Get ticks per second since the previous read, or since the monitor was
+	 * registered
+	 */
+	@Override
+	public synchronized double getTicksPerSecond() {
+		double tick = this.kernel.getCurrentTick();
+		long time = System.nanoTime();
+		double seconds = (time - this.lastTime) / NANOS_PER_SECOND;
+		double ticksPerSecond = seconds > 0
+				? (tick - this.lastTick) / seconds
+				: 0;
+		this.lastTick = tick;
+		this.lastTime = time;
+		return ticksPerSecond;
+	}
+
+	/**
+	 * Get the number of pending events in the schedule
+	 */
+	@Override
+	public int getPendingEvents() {
+		return this.kernel.getPendingEvents();
+	}
+
+	/**
+	 * Count susceptible agents
+	 */
+	@Override
+	public int getSusceptible() {
+		return countCompartments().get(Compartment.SUSCEPTIBLE);
+	}
+
+	/**
+	 * Count exposed agents
+	 */
+	@Override
+	public int getExposed() {
+		return countCompartments().get(Compartment.EXPOSED);
+	}
+
+	/**
+	 * Count infected agents
+	 */
+	@Override
+	public int getInfected() {
+		return countCompartments().get(Compartment.INFECTED);
+	}
+
+	/**
+	 * Count immune agents
+	 */
+	@Override
+	public int getImmune() {
+		return countCompartments().get(Compartment.IMMUNE);
+	}
+
+	/**
+	 * Count dead agents
+	 */
+	@Override
+	public int getDead() {
+		return countCompartments().get(Compartment.DEAD);
+	}
+
+	/**
+	 * Count agents on campus
+	 */
+	@Override
+	public int getOnCampus() {
+		int agents = 0;
+		for (GISPolygon polygon : this.campusPolygons) {
+			agents += polygon.countAgents();
+		}
+		return agents;
+	}
+
+	/**
+	 * Get the busiest polygons on campus, as id=agents
+	 */
+	@Override
+	public String[] getBusiestPolygons() {
+		List<GISPolygon> polygons = new ArrayList<>(this.campusPolygons);
+		int[] agents = new int[polygons.size()];
+		for (int i = 0; i < agents.length; i++) {
+			agents[i] = polygons.get(i).countAgents();
+		}
+		int n = Math.min(BUSIEST_POLYGONS, polygons.size());
+		String[] busiestPolygons = new String[n];
+		for (int i = 0; i < n; i++) {
+			int busiest = i;
+			for (int j = i + 1; j < agents.length; j++) {
+				if (agents[j] > agents[busiest]) {
+					busiest = j;
+				}
+			}
+			swap(polygons, agents, i, busiest);
+			busiestPolygons[i] = polygons.get(i).getId() + "=" + agents[i];
+		}
+		return busiestPolygons;
+	}
+
+	/**
+	 * Get used heap (unit: bytes)
+	 */
+	@Override
+	public long getUsedHeap() {
+		return getHeapUsage().getUsed();
+	}
+
+	/**
+	 * Get max heap (unit: bytes)
+	 */
+	@Override
+	public long getMaxHeap() {
+		return getHeapUsage().getMax();
+	}
+
+	/**
+	 * Count agents by compartment
+	 */
+	private Map<Compartment, Integer> countCompartments() {
+		Map<Compartment, Integer> counts = new EnumMap<>(Compartment.class);
+		for (Compartment compartment : Compartment.values()) {
+			counts.put(compartment, 0);
+		}
+		for (CommunityMember member : this.members) {
+			counts.merge(member.getCompartment(), 1, Integer::sum);
+		}
+		return counts;
+	}
+
+	/**
+	 * Get heap usage
+	 */
+	private static MemoryUsage getHeapUsage() {
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+	}
+
+	/**
+	 * Swap two polygons and their agent counts
+	 * 
+	 * @param polygons Polygons
+	 * @param agents   Agent counts
+	 * @param i        First index
+	 * @param j        Second index
+	 */
+	private static void swap(List<GISPolygon> polygons, int[] agents, int i,
+			int j) {
+		GISPolygon polygon = polygons.get(i);
+		polygons.set(i, polygons.get(j));
+		polygons.set(j, polygon);
+		int count = agents[i];
+		agents[i] = agents[j];
+		agents[j] = count;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package profiling;
+
+public interface SimulationMonitorMBean {
+
+	/**
+	 * Get current tick
+	 */
+	double getCurrentTick();
+
+	/**
+	 * Get ticks per second since the previous read, or since the monitor was
+	 * registered
+	 */
+	double getTicksPerSecond();
+
+	/**
+	 * Get the number of pending events in the schedule
+	 */
+	int getPendingEvents();
+
+	/**
+	 * Count susceptible agents
+	 */
+	int getSusceptible();
+
+	/**
+	 * Count exposed agents
+	 */
+	int getExposed();
+
+	/**
+	 * Count infected agents
+	 */
+	int getInfected();
+
+	/**
+	 * Count immune agents
+	 */
+	int getImmune();
+
+	/**
+	 * Count dead agents
+	 */
+	int getDead();
+
+	/**
+	 * Count agents on campus
+	 */
+	int getOnCampus();
+
+	/**
+	 * Get the busiest polygons on campus, as id=agents
+	 */
+	String[] getBusiestPolygons();
+
+	/**
+	 * Get used heap (unit: bytes)
+	 */
+	long getUsedHeap();
+
+	/**
+	 * Get max heap (unit: bytes)
+	 */
+	long getMaxHeap();
+
+}
\ No newline at end of file
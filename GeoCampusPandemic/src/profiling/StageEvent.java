@@ -0,0 +1,45 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+@Name("geocampuspandemic.Stage")
+@Label("Stage")
+@Category({ "GeoCampusPandemic", "Build" })
+@Description("Stage of the simulation build, as recorded by the stage timer")
+public class StageEvent extends Event {
+
+	/**
+	 * Stage name
+	 */
+	@Label("Stage")
+	public String stage;
+
+	/**
+	 * Stage duration. Stages may overlap on worker threads, so it's a field
+	 * rather than the event duration.
+	 */
+	@Label("Stage Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	public long stageDuration;
+
+	/**
+	 * Emit a stage event if it's enabled
+	 * 
+	 * @param stage         Stage name
+	 * @param stageDuration Stage duration (unit: nanoseconds)
+	 */
+	public static void emit(String stage, long stageDuration) {
+		StageEvent event = new StageEvent();
+		if (event.shouldCommit()) {
+			event.stage = stage;
+			event.stageDuration = stageDuration;
+			event.commit();
+		}
+	}
+
+}
\ No newline at end of file
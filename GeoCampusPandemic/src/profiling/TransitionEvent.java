@@ -0,0 +1,59 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("geocampuspandemic.Transition")
+@Label("Compartment Transition")
+@Category({ "GeoCampusPandemic", "Disease" })
+@Description("Transition of an agent between disease compartments")
+public class TransitionEvent extends Event {
+
+	/**
+	 * Agent type
+	 */
+	@Label("Agent Type")
+	public String agentType;
+
+	/**
+	 * Compartment before the transition
+	 */
+	@Label("From")
+	public String from;
+
+	/**
+	 * Compartment after the transition
+	 */
+	@Label("To")
+	public String to;
+
+	/**
+	 * Simulation tick
+	 */
+	@Label("Tick")
+	public double tick;
+
+	/**
+	 * Emit a transition event if it's enabled
+	 * 
+	 * @param agentType Agent type
+	 * @param from      Compartment before the transition
+	 * @param to        Compartment after the transition
+	 * @param tick      Simulation tick
+	 */
+	public static void emit(String agentType, String from, String to,
+			double tick) {
+		TransitionEvent event = new TransitionEvent();
+		if (event.shouldCommit()) {
+			event.agentType = agentType;
+			event.from = from;
+			event.to = to;
+			event.tick = tick;
+			event.commit();
+		}
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,40 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("geocampuspandemic.Trip")
+@Label("Trip")
+@Category({ "GeoCampusPandemic", "Mobility" })
+@Description("Trip planning: shortest path lookup and scheduling of the "
+		+ "relocations")
+public class TripEvent extends Event {
+
+	/**
+	 * Origin polygon id
+	 */
+	@Label("Origin")
+	public String origin;
+
+	/**
+	 * Destination polygon id
+	 */
+	@Label("Destination")
+	public String destination;
+
+	/**
+	 * Hops, i.e. scheduled relocations
+	 */
+	@Label("Hops")
+	public int hops;
+
+	/**
+	 * Path length (unit: meters)
+	 */
+	@Label("Path Length")
+	public double pathLength;
+
+}
\ No newline at end of file
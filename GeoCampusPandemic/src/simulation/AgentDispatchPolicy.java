@@ -0,0 +1,19 @@
+package simulation;
+
+import engine.DispatchPolicy;
+import model.agents.CommunityMember;
+
+public class AgentDispatchPolicy implements DispatchPolicy {
+
+	/**
+	 * Community members' events run in parallel batches. They draw from
+	 * their own random streams and defer their effects on shared state.
+	 * 
+	 * @param target Target object
+	 */
+	@Override
+	public boolean isParallel(Object target) {
+		return target instanceof CommunityMember;
+	}
+
+}
\ No newline at end of file
@@ -1,10 +1,8 @@
 package simulation;
 
-import repast.simphony.engine.environment.RunEnvironment;
-import repast.simphony.engine.schedule.ISchedulableAction;
-import repast.simphony.engine.schedule.ISchedule;
-import repast.simphony.engine.schedule.ScheduleParameters;
-import repast.simphony.essentials.RepastEssentials;
+import engine.EventHandle;
+import engine.EventKernel;
+import engine.RepastEventKernel;
 
 public final class EventScheduler {
 
@@ -13,10 +11,16 @@ public final class EventScheduler {
 	 */
 	private static EventScheduler instance;
 
+	/**
+	 * Event kernel
+	 */
+	private EventKernel kernel;
+
 	/**
 	 * Private constructor
 	 */
 	private EventScheduler() {
+		this.kernel = new RepastEventKernel();
 	}
 
 	/**
@@ -29,6 +33,29 @@ public final class EventScheduler {
 		return instance;
 	}
 
+	/**
+	 * Set event kernel
+	 * 
+	 * @param kernel Event kernel
+	 */
+	public void setKernel(EventKernel kernel) {
+		this.kernel = kernel;
+	}
+
+	/**
+	 * Get event kernel
+	 */
+	public EventKernel getKernel() {
+		return this.kernel;
+	}
+
+	/**
+	 * Get current tick
+	 */
+	public double getCurrentTick() {
+		return this.kernel.getCurrentTick();
+	}
+
 	/**
 	 * Schedule one-time event
 	 * 
@@ -37,13 +64,11 @@ public final class EventScheduler {
 	 * @param methodName   Method's name
 	 * @param methodParams Method's parameters
 	 */
-	public void scheduleOneTimeEvent(double ticksToEvent, Object obj,
+	public EventHandle scheduleOneTimeEvent(double ticksToEvent, Object obj,
 			String methodName, Object... methodParams) {
-		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
-		double currentTick = RepastEssentials.GetTickCount();
-		double startTime = currentTick + ticksToEvent;
-		ScheduleParameters params = ScheduleParameters.createOneTime(startTime);
-		schedule.schedule(params, obj, methodName, methodParams);
+		double startTime = this.kernel.getCurrentTick() + ticksToEvent;
+		return this.kernel.scheduleOneTime(startTime, obj, methodName,
+				methodParams);
 	}
 
 	/**
@@ -55,15 +80,30 @@ public final class EventScheduler {
 	 * @param methodName   Method's name
 	 * @param methodParams Method's parameters
 	 */
-	public ISchedulableAction scheduleRecurringEvent(double ticksToEvent,
-			Object obj, double tickInterval, String methodName,
-			Object... methodParams) {
-		ISchedule schedule = RunEnvironment.getInstance().getCurrentSchedule();
-		double currentTick = RepastEssentials.GetTickCount();
-		double startTime = currentTick + ticksToEvent;
-		ScheduleParameters params = ScheduleParameters
-				.createRepeating(startTime, tickInterval);
-		return schedule.schedule(params, obj, methodName, methodParams);
+	public EventHandle scheduleRecurringEvent(double ticksToEvent, Object obj,
+			double tickInterval, String methodName, Object... methodParams) {
+		double startTime = this.kernel.getCurrentTick() + ticksToEvent;
+		return this.kernel.scheduleRecurring(startTime, tickInterval, obj,
+				methodName, methodParams);
+	}
+
+	/**
+	 * Unschedule event
+	 * 
+	 * @param event Event handle
+	 */
+	public void unscheduleEvent(EventHandle event) {
+		event.cancel();
+	}
+
+	/**
+	 * Apply an effect on state shared between agents. It runs at once, or
+	 * after the current batch of events under parallel dispatch.
+	 * 
+	 * @param effect Effect
+	 */
+	public void defer(Runnable effect) {
+		this.kernel.defer(effect);
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package simulation;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+import engine.TickSampler;
+import gis.GISDensityMeter;
+import model.agents.CommunityMember;
+
+public class HeadlessRecorder {
+
+	/**
+	 * Epidemic output file name
+	 */
+	public static final String EPIDEMIC_FILE = "Epidemic.csv";
+
+	/**
+	 * Density output file name
+	 */
+	public static final String DENSITY_FILE = "Density.csv";
+
+	/**
+	 * Run number
+	 */
+	private int run;
+
+	/**
+	 * Community members
+	 */
+	private List<CommunityMember> members;
+
+	/**
+	 * Density meters
+	 */
+	private List<GISDensityMeter> densityMeters;
+
+	/**
+	 * Epidemic writer
+	 */
+	private PrintWriter epidemicWriter;
+
+	/**
+	 * Density writer
+	 */
+	private PrintWriter densityWriter;
+
+	/**
+	 * Last epidemic counts: susceptible, exposed, infected, immune and dead
+	 */
+	private double[] epidemicCounts;
+
+	/**
+	 * Last mean density
+	 */
+	private double meanDensity;
+
+	/**
+	 * Create a new headless recorder. It writes the same columns as the
+	 * aggregate file sinks of the Repast scenario.
+	 * 
+	 * @param run             Run number
+	 * @param outputDirectory Output directory
+	 * @param members         Community members
+	 * @param densityMeters   Density meters
+	 */
+	public HeadlessRecorder(int run, String outputDirectory,
+			List<CommunityMember> members, List<GISDensityMeter> densityMeters)
+			throws IOException {
+		this.run = run;
+		this.members = members;
+		this.densityMeters = densityMeters;
+		this.epidemicCounts = new double[5];
+		new File(outputDirectory).mkdirs();
+		this.epidemicWriter = new PrintWriter(new BufferedWriter(
+				new FileWriter(new File(outputDirectory, EPIDEMIC_FILE))));
+		this.densityWriter = new PrintWriter(new BufferedWriter(
+				new FileWriter(new File(outputDirectory, DENSITY_FILE))));
+		this.epidemicWriter.println(
+				"\"run\",\"tick\",\"susceptible\",\"exposed\",\"infected\",\"immune\",\"dead\"");
+		this.densityWriter.println("\"run\",\"tick\",\"meanDensity\"");
+	}
+
+	/**
+	 * Get the epidemic sampler. It records the epidemic rows from the kernel
+	 * and repeats the last one while the simulation is idle.
+	 */
+	public TickSampler getEpidemicSampler() {
+		return new TickSampler() {
+
+			@Override
+			public void sample(double tick) {
+				countCompartments();
+				writeEpidemicRow(tick);
+			}
+
+			@Override
+			public void repeat(double fromTick, double toTick) {
+				for (double tick = fromTick; tick <= toTick; tick++) {
+					writeEpidemicRow(tick);
+				}
+			}
+
+		};
+	}
+
+	/**
+	 * Get the density sampler. It records the density rows from the kernel
+	 * and repeats the last one while the simulation is idle.
+	 */
+	public TickSampler getDensitySampler() {
+		return new TickSampler() {
+
+			@Override
+			public void sample(double tick) {
+				measureMeanDensity();
+				writeDensityRow(tick);
+			}
+
+			@Override
+			public void repeat(double fromTick, double toTick) {
+				for (double tick = fromTick; tick <= toTick; tick++) {
+					writeDensityRow(tick);
+				}
+			}
+
+		};
+	}
+
+	/**
+	 * Close the output files
+	 */
+	public void close() {
+		this.epidemicWriter.close();
+		this.densityWriter.close();
+	}
+
+	/**
+	 * Count the community members by compartment
+	 */
+	private void countCompartments() {
+		double susceptible = 0;
+		double exposed = 0;
+		double infected = 0;
+		double immune = 0;
+		double dead = 0;
+		for (CommunityMember member : this.members) {
+			susceptible += member.isSusceptible();
+			exposed += member.isExposed();
+			infected += member.isInfected();
+			immune += member.isImmune();
+			dead += member.isDead();
+		}
+		this.epidemicCounts[0] = susceptible;
+		this.epidemicCounts[1] = exposed;
+		this.epidemicCounts[2] = infected;
+		this.epidemicCounts[3] = immune;
+		this.epidemicCounts[4] = dead;
+	}
+
+	/**
+	 * Measure the mean density of the density meters
+	 */
+	private void measureMeanDensity() {
+		double density = 0;
+		for (GISDensityMeter densityMeter : this.densityMeters) {
+			density += densityMeter.measureDensity();
+		}
+		this.meanDensity = density / this.densityMeters.size();
+	}
+
+	/**
+	 * Write the last epidemic counts
+	 * 
+	 * @param tick Tick
+	 */
+	protected void writeEpidemicRow(double tick) {
+		double[] counts = this.epidemicCounts;
+		this.epidemicWriter.println(this.run + "," + tick + "," + counts[0]
+				+ "," + counts[1] + "," + counts[2] + "," + counts[3] + ","
+				+ counts[4]);
+	}
+
+	/**
+	 * Write the last mean density
+	 * 
+	 * @param tick Tick
+	 */
+	protected void writeDensityRow(double tick) {
+		this.densityWriter.println(this.run + "," + tick + ","
+				+ this.meanDensity);
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package simulation;
+
+import java.util.List;
+import datasource.Campus;
+import engine.HeadlessEventKernel;
+import gis.GISPolygon;
+import gis.PlainCampusGeography;
+import model.agents.CommunityMember;
+
+public class HeadlessSetup {
+
+	/**
+	 * Simulation builder
+	 */
+	public SimulationBuilder simulationBuilder;
+
+	/**
+	 * Event kernel
+	 */
+	public HeadlessEventKernel kernel;
+
+	/**
+	 * Campus geography
+	 */
+	public PlainCampusGeography campusGeography;
+
+	/**
+	 * Campus
+	 */
+	public Campus campus;
+
+	/**
+	 * Polygons on campus
+	 */
+	public List<GISPolygon> campusPolygons;
+
+	/**
+	 * Community members
+	 */
+	public List<CommunityMember> members;
+
+}
\ No newline at end of file
@@ -0,0 +1,350 @@
+package simulation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import datasource.Campus;
+import engine.HeadlessEventKernel;
+import gis.GISDensityMeter;
+import gis.GISPolygon;
+import gis.PlainCampusGeography;
+import model.agents.CommunityMember;
+import profiling.SimulationMonitor;
+import util.StageTimer;
+
+public class HeadlessSimulation {
+
+	/**
+	 * Default output directory
+	 */
+	public static final String DEFAULT_OUTPUT_DIRECTORY = "./output";
+
+	/**
+	 * Run configuration
+	 */
+	private RunConfiguration configuration;
+
+	/**
+	 * Run number
+	 */
+	private int run;
+
+	/**
+	 * Output directory
+	 */
+	private String outputDirectory;
+
+	/**
+	 * End tick
+	 */
+	private double endTick;
+
+	/**
+	 * Executed events in the last run
+	 */
+	private long executedEvents;
+
+	/**
+	 * Infection queries in the last run
+	 */
+	private long infectionQueries;
+
+	/**
+	 * Create a new headless simulation. It runs the agents on the headless
+	 * event kernel and a plain-coordinate geography, without the Repast
+	 * runtime. By default events run one at a time, each seeing the
+	 * effects of the previous ones, as on the Repast schedule.
+	 * 
+	 * @param configuration   Run configuration
+	 * @param run             Run number
+	 * @param outputDirectory Output directory
+	 */
+	public HeadlessSimulation(RunConfiguration configuration, int run,
+			String outputDirectory) {
+		this.configuration = configuration;
+		this.run = run;
+		this.outputDirectory = outputDirectory;
+		this.endTick = SimulationBuilder.END_TICK;
+	}
+
+	/**
+	 * Set end tick. It defaults to the end tick of the Repast scenario.
+	 * 
+	 * @param endTick End tick
+	 */
+	public void setEndTick(double endTick) {
+		this.endTick = endTick;
+	}
+
+	/**
+	 * Run the simulation up to the end tick and write the epidemic and
+	 * density outputs
+	 */
+	public void run() throws IOException {
+		StageTimer stageTimer = new StageTimer();
+		long runStart = stageTimer.start();
+		HeadlessSetup setup = setUp(this.configuration, stageTimer, null);
+		HeadlessEventKernel kernel = setup.kernel;
+		// Schedule recorders
+		setup.simulationBuilder.scheduleMetrics(this.endTick);
+		setup.simulationBuilder.scheduleDayEvents();
+		HeadlessRecorder recorder = new HeadlessRecorder(this.run,
+				this.outputDirectory, setup.members,
+				getDensityMeters(setup.campus));
+		kernel.addSampler(0, recorder.getDensitySampler());
+		kernel.addSampler(1, recorder.getEpidemicSampler());
+		SimulationMonitor monitor = new SimulationMonitor(kernel,
+				setup.members, setup.campusPolygons);
+		monitor.register("run" + this.run);
+		// Run
+		long simulationStart = stageTimer.start();
+		try {
+			kernel.run(this.endTick);
+		} finally {
+			kernel.shutdown();
+			recorder.close();
+			setup.simulationBuilder.endRun(monitor);
+		}
+		stageTimer.record("Simulation", simulationStart);
+		this.executedEvents = kernel.getExecutedEvents();
+		this.infectionQueries = setup.campusGeography.countQueries();
+		stageTimer.record("Run (wall)", runStart);
+		stageTimer.report("Headless run stages");
+		System.out.printf("Executed events: %d%n", this.executedEvents);
+		System.out.printf("Infection queries: %d%n", this.infectionQueries);
+		System.out.printf("Fast-forwarded ticks: %d%n",
+				kernel.getFastForwardedTicks());
+		if (this.configuration.isParallelDispatch()) {
+			System.out.printf("Parallel batches: %d%n",
+					kernel.getParallelBatches());
+		}
+	}
+
+	/**
+	 * Build a headless simulation: a new event kernel, the campus and the
+	 * population, with the agents scheduled to initialize at tick 0. The
+	 * kernel runs one event at a time, as Repast does, unless parallel
+	 * dispatch is enabled, and fast-forwards idle ticks if enabled.
+	 * Recorders aren't scheduled.
+	 * 
+	 * @param configuration Run configuration
+	 * @param stageTimer    Stage timer of the campus and population stages
+	 * @param listener      Setup listener, or null
+	 */
+	public static HeadlessSetup setUp(RunConfiguration configuration,
+			StageTimer stageTimer, SetupListener listener) {
+		HeadlessSetup setup = new HeadlessSetup();
+		setup.kernel = new HeadlessEventKernel();
+		EventScheduler.getInstance().setKernel(setup.kernel);
+		// Build simulation
+		setup.simulationBuilder = new SimulationBuilder();
+		setup.simulationBuilder.configuration = configuration;
+		setup.campusGeography = new PlainCampusGeography(
+				configuration.getInfectionRadius());
+		setup.simulationBuilder.campusGeography = setup.campusGeography;
+		long loadStart = stageTimer.start();
+		setup.campus = setup.simulationBuilder.loadCampus(stageTimer);
+		stageTimer.record("Campus (wall)", loadStart);
+		setup.simulationBuilder.initCampus(setup.campus);
+		setup.campusPolygons = setup.campus.getCampusPolygons();
+		if (listener != null) {
+			listener.onCampus(setup.campus);
+		}
+		long populationStart = stageTimer.start();
+		setup.members = setup.simulationBuilder.createPopulation();
+		stageTimer.record("Population", populationStart);
+		if (listener != null) {
+			listener.onPopulation(setup.members);
+		}
+		// Schedule agents
+		for (CommunityMember member : setup.members) {
+			setup.kernel.scheduleOneTime(0, member, "init");
+		}
+		if (configuration.isParallelDispatch()) {
+			setup.kernel.setParallelDispatch(new AgentDispatchPolicy(),
+					configuration.getWorkerThreads());
+		}
+		if (configuration.isIdleFastForward()) {
+			List<GISPolygon> campusPolygons = setup.campusPolygons;
+			setup.kernel.setIdleCondition(
+					() -> isCampusEmpty(campusPolygons));
+		}
+		return setup;
+	}
+
+	/**
+	 * Get executed events in the last run
+	 */
+	public long getExecutedEvents() {
+		return this.executedEvents;
+	}
+
+	/**
+	 * Get infection queries in the last run
+	 */
+	public long getInfectionQueries() {
+		return this.infectionQueries;
+	}
+
+	/**
+	 * Get the density meters of the campus, in layer order and without
+	 * duplicates
+	 * 
+	 * @param campus Campus
+	 */
+	public static List<GISDensityMeter> getDensityMeters(Campus campus) {
+		List<GISDensityMeter> densityMeters = new ArrayList<>();
+		for (GISPolygon polygon : campus.getPolygons()) {
+			if (polygon instanceof GISDensityMeter) {
+				densityMeters.add((GISDensityMeter) polygon);
+			}
+		}
+		return densityMeters;
+	}
+
+	/**
+	 * Is the campus empty? Off-campus agents are in the limbos.
+	 * 
+	 * @param campusPolygons Polygons on campus
+	 */
+	public static boolean isCampusEmpty(List<GISPolygon> campusPolygons) {
+		for (GISPolygon polygon : campusPolygons) {
+			if (polygon.countAgents() > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Run a headless simulation. Arguments are key=value pairs: run, output,
+	 * idleFastForward, parallelDispatch (false by default, which keeps
+	 * Repast's one-event-at-a-time order) and any parameter id of
+	 * parameters.xml (randomSeed included).
+	 * 
+	 * @param args Arguments
+	 */
+	public static void main(String[] args) {
+		RunConfiguration.Builder builder = new RunConfiguration.Builder();
+		int run = 1;
+		String outputDirectory = DEFAULT_OUTPUT_DIRECTORY;
+		for (String arg : args) {
+			int separator = arg.indexOf('=');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Invalid argument: " + arg);
+			}
+			String key = arg.substring(0, separator);
+			String value = arg.substring(separator + 1);
+			if (key.equals("run")) {
+				run = Integer.parseInt(value);
+			} else if (key.equals("output")) {
+				outputDirectory = value;
+			} else {
+				setParameter(builder, key, value);
+			}
+		}
+		HeadlessSimulation simulation = new HeadlessSimulation(
+				builder.build(), run, outputDirectory);
+		try {
+			simulation.run();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Set a parameter in a run configuration builder
+	 * 
+	 * @param builder Run configuration builder
+	 * @param key     Parameter id
+	 * @param value   Parameter value
+	 */
+	public static void setParameter(RunConfiguration.Builder builder,
+			String key, String value) {
+		switch (key) {
+		case "randomSeed":
+			builder.randomSeed(Integer.parseInt(value));
+			break;
+		case "exposedStudents":
+			builder.exposedStudents(Integer.parseInt(value));
+			break;
+		case "susceptibleStudents":
+			builder.susceptibleStudents(Integer.parseInt(value));
+			break;
+		case "susceptibleStaffers":
+			builder.susceptibleStaffers(Integer.parseInt(value));
+			break;
+		case "infectionRadius":
+			builder.infectionRadius(Double.parseDouble(value));
+			break;
+		case "particleExpulsionInterval":
+			builder.particleExpulsionInterval(Double.parseDouble(value));
+			break;
+		case "vehicleUsageRatio":
+			builder.vehicleUsageRatio(Double.parseDouble(value));
+			break;
+		case "socialDistancing":
+			builder.socialDistancing(Double.parseDouble(value));
+			break;
+		case "selectionStrategy":
+			builder.selectionStrategy(
+					ParametersAdapter.parseSelectionStrategy(value));
+			break;
+		case "learningStyle":
+			builder.learningStyle(ParametersAdapter.parseLearningStyle(value));
+			break;
+		case "epsilon":
+			builder.epsilon(Double.parseDouble(value));
+			break;
+		case "learningRate":
+			builder.learningRate(Double.parseDouble(value));
+			break;
+		case "discountFactor":
+			builder.discountFactor(Double.parseDouble(value));
+			break;
+		case "outbreakTick":
+			builder.outbreakTick(Double.parseDouble(value));
+			break;
+		case "minInitQValue":
+			builder.minInitQValue(Double.parseDouble(value));
+			break;
+		case "maxInitQValue":
+			builder.maxInitQValue(Double.parseDouble(value));
+			break;
+		case "workerThreads":
+			builder.workerThreads(Integer.parseInt(value));
+			break;
+		case "campusSnapshot":
+			builder.campusSnapshot(value);
+			break;
+		case "populationMode":
+			builder.populationMode(
+					ParametersAdapter.parsePopulationMode(value));
+			break;
+		case "idleFastForward":
+			builder.idleFastForward(Boolean.parseBoolean(value));
+			break;
+		case "parallelDispatch":
+			builder.parallelDispatch(Boolean.parseBoolean(value));
+			break;
+		case "lazyPositions":
+			builder.lazyPositions(Boolean.parseBoolean(value));
+			break;
+		case "detachOffCampus":
+			builder.detachOffCampus(Boolean.parseBoolean(value));
+			break;
+		case "exposureModel":
+			builder.exposureModel(ParametersAdapter.parseExposureModel(value));
+			break;
+		case "communityTransmission":
+			builder.communityTransmission(Boolean.parseBoolean(value));
+			break;
+		case "metricsMode":
+			builder.metricsMode(ParametersAdapter.parseMetricsMode(value));
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown parameter: " + key);
+		}
+	}
+
+}
\ No newline at end of file
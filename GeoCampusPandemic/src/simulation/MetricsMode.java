@@ -0,0 +1,5 @@
+package simulation;
+
+public enum MetricsMode {
+	OFF, END, DAILY
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package simulation;
 
+import model.disease.ExposureModel;
 import model.learning.LearningStyle;
 import model.learning.SelectionStrategy;
 import repast.simphony.engine.environment.RunEnvironment;
@@ -82,6 +83,46 @@ public final class ParametersAdapter {
 	 */
 	private static final String MAX_INIT_Q_VALUE_PARAM_ID = "maxInitQValue";
 
+	/**
+	 * Worker threads parameter id
+	 */
+	private static final String WORKER_THREADS_PARAM_ID = "workerThreads";
+
+	/**
+	 * Campus snapshot parameter id
+	 */
+	private static final String CAMPUS_SNAPSHOT_PARAM_ID = "campusSnapshot";
+
+	/**
+	 * Population mode parameter id
+	 */
+	private static final String POPULATION_MODE_PARAM_ID = "populationMode";
+
+	/**
+	 * Lazy positions parameter id
+	 */
+	private static final String LAZY_POSITIONS_PARAM_ID = "lazyPositions";
+
+	/**
+	 * Detach off-campus parameter id
+	 */
+	private static final String DETACH_OFF_CAMPUS_PARAM_ID = "detachOffCampus";
+
+	/**
+	 * Exposure model parameter id
+	 */
+	private static final String EXPOSURE_MODEL_PARAM_ID = "exposureModel";
+
+	/**
+	 * Community transmission parameter id
+	 */
+	private static final String COMMUNITY_TRANSMISSION_PARAM_ID = "communityTransmission";
+
+	/**
+	 * Metrics mode parameter id
+	 */
+	private static final String METRICS_MODE_PARAM_ID = "metricsMode";
+
 	/**
 	 * Private constructor
 	 */
@@ -151,12 +192,7 @@ public final class ParametersAdapter {
 	public static SelectionStrategy getSelectionStrategy() {
 		Parameters simParams = RunEnvironment.getInstance().getParameters();
 		String value = simParams.getString(SELECTION_STRATEGY_PARAM_ID);
-		if (value.equals("random")) {
-			return SelectionStrategy.RANDOM;
-		} else if (value.equals("RL-based")) {
-			return SelectionStrategy.RL_BASED;
-		}
-		return null;
+		return parseSelectionStrategy(value);
 	}
 
 	/**
@@ -165,12 +201,7 @@ public final class ParametersAdapter {
 	public static LearningStyle getLearningStyle() {
 		Parameters simParams = RunEnvironment.getInstance().getParameters();
 		String value = simParams.getString(LEARNING_STYLE_PARAM_ID);
-		if (value.equals("Q-learning")) {
-			return LearningStyle.Q_LEARNING;
-		} else if (value.equals("Bandits")) {
-			return LearningStyle.BANDITS;
-		}
-		return null;
+		return parseLearningStyle(value);
 	}
 
 	/**
@@ -221,4 +252,145 @@ public final class ParametersAdapter {
 		return simParams.getDouble(MAX_INIT_Q_VALUE_PARAM_ID);
 	}
 
+	/**
+	 * Get worker threads
+	 */
+	public static int getWorkerThreads() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getInteger(WORKER_THREADS_PARAM_ID);
+	}
+
+	/**
+	 * Get campus snapshot path. An empty path disables the snapshot.
+	 */
+	public static String getCampusSnapshot() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getString(CAMPUS_SNAPSHOT_PARAM_ID);
+	}
+
+	/**
+	 * Get population mode
+	 */
+	public static PopulationMode getPopulationMode() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		String value = simParams.getString(POPULATION_MODE_PARAM_ID);
+		return parsePopulationMode(value);
+	}
+
+	/**
+	 * Get lazy positions flag
+	 */
+	public static boolean getLazyPositions() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getBoolean(LAZY_POSITIONS_PARAM_ID);
+	}
+
+	/**
+	 * Get detach off-campus flag
+	 */
+	public static boolean getDetachOffCampus() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getBoolean(DETACH_OFF_CAMPUS_PARAM_ID);
+	}
+
+	/**
+	 * Get exposure model
+	 */
+	public static ExposureModel getExposureModel() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		String value = simParams.getString(EXPOSURE_MODEL_PARAM_ID);
+		return parseExposureModel(value);
+	}
+
+	/**
+	 * Get community transmission flag
+	 */
+	public static boolean getCommunityTransmission() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		return simParams.getBoolean(COMMUNITY_TRANSMISSION_PARAM_ID);
+	}
+
+	/**
+	 * Get metrics mode
+	 */
+	public static MetricsMode getMetricsMode() {
+		Parameters simParams = RunEnvironment.getInstance().getParameters();
+		String value = simParams.getString(METRICS_MODE_PARAM_ID);
+		return parseMetricsMode(value);
+	}
+
+	/**
+	 * Parse selection strategy. It returns null if the value is unknown.
+	 * 
+	 * @param value Parameter value
+	 */
+	public static SelectionStrategy parseSelectionStrategy(String value) {
+		if (value.equals("random")) {
+			return SelectionStrategy.RANDOM;
+		} else if (value.equals("RL-based")) {
+			return SelectionStrategy.RL_BASED;
+		}
+		return null;
+	}
+
+	/**
+	 * Parse learning style. It returns null if the value is unknown.
+	 * 
+	 * @param value Parameter value
+	 */
+	public static LearningStyle parseLearningStyle(String value) {
+		if (value.equals("Q-learning")) {
+			return LearningStyle.Q_LEARNING;
+		} else if (value.equals("Bandits")) {
+			return LearningStyle.BANDITS;
+		}
+		return null;
+	}
+
+	/**
+	 * Parse population mode. It returns null if the value is unknown.
+	 * 
+	 * @param value Parameter value
+	 */
+	public static PopulationMode parsePopulationMode(String value) {
+		if (value.equals("random")) {
+			return PopulationMode.RANDOM;
+		} else if (value.equals("heuristic")) {
+			return PopulationMode.HEURISTIC;
+		}
+		return null;
+	}
+
+	/**
+	 * Parse exposure model. It returns null if the value is unknown.
+	 * 
+	 * @param value Parameter value
+	 */
+	public static ExposureModel parseExposureModel(String value) {
+		if (value.equals("proximity")) {
+			return ExposureModel.PROXIMITY;
+		} else if (value.equals("overlap")) {
+			return ExposureModel.OVERLAP;
+		} else if (value.equals("aerosol")) {
+			return ExposureModel.AEROSOL;
+		}
+		return null;
+	}
+
+	/**
+	 * Parse metrics mode. It returns null if the value is unknown.
+	 * 
+	 * @param value Parameter value
+	 */
+	public static MetricsMode parseMetricsMode(String value) {
+		if (value.equals("off")) {
+			return MetricsMode.OFF;
+		} else if (value.equals("end")) {
+			return MetricsMode.END;
+		} else if (value.equals("daily")) {
+			return MetricsMode.DAILY;
+		}
+		return null;
+	}
+
 }
\ No newline at end of file
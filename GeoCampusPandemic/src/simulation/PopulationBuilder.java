@@ -0,0 +1,226 @@
+package simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import cern.jet.random.engine.RandomEngine;
+import config.SourcePaths;
+import datasource.Reader;
+import model.agents.GroupIndex;
+import model.agents.Schedule;
+import model.agents.Staffer;
+import model.agents.Student;
+import model.disease.Compartment;
+import model.util.AgentRandom;
+import model.util.Heuristics;
+import model.util.RandomPurpose;
+import model.util.RandomStreams;
+import model.util.Randomizer;
+import util.ParallelUtil;
+
+public class PopulationBuilder {
+
+	/**
+	 * First agent id of students
+	 */
+	public static final long STUDENT_KEYS = 0;
+
+	/**
+	 * First agent id of staffers
+	 */
+	public static final long STAFFER_KEYS = 1L << 32;
+
+	/**
+	 * Student id order. Numeric ids are sorted by value.
+	 */
+	private static final Comparator<String> STUDENT_ID_ORDER = Comparator
+			.comparingInt(String::length)
+			.thenComparing(Comparator.naturalOrder());
+
+	/**
+	 * Reference to simulation builder
+	 */
+	private SimulationBuilder simulationBuilder;
+
+	/**
+	 * Run configuration
+	 */
+	private RunConfiguration configuration;
+
+	/**
+	 * Run seed
+	 */
+	private int runSeed;
+
+	/**
+	 * Number of worker threads
+	 */
+	private int threads;
+
+	/**
+	 * Create a new population builder. Every agent draws its attributes from
+	 * its own streams, keyed by the run seed and the agent's id, so the
+	 * population only depends on the seed and not on the number of threads.
+	 * 
+	 * @param simulationBuilder Reference to the simulation builder
+	 */
+	public PopulationBuilder(SimulationBuilder simulationBuilder) {
+		this.simulationBuilder = simulationBuilder;
+		this.configuration = simulationBuilder.configuration;
+		this.runSeed = this.configuration.getRandomSeed();
+		this.threads = this.configuration.getWorkerThreads();
+	}
+
+	/**
+	 * Create students according to the population mode
+	 */
+	public List<Student> createStudents() {
+		if (this.configuration
+				.getPopulationMode() == PopulationMode.HEURISTIC) {
+			return createHeuristicStudents();
+		}
+		return createRandomStudents();
+	}
+
+	/**
+	 * Create students with random schedules. Students are built in parallel
+	 * chunks. Seats are then reserved in order of index, because the groups
+	 * a student gets depend on the seats taken by the students before.
+	 */
+	private List<Student> createRandomStudents() {
+		int exposedStudents = this.configuration.getExposedStudents();
+		int susceptibleStudents = this.configuration.getSusceptibleStudents();
+		double outbreakTick = this.configuration.getOutbreakTick();
+		int size = exposedStudents + susceptibleStudents;
+		Student[] students = new Student[size];
+		RandomEngine[] streams = new RandomEngine[size];
+		int[] groupsToEnroll = new int[size];
+		ParallelUtil.forEachChunk(size, this.threads, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				AgentRandom random = new AgentRandom(this.runSeed,
+						STUDENT_KEYS + i);
+				Compartment compartment = Compartment.SUSCEPTIBLE;
+				String id = Integer.toString(i - exposedStudents);
+				if (i < exposedStudents) {
+					compartment = Compartment.EXPOSED;
+					id = Integer.toString(i);
+				}
+				students[i] = new Student(this.simulationBuilder, compartment,
+						id, outbreakTick, random);
+				groupsToEnroll[i] = Randomizer.getRandomGroupsToEnrollTo(
+						random.get(RandomPurpose.ATTRIBUTES));
+				streams[i] = random.get(RandomPurpose.SCHEDULE);
+			}
+		});
+		// Reserve seats
+		GroupIndex groupIndex = new GroupIndex(this.simulationBuilder.groups);
+		List<Student> enrolledStudents = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Schedule schedule = Heuristics.buildRandomSchedule(groupIndex,
+					groupsToEnroll[i], streams[i]);
+			streams[i] = null;
+			if (schedule.getGroupCount() > 0) {
+				students[i].setSchedule(schedule);
+				enrolledStudents.add(students[i]);
+			}
+		}
+		return enrolledStudents;
+	}
+
+	/**
+	 * Create students with the schedules in the schedule selection database.
+	 * Schedules are resolved and students are built in parallel chunks, in
+	 * order of id. Exposed students are drawn among the students enrolled in
+	 * at least one group. The population size is set by the database, so the
+	 * number of susceptible students doesn't apply.
+	 */
+	private List<Student> createHeuristicStudents() {
+		Map<String, List<String>> scheduleSelection = Reader
+				.readScheduleSelectionDatabase(
+						SourcePaths.SCHEDULE_SELECTION_DATABASE);
+		List<String> studentIds = new ArrayList<>(scheduleSelection.keySet());
+		studentIds.sort(STUDENT_ID_ORDER);
+		int size = studentIds.size();
+		// Resolve schedules
+		GroupIndex groupIndex = new GroupIndex(this.simulationBuilder.groups);
+		Schedule[] schedules = new Schedule[size];
+		Set<String> unmatchedGroups = ConcurrentHashMap.newKeySet();
+		ParallelUtil.forEachChunk(size, this.threads, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				schedules[i] = Heuristics.buildHeuristicSchedule(
+						scheduleSelection.get(studentIds.get(i)), groupIndex,
+						unmatchedGroups);
+			}
+		});
+		if (!unmatchedGroups.isEmpty()) {
+			List<String> unmatched = new ArrayList<>(unmatchedGroups);
+			unmatched.sort(null);
+			System.out.printf(
+					"Schedule selection: %d group ids not found in groups: %s%n",
+					unmatched.size(), unmatched);
+		}
+		List<Integer> enrolled = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			if (schedules[i].getGroupCount() > 0) {
+				enrolled.add(i);
+			}
+		}
+		int exposedStudents = this.configuration.getExposedStudents();
+		System.out.printf(
+				"Schedule selection: %d enrolled students, %d exposed "
+						+ "(susceptibleStudents doesn't apply)%n",
+				enrolled.size(), Math.min(exposedStudents, enrolled.size()));
+		// Pick exposed students
+		double outbreakTick = this.configuration.getOutbreakTick();
+		RandomEngine populationRandom = RandomStreams.create(this.runSeed,
+				RandomStreams.POPULATION_KEY, RandomPurpose.DISEASE);
+		Set<Integer> exposed = Randomizer.getRandomSubset(enrolled.size(),
+				exposedStudents, populationRandom);
+		// Build students
+		Student[] students = new Student[enrolled.size()];
+		ParallelUtil.forEachChunk(students.length, this.threads,
+				(from, to) -> {
+					for (int j = from; j < to; j++) {
+						int i = enrolled.get(j);
+						Compartment compartment = exposed.contains(j)
+								? Compartment.EXPOSED
+								: Compartment.SUSCEPTIBLE;
+						AgentRandom random = new AgentRandom(this.runSeed,
+								STUDENT_KEYS + i);
+						students[j] = new Student(this.simulationBuilder,
+								compartment, studentIds.get(i), outbreakTick,
+								random);
+						students[j].setSchedule(schedules[i]);
+					}
+				});
+		return new ArrayList<>(Arrays.asList(students));
+	}
+
+	/**
+	 * Create staffers. Staffers are built in parallel chunks.
+	 */
+	public List<Staffer> createStaffers() {
+		double outbreakTick = this.configuration.getOutbreakTick();
+		int susceptibleStaffers = this.configuration.getSusceptibleStaffers();
+		Staffer[] staffers = new Staffer[susceptibleStaffers];
+		ParallelUtil.forEachChunk(susceptibleStaffers, this.threads,
+				(from, to) -> {
+					for (int i = from; i < to; i++) {
+						AgentRandom random = new AgentRandom(this.runSeed,
+								STAFFER_KEYS + i);
+						staffers[i] = new Staffer(this.simulationBuilder,
+								Compartment.SUSCEPTIBLE, outbreakTick, random);
+					}
+				});
+		List<Staffer> stafferList = new ArrayList<>();
+		for (Staffer staffer : staffers) {
+			stafferList.add(staffer);
+		}
+		return stafferList;
+	}
+
+}
\ No newline at end of file
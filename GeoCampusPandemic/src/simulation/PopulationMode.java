@@ -0,0 +1,5 @@
+package simulation;
+
+public enum PopulationMode {
+	RANDOM, HEURISTIC
+}
\ No newline at end of file
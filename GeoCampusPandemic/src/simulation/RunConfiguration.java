@@ -0,0 +1,868 @@
+package simulation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import model.disease.ExposureModel;
+import model.learning.LearningStyle;
+import model.learning.SelectionStrategy;
+import repast.simphony.random.RandomHelper;
+
+public final class RunConfiguration {
+
+	/**
+	 * Run seed
+	 */
+	private final int randomSeed;
+
+	/**
+	 * Exposed students
+	 */
+	private final int exposedStudents;
+
+	/**
+	 * Susceptible students
+	 */
+	private final int susceptibleStudents;
+
+	/**
+	 * Susceptible staffers
+	 */
+	private final int susceptibleStaffers;
+
+	/**
+	 * Infection radius (unit: meters)
+	 */
+	private final double infectionRadius;
+
+	/**
+	 * Particle expulsion interval (unit: minutes)
+	 */
+	private final double particleExpulsionInterval;
+
+	/**
+	 * Vehicle usage ratio
+	 */
+	private final double vehicleUsageRatio;
+
+	/**
+	 * Social distancing (unit: meters)
+	 */
+	private final double socialDistancing;
+
+	/**
+	 * Selection strategy
+	 */
+	private final SelectionStrategy selectionStrategy;
+
+	/**
+	 * Learning style
+	 */
+	private final LearningStyle learningStyle;
+
+	/**
+	 * Epsilon
+	 */
+	private final double epsilon;
+
+	/**
+	 * Learning rate
+	 */
+	private final double learningRate;
+
+	/**
+	 * Discount factor
+	 */
+	private final double discountFactor;
+
+	/**
+	 * Outbreak tick
+	 */
+	private final double outbreakTick;
+
+	/**
+	 * Minimum initial Q-value
+	 */
+	private final double minInitQValue;
+
+	/**
+	 * Maximum initial Q-value
+	 */
+	private final double maxInitQValue;
+
+	/**
+	 * Worker threads. Zero means all the available processors.
+	 */
+	private final int workerThreads;
+
+	/**
+	 * Campus snapshot path. An empty path disables the snapshot.
+	 */
+	private final String campusSnapshot;
+
+	/**
+	 * Population mode
+	 */
+	private final PopulationMode populationMode;
+
+	/**
+	 * Idle fast-forward flag. Headless runs only: the Repast scheduler always
+	 * steps every tick.
+	 */
+	private final boolean idleFastForward;
+
+	/**
+	 * Parallel dispatch flag. Headless runs only. Same-tick agent events run
+	 * in batches, whose results don't depend on the number of threads but
+	 * differ from the one-event-at-a-time order of sequential runs.
+	 */
+	private final boolean parallelDispatch;
+
+	/**
+	 * Lazy positions flag. Positions in transit areas and parking lots are
+	 * drawn only when a query needs them.
+	 */
+	private final boolean lazyPositions;
+
+	/**
+	 * Detach off-campus flag. Agents in a limbo and dead agents are removed
+	 * from the spatial index. Headless runs only: the Repast build rejects
+	 * it.
+	 */
+	private final boolean detachOffCampus;
+
+	/**
+	 * Exposure model
+	 */
+	private final ExposureModel exposureModel;
+
+	/**
+	 * Community transmission flag. Each limbo runs a mean-field process of
+	 * the community off campus.
+	 */
+	private final boolean communityTransmission;
+
+	/**
+	 * Metrics mode
+	 */
+	private final MetricsMode metricsMode;
+
+	/**
+	 * Create a new run configuration
+	 * 
+	 * @param builder Run configuration builder
+	 */
+	private RunConfiguration(Builder builder) {
+		this.randomSeed = builder.randomSeed;
+		this.exposedStudents = builder.exposedStudents;
+		this.susceptibleStudents = builder.susceptibleStudents;
+		this.susceptibleStaffers = builder.susceptibleStaffers;
+		this.infectionRadius = builder.infectionRadius;
+		this.particleExpulsionInterval = builder.particleExpulsionInterval;
+		this.vehicleUsageRatio = builder.vehicleUsageRatio;
+		this.socialDistancing = builder.socialDistancing;
+		this.selectionStrategy = builder.selectionStrategy;
+		this.learningStyle = builder.learningStyle;
+		this.epsilon = builder.epsilon;
+		this.learningRate = builder.learningRate;
+		this.discountFactor = builder.discountFactor;
+		this.outbreakTick = builder.outbreakTick;
+		this.minInitQValue = builder.minInitQValue;
+		this.maxInitQValue = builder.maxInitQValue;
+		this.workerThreads = builder.workerThreads;
+		this.campusSnapshot = builder.campusSnapshot;
+		this.populationMode = builder.populationMode;
+		this.idleFastForward = builder.idleFastForward;
+		this.parallelDispatch = builder.parallelDispatch;
+		this.lazyPositions = builder.lazyPositions;
+		this.detachOffCampus = builder.detachOffCampus;
+		this.exposureModel = builder.exposureModel;
+		this.communityTransmission = builder.communityTransmission;
+		this.metricsMode = builder.metricsMode;
+	}
+
+	/**
+	 * Resolve the run configuration from the Repast parameters. It must be
+	 * called once per run, when the parameters are already set.
+	 */
+	public static RunConfiguration fromParameters() {
+		return new Builder().randomSeed(RandomHelper.getSeed())
+				.exposedStudents(ParametersAdapter.getExposedStudents())
+				.susceptibleStudents(
+						ParametersAdapter.getSusceptibleStudents())
+				.susceptibleStaffers(
+						ParametersAdapter.getSusceptibleStaffers())
+				.infectionRadius(ParametersAdapter.getInfectionRadius())
+				.particleExpulsionInterval(
+						ParametersAdapter.getParticleExpulsionInterval())
+				.vehicleUsageRatio(ParametersAdapter.getVehicleUsageRatio())
+				.socialDistancing(ParametersAdapter.getSocialDistancing())
+				.selectionStrategy(ParametersAdapter.getSelectionStrategy())
+				.learningStyle(ParametersAdapter.getLearningStyle())
+				.epsilon(ParametersAdapter.getEpsilon())
+				.learningRate(ParametersAdapter.getLearningRate())
+				.discountFactor(ParametersAdapter.getDiscountFactor())
+				.outbreakTick(ParametersAdapter.getOutbreakTick())
+				.minInitQValue(ParametersAdapter.getMinimumInitialQValue())
+				.maxInitQValue(ParametersAdapter.getMaximumInitialQValue())
+				.workerThreads(ParametersAdapter.getWorkerThreads())
+				.campusSnapshot(ParametersAdapter.getCampusSnapshot())
+				.populationMode(ParametersAdapter.getPopulationMode())
+				.lazyPositions(ParametersAdapter.getLazyPositions())
+				.detachOffCampus(ParametersAdapter.getDetachOffCampus())
+				.exposureModel(ParametersAdapter.getExposureModel())
+				.communityTransmission(
+						ParametersAdapter.getCommunityTransmission())
+				.metricsMode(ParametersAdapter.getMetricsMode())
+				.build();
+	}
+
+	/**
+	 * Get run seed
+	 */
+	public int getRandomSeed() {
+		return this.randomSeed;
+	}
+
+	/**
+	 * Get exposed students
+	 */
+	public int getExposedStudents() {
+		return this.exposedStudents;
+	}
+
+	/**
+	 * Get susceptible students
+	 */
+	public int getSusceptibleStudents() {
+		return this.susceptibleStudents;
+	}
+
+	/**
+	 * Get susceptible staffers
+	 */
+	public int getSusceptibleStaffers() {
+		return this.susceptibleStaffers;
+	}
+
+	/**
+	 * Get infection radius
+	 */
+	public double getInfectionRadius() {
+		return this.infectionRadius;
+	}
+
+	/**
+	 * Get particle expulsion interval
+	 */
+	public double getParticleExpulsionInterval() {
+		return this.particleExpulsionInterval;
+	}
+
+	/**
+	 * Get vehicle usage ratio
+	 */
+	public double getVehicleUsageRatio() {
+		return this.vehicleUsageRatio;
+	}
+
+	/**
+	 * Get social distancing
+	 */
+	public double getSocialDistancing() {
+		return this.socialDistancing;
+	}
+
+	/**
+	 * Get selection strategy
+	 */
+	public SelectionStrategy getSelectionStrategy() {
+		return this.selectionStrategy;
+	}
+
+	/**
+	 * Get learning style
+	 */
+	public LearningStyle getLearningStyle() {
+		return this.learningStyle;
+	}
+
+	/**
+	 * Get epsilon
+	 */
+	public double getEpsilon() {
+		return this.epsilon;
+	}
+
+	/**
+	 * Get learning rate
+	 */
+	public double getLearningRate() {
+		return this.learningRate;
+	}
+
+	/**
+	 * Get discount factor
+	 */
+	public double getDiscountFactor() {
+		return this.discountFactor;
+	}
+
+	/**
+	 * Get outbreak tick
+	 */
+	public double getOutbreakTick() {
+		return this.outbreakTick;
+	}
+
+	/**
+	 * Get minimum initial Q-value
+	 */
+	public double getMinimumInitialQValue() {
+		return this.minInitQValue;
+	}
+
+	/**
+	 * Get maximum initial Q-value
+	 */
+	public double getMaximumInitialQValue() {
+		return this.maxInitQValue;
+	}
+
+	/**
+	 * Get worker threads
+	 */
+	public int getWorkerThreads() {
+		return this.workerThreads;
+	}
+
+	/**
+	 * Get campus snapshot path
+	 */
+	public String getCampusSnapshot() {
+		return this.campusSnapshot;
+	}
+
+	/**
+	 * Get population mode
+	 */
+	public PopulationMode getPopulationMode() {
+		return this.populationMode;
+	}
+
+	/**
+	 * Is idle fast-forward enabled?
+	 */
+	public boolean isIdleFastForward() {
+		return this.idleFastForward;
+	}
+
+	/**
+	 * Is parallel dispatch enabled?
+	 */
+	public boolean isParallelDispatch() {
+		return this.parallelDispatch;
+	}
+
+	/**
+	 * Are lazy positions enabled?
+	 */
+	public boolean isLazyPositions() {
+		return this.lazyPositions;
+	}
+
+	/**
+	 * Are off-campus agents detached from the spatial index?
+	 */
+	public boolean isDetachOffCampus() {
+		return this.detachOffCampus;
+	}
+
+	/**
+	 * Get exposure model
+	 */
+	public ExposureModel getExposureModel() {
+		return this.exposureModel;
+	}
+
+	/**
+	 * Is community transmission enabled?
+	 */
+	public boolean isCommunityTransmission() {
+		return this.communityTransmission;
+	}
+
+	/**
+	 * Get metrics mode
+	 */
+	public MetricsMode getMetricsMode() {
+		return this.metricsMode;
+	}
+
+	/**
+	 * Get the parameters by parameter id
+	 */
+	public Map<String, Object> getParameters() {
+		Map<String, Object> parameters = new LinkedHashMap<>();
+		parameters.put("randomSeed", this.randomSeed);
+		parameters.put("exposedStudents", this.exposedStudents);
+		parameters.put("susceptibleStudents", this.susceptibleStudents);
+		parameters.put("susceptibleStaffers", this.susceptibleStaffers);
+		parameters.put("infectionRadius", this.infectionRadius);
+		parameters.put("particleExpulsionInterval",
+				this.particleExpulsionInterval);
+		parameters.put("vehicleUsageRatio", this.vehicleUsageRatio);
+		parameters.put("socialDistancing", this.socialDistancing);
+		parameters.put("selectionStrategy", this.selectionStrategy);
+		parameters.put("learningStyle", this.learningStyle);
+		parameters.put("epsilon", this.epsilon);
+		parameters.put("learningRate", this.learningRate);
+		parameters.put("discountFactor", this.discountFactor);
+		parameters.put("outbreakTick", this.outbreakTick);
+		parameters.put("minInitQValue", this.minInitQValue);
+		parameters.put("maxInitQValue", this.maxInitQValue);
+		parameters.put("workerThreads", this.workerThreads);
+		parameters.put("campusSnapshot", this.campusSnapshot);
+		parameters.put("populationMode", this.populationMode);
+		parameters.put("idleFastForward", this.idleFastForward);
+		parameters.put("parallelDispatch", this.parallelDispatch);
+		parameters.put("lazyPositions", this.lazyPositions);
+		parameters.put("detachOffCampus", this.detachOffCampus);
+		parameters.put("exposureModel", this.exposureModel);
+		parameters.put("communityTransmission", this.communityTransmission);
+		parameters.put("metricsMode", this.metricsMode);
+		return parameters;
+	}
+
+	/**
+	 * Run configuration builder. Defaults match the model parameters in
+	 * parameters.xml.
+	 */
+	public static class Builder {
+
+		/**
+		 * Run seed
+		 */
+		private int randomSeed = 1;
+
+		/**
+		 * Exposed students
+		 */
+		private int exposedStudents = 1;
+
+		/**
+		 * Susceptible students
+		 */
+		private int susceptibleStudents = 10000;
+
+		/**
+		 * Susceptible staffers
+		 */
+		private int susceptibleStaffers = 200;
+
+		/**
+		 * Infection radius (unit: meters)
+		 */
+		private double infectionRadius = 2.0;
+
+		/**
+		 * Particle expulsion interval (unit: minutes)
+		 */
+		private double particleExpulsionInterval = 15;
+
+		/**
+		 * Vehicle usage ratio
+		 */
+		private double vehicleUsageRatio = 0.3;
+
+		/**
+		 * Social distancing (unit: meters)
+		 */
+		private double socialDistancing = 2.0;
+
+		/**
+		 * Selection strategy
+		 */
+		private SelectionStrategy selectionStrategy =
+				SelectionStrategy.RL_BASED;
+
+		/**
+		 * Learning style
+		 */
+		private LearningStyle learningStyle = LearningStyle.Q_LEARNING;
+
+		/**
+		 * Epsilon
+		 */
+		private double epsilon = 0.1;
+
+		/**
+		 * Learning rate
+		 */
+		private double learningRate = 0.1;
+
+		/**
+		 * Discount factor
+		 */
+		private double discountFactor = 0.8;
+
+		/**
+		 * Outbreak tick
+		 */
+		private double outbreakTick = 1440;
+
+		/**
+		 * Minimum initial Q-value
+		 */
+		private double minInitQValue = 0.0;
+
+		/**
+		 * Maximum initial Q-value
+		 */
+		private double maxInitQValue = 0.0;
+
+		/**
+		 * Worker threads
+		 */
+		private int workerThreads = 0;
+
+		/**
+		 * Campus snapshot path
+		 */
+		private String campusSnapshot = "";
+
+		/**
+		 * Population mode
+		 */
+		private PopulationMode populationMode = PopulationMode.RANDOM;
+
+		/**
+		 * Idle fast-forward flag
+		 */
+		private boolean idleFastForward = true;
+
+		/**
+		 * Parallel dispatch flag
+		 */
+		private boolean parallelDispatch = false;
+
+		/**
+		 * Lazy positions flag
+		 */
+		private boolean lazyPositions = false;
+
+		/**
+		 * Detach off-campus flag
+		 */
+		private boolean detachOffCampus = false;
+
+		/**
+		 * Exposure model
+		 */
+		private ExposureModel exposureModel = ExposureModel.PROXIMITY;
+
+		/**
+		 * Community transmission flag
+		 */
+		private boolean communityTransmission = false;
+
+		/**
+		 * Metrics mode
+		 */
+		private MetricsMode metricsMode = MetricsMode.OFF;
+
+		/**
+		 * Set run seed
+		 * 
+		 * @param randomSeed Run seed
+		 */
+		public Builder randomSeed(int randomSeed) {
+			this.randomSeed = randomSeed;
+			return this;
+		}
+
+		/**
+		 * Set exposed students
+		 * 
+		 * @param exposedStudents Exposed students
+		 */
+		public Builder exposedStudents(int exposedStudents) {
+			this.exposedStudents = exposedStudents;
+			return this;
+		}
+
+		/**
+		 * Set susceptible students
+		 * 
+		 * @param susceptibleStudents Susceptible students
+		 */
+		public Builder susceptibleStudents(int susceptibleStudents) {
+			this.susceptibleStudents = susceptibleStudents;
+			return this;
+		}
+
+		/**
+		 * Set susceptible staffers
+		 * 
+		 * @param susceptibleStaffers Susceptible staffers
+		 */
+		public Builder susceptibleStaffers(int susceptibleStaffers) {
+			this.susceptibleStaffers = susceptibleStaffers;
+			return this;
+		}
+
+		/**
+		 * Set infection radius
+		 * 
+		 * @param infectionRadius Infection radius (unit: meters)
+		 */
+		public Builder infectionRadius(double infectionRadius) {
+			this.infectionRadius = infectionRadius;
+			return this;
+		}
+
+		/**
+		 * Set particle expulsion interval
+		 * 
+		 * @param particleExpulsionInterval Particle expulsion interval (unit:
+		 *                                  minutes)
+		 */
+		public Builder particleExpulsionInterval(
+				double particleExpulsionInterval) {
+			this.particleExpulsionInterval = particleExpulsionInterval;
+			return this;
+		}
+
+		/**
+		 * Set vehicle usage ratio
+		 * 
+		 * @param vehicleUsageRatio Vehicle usage ratio
+		 */
+		public Builder vehicleUsageRatio(double vehicleUsageRatio) {
+			this.vehicleUsageRatio = vehicleUsageRatio;
+			return this;
+		}
+
+		/**
+		 * Set social distancing
+		 * 
+		 * @param socialDistancing Social distancing (unit: meters)
+		 */
+		public Builder socialDistancing(double socialDistancing) {
+			this.socialDistancing = socialDistancing;
+			return this;
+		}
+
+		/**
+		 * Set selection strategy
+		 * 
+		 * @param selectionStrategy Selection strategy
+		 */
+		public Builder selectionStrategy(
+				SelectionStrategy selectionStrategy) {
+			this.selectionStrategy = selectionStrategy;
+			return this;
+		}
+
+		/**
+		 * Set learning style
+		 * 
+		 * @param learningStyle Learning style
+		 */
+		public Builder learningStyle(LearningStyle learningStyle) {
+			this.learningStyle = learningStyle;
+			return this;
+		}
+
+		/**
+		 * Set epsilon
+		 * 
+		 * @param epsilon Epsilon
+		 */
+		public Builder epsilon(double epsilon) {
+			this.epsilon = epsilon;
+			return this;
+		}
+
+		/**
+		 * Set learning rate
+		 * 
+		 * @param learningRate Learning rate
+		 */
+		public Builder learningRate(double learningRate) {
+			this.learningRate = learningRate;
+			return this;
+		}
+
+		/**
+		 * Set discount factor
+		 * 
+		 * @param discountFactor Discount factor
+		 */
+		public Builder discountFactor(double discountFactor) {
+			this.discountFactor = discountFactor;
+			return this;
+		}
+
+		/**
+		 * Set outbreak tick
+		 * 
+		 * @param outbreakTick Outbreak tick
+		 */
+		public Builder outbreakTick(double outbreakTick) {
+			this.outbreakTick = outbreakTick;
+			return this;
+		}
+
+		/**
+		 * Set minimum initial Q-value
+		 * 
+		 * @param minInitQValue Minimum initial Q-value
+		 */
+		public Builder minInitQValue(double minInitQValue) {
+			this.minInitQValue = minInitQValue;
+			return this;
+		}
+
+		/**
+		 * Set maximum initial Q-value
+		 * 
+		 * @param maxInitQValue Maximum initial Q-value
+		 */
+		public Builder maxInitQValue(double maxInitQValue) {
+			this.maxInitQValue = maxInitQValue;
+			return this;
+		}
+
+		/**
+		 * Set worker threads
+		 * 
+		 * @param workerThreads Worker threads. Zero means all the available
+		 *                      processors.
+		 */
+		public Builder workerThreads(int workerThreads) {
+			this.workerThreads = workerThreads;
+			return this;
+		}
+
+		/**
+		 * Set campus snapshot path
+		 * 
+		 * @param campusSnapshot Campus snapshot path. An empty path disables
+		 *                       the snapshot.
+		 */
+		public Builder campusSnapshot(String campusSnapshot) {
+			this.campusSnapshot = campusSnapshot;
+			return this;
+		}
+
+		/**
+		 * Set population mode
+		 * 
+		 * @param populationMode Population mode
+		 */
+		public Builder populationMode(PopulationMode populationMode) {
+			this.populationMode = populationMode;
+			return this;
+		}
+
+		/**
+		 * Set idle fast-forward flag
+		 * 
+		 * @param idleFastForward Idle fast-forward flag
+		 */
+		public Builder idleFastForward(boolean idleFastForward) {
+			this.idleFastForward = idleFastForward;
+			return this;
+		}
+
+		/**
+		 * Set parallel dispatch flag
+		 * 
+		 * @param parallelDispatch Parallel dispatch flag
+		 */
+		public Builder parallelDispatch(boolean parallelDispatch) {
+			this.parallelDispatch = parallelDispatch;
+			return this;
+		}
+
+		/**
+		 * Set lazy positions flag. It combines with parallel dispatch: the
+		 * infection sweeps, which place pending positions, run with the
+		 * deferred effects.
+		 * 
+		 * @param lazyPositions Lazy positions flag
+		 */
+		public Builder lazyPositions(boolean lazyPositions) {
+			this.lazyPositions = lazyPositions;
+			return this;
+		}
+
+		/**
+		 * Set detach off-campus flag
+		 * 
+		 * @param detachOffCampus Detach off-campus flag
+		 */
+		public Builder detachOffCampus(boolean detachOffCampus) {
+			this.detachOffCampus = detachOffCampus;
+			return this;
+		}
+
+		/**
+		 * Set exposure model
+		 * 
+		 * @param exposureModel Exposure model
+		 */
+		public Builder exposureModel(ExposureModel exposureModel) {
+			this.exposureModel = exposureModel;
+			return this;
+		}
+
+		/**
+		 * Set community transmission flag
+		 * 
+		 * @param communityTransmission Community transmission flag
+		 */
+		public Builder communityTransmission(boolean communityTransmission) {
+			this.communityTransmission = communityTransmission;
+			return this;
+		}
+
+		/**
+		 * Set metrics mode
+		 * 
+		 * @param metricsMode Metrics mode
+		 */
+		public Builder metricsMode(MetricsMode metricsMode) {
+			this.metricsMode = metricsMode;
+			return this;
+		}
+
+		/**
+		 * Build the run configuration. It throws an exception if the learning
+		 * style, the selection strategy, the population mode, the exposure
+		 * model or the metrics mode is missing, e.g. after an unknown
+		 * parameter value.
+		 */
+		public RunConfiguration build() {
+			if (this.selectionStrategy == null) {
+				throw new IllegalArgumentException(
+						"Unknown selection strategy");
+			}
+			if (this.learningStyle == null) {
+				throw new IllegalArgumentException("Unknown learning style");
+			}
+			if (this.populationMode == null) {
+				throw new IllegalArgumentException("Unknown population mode");
+			}
+			if (this.exposureModel == null) {
+				throw new IllegalArgumentException("Unknown exposure model");
+			}
+			if (this.metricsMode == null) {
+				throw new IllegalArgumentException("Unknown metrics mode");
+			}
+			return new RunConfiguration(this);
+		}
+
+	}
+
+}
\ No newline at end of file
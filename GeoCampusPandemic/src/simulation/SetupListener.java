@@ -0,0 +1,24 @@
+package simulation;
+
+import java.util.List;
+import datasource.Campus;
+import model.agents.CommunityMember;
+
+public interface SetupListener {
+
+	/**
+	 * The campus is loaded and initialized. The population isn't created
+	 * yet.
+	 * 
+	 * @param campus Campus
+	 */
+	void onCampus(Campus campus);
+
+	/**
+	 * The population is created. Agents aren't scheduled yet.
+	 * 
+	 * @param members Community members
+	 */
+	void onPopulation(List<CommunityMember> members);
+
+}
\ No newline at end of file
@@ -4,28 +4,34 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import jdk.jfr.FlightRecorder;
 import org.jgrapht.Graph;
 import org.jgrapht.GraphPath;
 import org.jgrapht.graph.DefaultWeightedEdge;
-import org.opengis.feature.simple.SimpleFeature;
-import com.vividsolutions.jts.geom.Geometry;
-import com.vividsolutions.jts.geom.MultiPolygon;
-import config.SourcePaths;
-import datasource.Reader;
+import datasource.Campus;
+import datasource.CampusLoader;
+import datasource.CampusSnapshot;
+import engine.EventKernel;
+import engine.RepastEventKernel;
+import gis.CampusGeography;
 import gis.GISPolygon;
+import gis.RepastCampusGeography;
+import model.agents.CommunityMember;
 import model.agents.Group;
-import model.agents.Schedule;
-import model.agents.Staffer;
-import model.agents.Student;
-import model.disease.Compartment;
-import model.util.Heuristics;
+import model.disease.CommunityProcess;
+import profiling.DayEvent;
+import profiling.SimulationMonitor;
 import repast.simphony.context.Context;
 import repast.simphony.context.space.gis.GeographyFactory;
 import repast.simphony.context.space.gis.GeographyFactoryFinder;
 import repast.simphony.dataLoader.ContextBuilder;
 import repast.simphony.engine.environment.RunEnvironment;
+import repast.simphony.engine.schedule.ScheduleParameters;
 import repast.simphony.space.gis.Geography;
 import repast.simphony.space.gis.GeographyParameters;
+import util.Metrics;
+import util.StageTimer;
+import util.TickConverter;
 
 public class SimulationBuilder implements ContextBuilder<Object> {
 
@@ -39,11 +45,21 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	 */
 	public static final String GEOGRAPHY_PROJECTION_ID = "campus";
 
+	/**
+	 * Run configuration
+	 */
+	public RunConfiguration configuration;
+
 	/**
 	 * Reference to geography projection
 	 */
 	public Geography<Object> geography;
 
+	/**
+	 * Campus geography used by agents
+	 */
+	public CampusGeography campusGeography;
+
 	/**
 	 * Teaching facilities
 	 */
@@ -59,6 +75,11 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	 */
 	public Map<String, GISPolygon> eatingPlaces;
 
+	/**
+	 * Places to have fun: shared areas and eating places
+	 */
+	public Map<String, GISPolygon> funPlaces;
+
 	/**
 	 * In-Out spots
 	 */
@@ -84,6 +105,16 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	 */
 	public Map<String, GISPolygon> limbos;
 
+	/**
+	 * Transit polygons: transit areas and parking lots
+	 */
+	private List<GISPolygon> transitPolygons;
+
+	/**
+	 * Community processes by limbo id
+	 */
+	private Map<String, CommunityProcess> communities;
+
 	/**
 	 * Workplaces
 	 */
@@ -99,6 +130,16 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	 */
 	public Map<String, GraphPath<String, DefaultWeightedEdge>> shortestPaths;
 
+	/**
+	 * Groups
+	 */
+	public Map<String, Group> groups;
+
+	/**
+	 * Flight recorder event of the current day
+	 */
+	private DayEvent dayEvent;
+
 	/**
 	 * Build simulation
 	 * 
@@ -107,94 +148,59 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	@Override
 	public Context<Object> build(Context<Object> context) {
 		context.setId("GeoCampusPandemic");
+		this.configuration = RunConfiguration.fromParameters();
+		// The Repast projection only drops agents that leave the context,
+		// and the context feeds the epidemic data set
+		if (this.configuration.isDetachOffCampus()) {
+			throw new IllegalArgumentException(
+					"Detaching off-campus agents needs the headless kernel");
+		}
+		EventScheduler.getInstance().setKernel(new RepastEventKernel());
+		StageTimer stageTimer = new StageTimer();
+		long buildStart = stageTimer.start();
 		// Create geography projection
 		this.geography = createGeographyProjection(context);
-		// Initialize teaching facilities
-		this.teachingFacilities = readPolygons(
-				SourcePaths.TEACHING_FACILITIES_GEOMETRY_SHAPEFILE,
-				SourcePaths.TEACHING_FACILITIES_ATTRIBUTES_DATABASE);
-		for (GISPolygon teachingFacility : this.teachingFacilities.values()) {
-			context.add(teachingFacility);
-		}
-		// Initialize shared areas
-		this.sharedAreas = readPolygons(
-				SourcePaths.SHARED_AREAS_GEOMETRY_SHAPEFILE,
-				SourcePaths.SHARED_AREAS_ATTRIBUTES_DATABASE);
-		for (GISPolygon sharedArea : this.sharedAreas.values()) {
-			context.add(sharedArea);
-		}
-		// Initialize eating places
-		this.eatingPlaces = readPolygons(
-				SourcePaths.EATING_PLACES_GEOMETRY_SHAPEFILE,
-				SourcePaths.EATING_PLACES_ATTRIBUTES_DATABASE);
-		for (GISPolygon eatingPlace : this.eatingPlaces.values()) {
-			context.add(eatingPlace);
-		}
-		// Initialize in-outs spots
-		this.inOuts = readPolygons(SourcePaths.INOUTS_GEOMETRY_SHAPEFILE,
-				SourcePaths.INOUT_SPOTS_ATTRIBUTES_DATABASE);
-		for (GISPolygon inOut : inOuts.values()) {
-			context.add(inOut);
-		}
-		// Initialize vehicle in-out spots
-		this.vehicleInOuts = readPolygons(
-				SourcePaths.VEHICLE_INOUTS_GEOMETRY_SHAPEFILE,
-				SourcePaths.VEHICLE_INOUT_SPOTS_ATTRIBUTES_DATABASE);
-		for (GISPolygon vehicleInOut : vehicleInOuts.values()) {
-			context.add(vehicleInOut);
-		}
-		// Initialize transit areas
-		this.transitAreas = readPolygons(
-				SourcePaths.TRANSIT_AREAS_GEOMETRY_SHAPEFILE,
-				SourcePaths.TRANSIT_AREAS_ATTRIBUTES_DATABASE);
-		for (GISPolygon transitArea : transitAreas.values()) {
-			context.add(transitArea);
-		}
-		// Initialize parking lots
-		this.parkingLots = readPolygons(
-				SourcePaths.PARKING_LOTS_GEOMETRY_SHAPEFILE,
-				SourcePaths.PARKING_LOTS_ATTRIBUTES_DATABASE);
-		for (GISPolygon parkingLot : parkingLots.values()) {
-			context.add(parkingLot);
-		}
-		// Initialize limbos
-		this.limbos = readPolygons(SourcePaths.LIMBOS_GEOMETRY_SHAPEFILE,
-				SourcePaths.LIMBOS_ATTRIBUTES_DATABASE);
-		for (GISPolygon limbo : this.limbos.values()) {
-			context.add(limbo);
-		}
-		// Initialize other facilities
-		Map<String, GISPolygon> otherFacitilies = readPolygons(
-				SourcePaths.OTHER_FACILITIES_GEOMETRY_SHAPEFILE,
-				SourcePaths.OTHER_FACILITIES_ATTRIBUTES_DATABASE);
-		for (GISPolygon otherFacility : otherFacitilies.values()) {
-			context.add(otherFacility);
-		}
-		// Initialize workplaces
-		this.workplaces = readWorkplaces();
-		// Read routes
-		this.routes = Reader.readRoutesDatabase(SourcePaths.ROUTES_DATABASE);
-		// Find shortest paths
-		this.shortestPaths = Heuristics.findShortestPaths(this.routes);
-		// Read groups
-		Map<String, Group> groups = Reader
-				.readGroupsDatabase(SourcePaths.GROUPS_DATABASE);
-		// Add students to the simulation
-		List<Student> students = createStudents();
-		for (Student student : students) {
-			Schedule schedule = Heuristics.buildRandomSchedule(groups);
-			if (schedule != null && schedule.getGroupCount() > 0) {
-				student.setSchedule(schedule);
-				context.add(student);
-			}
-		}
-		// Add staffers to the simulation
-		List<Staffer> staffers = createStaffers();
-		for (Staffer staff : staffers) {
-			context.add(staff);
+		this.campusGeography = new RepastCampusGeography(this.geography);
+		// Load campus
+		long loadStart = stageTimer.start();
+		Campus campus = loadCampus(stageTimer);
+		stageTimer.record("Campus (wall)", loadStart);
+		// Place polygons in a deterministic order
+		long placementStart = stageTimer.start();
+		placePolygons(context, campus.teachingFacilities);
+		placePolygons(context, campus.sharedAreas);
+		placePolygons(context, campus.eatingPlaces);
+		placePolygons(context, campus.inOuts);
+		placePolygons(context, campus.vehicleInOuts);
+		placePolygons(context, campus.transitAreas);
+		placePolygons(context, campus.parkingLots);
+		placePolygons(context, campus.limbos);
+		placePolygons(context, campus.otherFacilities);
+		initCampus(campus);
+		stageTimer.record("Placement", placementStart);
+		// Add community members to the simulation
+		long populationStart = stageTimer.start();
+		List<CommunityMember> members = createPopulation();
+		for (CommunityMember member : members) {
+			context.add(member);
 		}
+		stageTimer.record("Population", populationStart);
+		// Expose the monitor until the run ends, when the last day is
+		// committed too
+		SimulationMonitor monitor = new SimulationMonitor(
+				EventScheduler.getInstance().getKernel(), members,
+				campus.getCampusPolygons());
+		monitor.register("repast");
+		ScheduleParameters atEnd = ScheduleParameters
+				.createAtEnd(ScheduleParameters.LAST_PRIORITY);
+		RunEnvironment.getInstance().getCurrentSchedule().schedule(atEnd,
+				this, "endRun", monitor);
 		// Set end tick
 		RunEnvironment.getInstance().endAt(END_TICK);
+		scheduleMetrics(END_TICK);
+		scheduleDayEvents();
+		stageTimer.record("Build (wall)", buildStart);
+		stageTimer.report("Simulation build stages");
 		return context;
 	}
 
@@ -213,38 +219,105 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	}
 
 	/**
-	 * Read polygons
+	 * Initialize the campus data used by agents: polygons, workplaces,
+	 * routes, shortest paths and groups
+	 * 
+	 * @param campus Campus
+	 */
+	public void initCampus(Campus campus) {
+		this.teachingFacilities = campus.teachingFacilities;
+		this.sharedAreas = campus.sharedAreas;
+		this.eatingPlaces = campus.eatingPlaces;
+		this.funPlaces = new HashMap<>(campus.sharedAreas);
+		this.funPlaces.putAll(campus.eatingPlaces);
+		this.inOuts = campus.inOuts;
+		this.vehicleInOuts = campus.vehicleInOuts;
+		this.transitAreas = campus.transitAreas;
+		this.parkingLots = campus.parkingLots;
+		this.limbos = campus.limbos;
+		this.transitPolygons = new ArrayList<>();
+		this.transitPolygons.addAll(campus.transitAreas.values());
+		this.transitPolygons.addAll(campus.parkingLots.values());
+		this.communities = new HashMap<>();
+		if (this.configuration.isCommunityTransmission()) {
+			for (String limboId : campus.limbos.keySet()) {
+				this.communities.put(limboId, new CommunityProcess());
+			}
+		}
+		this.workplaces = readWorkplaces(campus.workplaces);
+		this.routes = campus.routes;
+		this.shortestPaths = campus.shortestPaths;
+		this.groups = campus.groups;
+	}
+
+	/**
+	 * Create students and staffers
+	 */
+	public List<CommunityMember> createPopulation() {
+		PopulationBuilder populationBuilder = new PopulationBuilder(this);
+		List<CommunityMember> members = new ArrayList<>();
+		members.addAll(populationBuilder.createStudents());
+		members.addAll(populationBuilder.createStaffers());
+		return members;
+	}
+
+	/**
+	 * Load campus. Boot from the campus snapshot when it is available and up
+	 * to date. Otherwise, read the campus sources on the worker pool and
+	 * write a new snapshot.
+	 * 
+	 * @param stageTimer Stage timer
+	 */
+	public Campus loadCampus(StageTimer stageTimer) {
+		String snapshotPath = this.configuration.getCampusSnapshot();
+		boolean useSnapshot = snapshotPath != null && !snapshotPath.isEmpty();
+		if (useSnapshot) {
+			long snapshotStart = stageTimer.start();
+			Campus campus = CampusSnapshot.read(snapshotPath);
+			if (campus != null) {
+				stageTimer.record("Snapshot read", snapshotStart);
+				return campus;
+			}
+		}
+		Campus campus = null;
+		CampusLoader loader = new CampusLoader(
+				this.configuration.getWorkerThreads(), stageTimer);
+		try {
+			campus = loader.loadCampus();
+		} finally {
+			loader.shutdown();
+		}
+		if (useSnapshot) {
+			long snapshotStart = stageTimer.start();
+			CampusSnapshot.write(snapshotPath, campus);
+			stageTimer.record("Snapshot write", snapshotStart);
+		}
+		return campus;
+	}
+
+	/**
+	 * Place polygons in the geography projection and add them to the
+	 * simulation context
 	 * 
-	 * @param geometryPath   Path to geometry file
-	 * @param attributesPath Path to attributes file
-	 */
-	private Map<String, GISPolygon> readPolygons(String geometryPath,
-			String attributesPath) {
-		Map<String, GISPolygon> polygons = new HashMap<>();
-		List<SimpleFeature> features = Reader
-				.loadGeometryFromShapefile(geometryPath);
-		Map<String, GISPolygon> attributes = Reader
-				.readFacilityAttributesDatabase(attributesPath);
-		for (SimpleFeature feature : features) {
-			MultiPolygon multiPolygon = (MultiPolygon) feature
-					.getDefaultGeometry();
-			Geometry geometry = multiPolygon.getGeometryN(0);
-			String id = (String) feature.getAttribute(1);
-			GISPolygon polygon = attributes.get(id);
-			polygon.setPolygonId(id);
-			polygon.setGeometryInGeography(this.geography, geometry);
-			polygons.put(id, polygon);
+	 * @param context  Simulation context
+	 * @param polygons Polygons
+	 */
+	private void placePolygons(Context<Object> context,
+			Map<String, GISPolygon> polygons) {
+		for (GISPolygon polygon : polygons.values()) {
+			polygon.setGeometryInGeography(this.geography,
+					polygon.getGeometry());
+			context.add(polygon);
 		}
-		return polygons;
 	}
 
 	/**
 	 * Read workplaces
+	 * 
+	 * @param places Workplace weights by polygon id
 	 */
-	private Map<String, GISPolygon> readWorkplaces() {
+	private Map<String, GISPolygon> readWorkplaces(Map<String, Double> places) {
 		Map<String, GISPolygon> placesToWork = new HashMap<>();
-		Map<String, Double> places = Reader
-				.readWorkplacesDatabase(SourcePaths.WORKPLACES_DATABASE);
 		for (Map.Entry<String, Double> workplace : places.entrySet()) {
 			String workplaceId = workplace.getKey();
 			GISPolygon polygon = getPolygonById(workplaceId);
@@ -256,39 +329,147 @@ public class SimulationBuilder implements ContextBuilder<Object> {
 	}
 
 	/**
-	 * Create students
+	 * Is a limbo? Limbos emulate what's off campus.
+	 * 
+	 * @param polygon Polygon
 	 */
-	private List<Student> createStudents() {
-		List<Student> students = new ArrayList<>();
-		int susceptibleStudents = ParametersAdapter.getSusceptibleStudents();
-		int exposedStudents = ParametersAdapter.getExposedStudents();
-		double outbreakTick = ParametersAdapter.getOutbreakTick();
-		for (int i = 0; i < exposedStudents; i++) {
-			Student student = new Student(this, Compartment.EXPOSED,
-					Integer.toString(i), outbreakTick);
-			students.add(student);
+	public boolean isLimbo(GISPolygon polygon) {
+		return this.limbos.containsKey(polygon.getId());
+	}
+
+	/**
+	 * Is a transit polygon? Transit areas and parking lots are only passed
+	 * through.
+	 * 
+	 * @param polygon Polygon
+	 */
+	public boolean isTransitPolygon(GISPolygon polygon) {
+		String id = polygon.getId();
+		return this.transitAreas.containsKey(id)
+				|| this.parkingLots.containsKey(id);
+	}
+
+	/**
+	 * Get transit polygons: transit areas and parking lots
+	 */
+	public List<GISPolygon> getTransitPolygons() {
+		return this.transitPolygons;
+	}
+
+	/**
+	 * Get the community process of a limbo. It returns null if the polygon
+	 * isn't a limbo or community transmission is disabled.
+	 * 
+	 * @param polygon Polygon
+	 */
+	public CommunityProcess getCommunity(GISPolygon polygon) {
+		return this.communities.get(polygon.getId());
+	}
+
+	/**
+	 * Get the category of a polygon, as reported by the metrics. Eating
+	 * places are told apart from the shared areas.
+	 * 
+	 * @param polygon Polygon
+	 */
+	public String getPolygonCategory(GISPolygon polygon) {
+		String id = polygon.getId();
+		if (this.teachingFacilities.containsKey(id)) {
+			return "teachingFacility";
+		}
+		if (this.eatingPlaces.containsKey(id)) {
+			return "eatingPlace";
+		}
+		if (this.sharedAreas.containsKey(id)) {
+			return "sharedArea";
+		}
+		if (this.inOuts.containsKey(id)) {
+			return "inOut";
+		}
+		if (this.vehicleInOuts.containsKey(id)) {
+			return "vehicleInOut";
+		}
+		if (this.transitAreas.containsKey(id)) {
+			return "transitArea";
+		}
+		if (this.parkingLots.containsKey(id)) {
+			return "parkingLot";
+		}
+		if (this.limbos.containsKey(id)) {
+			return "limbo";
+		}
+		return "other";
+	}
+
+	/**
+	 * Enable the metrics and schedule their reports according to the
+	 * metrics mode: once at the end tick, or at the end of every day
+	 * 
+	 * @param endTick End tick
+	 */
+	public void scheduleMetrics(double endTick) {
+		MetricsMode metricsMode = this.configuration.getMetricsMode();
+		Metrics.setEnabled(metricsMode != MetricsMode.OFF);
+		EventKernel kernel = EventScheduler.getInstance().getKernel();
+		if (metricsMode == MetricsMode.DAILY) {
+			kernel.scheduleRecurring(TickConverter.TICKS_PER_DAY,
+					TickConverter.TICKS_PER_DAY, this, "reportMetrics");
+		} else if (metricsMode == MetricsMode.END) {
+			kernel.scheduleOneTime(endTick, this, "reportMetrics");
 		}
-		for (int i = 0; i < susceptibleStudents; i++) {
-			Student student = new Student(this, Compartment.SUSCEPTIBLE,
-					Integer.toString(i), outbreakTick);
-			students.add(student);
+	}
+
+	/**
+	 * Print the metrics recorded so far
+	 */
+	public void reportMetrics() {
+		Metrics.report(String.format("Metrics at tick %.1f",
+				EventScheduler.getInstance().getCurrentTick()));
+	}
+
+	/**
+	 * Schedule the flight recorder day events. They are only scheduled if
+	 * the flight recorder was started along with the JVM.
+	 */
+	public void scheduleDayEvents() {
+		if (!FlightRecorder.isInitialized()) {
+			return;
 		}
-		return students;
+		EventKernel kernel = EventScheduler.getInstance().getKernel();
+		kernel.scheduleRecurring(0, TickConverter.TICKS_PER_DAY, this,
+				"markDay");
+	}
+
+	/**
+	 * Commit the event of the day that ended and begin the next one
+	 */
+	public void markDay() {
+		commitDay();
+		this.dayEvent = new DayEvent();
+		this.dayEvent.day = (int) (EventScheduler.getInstance()
+				.getCurrentTick() / TickConverter.TICKS_PER_DAY) + 1;
+		this.dayEvent.begin();
+	}
+
+	/**
+	 * End the run: commit the event of the last day and unregister the
+	 * monitor
+	 * 
+	 * @param monitor Simulation monitor
+	 */
+	public void endRun(SimulationMonitor monitor) {
+		commitDay();
+		monitor.unregister();
 	}
 
 	/**
-	 * Create staffers
+	 * Commit the event of the current day, if any
 	 */
-	private List<Staffer> createStaffers() {
-		List<Staffer> staffers = new ArrayList<>();
-		double outbreakTick = ParametersAdapter.getOutbreakTick();
-		int susceptibleStaffers = ParametersAdapter.getSusceptibleStaffers();
-		for (int i = 0; i < susceptibleStaffers; i++) {
-			Staffer staffer = new Staffer(this, Compartment.SUSCEPTIBLE,
-					outbreakTick);
-			staffers.add(staffer);
+	private void commitDay() {
+		if (this.dayEvent != null) {
+			this.dayEvent.commit();
+			this.dayEvent = null;
 		}
-		return staffers;
 	}
 
 	/**
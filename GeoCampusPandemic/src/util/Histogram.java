@@ -0,0 +1,163 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Histogram {
+
+	/**
+	 * Sub-buckets per power of two, as a power of two. Values are recorded
+	 * with a relative error under 1 / 16.
+	 */
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/**
+	 * Sub-buckets per power of two
+	 */
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * Values below this limit get a bucket each
+	 */
+	private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+
+	/**
+	 * Number of buckets
+	 */
+	private static final int BUCKETS = LINEAR_LIMIT
+			+ (64 - SUB_BUCKET_BITS - 2) * SUB_BUCKETS;
+
+	/**
+	 * Bucket counts
+	 */
+	private AtomicLongArray counts;
+
+	/**
+	 * Sum of the recorded values
+	 */
+	private LongAdder sum;
+
+	/**
+	 * Create a new log-linear histogram of non-negative values. Buckets
+	 * split every power of two in equal parts, as HDR histograms do, and
+	 * recording is lock-free.
+	 */
+	public Histogram() {
+		this.counts = new AtomicLongArray(BUCKETS);
+		this.sum = new LongAdder();
+	}
+
+	/**
+	 * Record a value. Negative values are recorded as zero.
+	 * 
+	 * @param value Value
+	 */
+	public void record(long value) {
+		long v = Math.max(value, 0);
+		this.counts.incrementAndGet(getBucket(v));
+		this.sum.add(v);
+	}
+
+	/**
+	 * Get the number of recorded values
+	 */
+	public long getCount() {
+		long count = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			count += this.counts.get(i);
+		}
+		return count;
+	}
+
+	/**
+	 * Get the mean of the recorded values
+	 */
+	public double getMean() {
+		long count = getCount();
+		return count > 0 ? (double) this.sum.sum() / count : 0;
+	}
+
+	/**
+	 * Get a percentile of the recorded values. It returns the middle of the
+	 * bucket that holds the percentile.
+	 * 
+	 * @param percentile Percentile in [0, 100]
+	 */
+	public long getPercentile(double percentile) {
+		long count = getCount();
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += this.counts.get(i);
+			if (seen >= rank) {
+				return getMiddle(i);
+			}
+		}
+		return getMiddle(BUCKETS - 1);
+	}
+
+	/**
+	 * Get the upper bound of the highest non-empty bucket
+	 */
+	public long getMax() {
+		for (int i = BUCKETS - 1; i >= 0; i--) {
+			if (this.counts.get(i) > 0) {
+				return getLowerBound(i) + getWidth(i) - 1;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Get the bucket of a value
+	 * 
+	 * @param value Non-negative value
+	 */
+	private static int getBucket(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+		return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * Get the lower bound of a bucket
+	 * 
+	 * @param bucket Bucket
+	 */
+	private static long getLowerBound(int bucket) {
+		if (bucket < LINEAR_LIMIT) {
+			return bucket;
+		}
+		int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+		long subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+		return subBucket << shift;
+	}
+
+	/**
+	 * Get the width of a bucket
+	 * 
+	 * @param bucket Bucket
+	 */
+	private static long getWidth(int bucket) {
+		if (bucket < LINEAR_LIMIT) {
+			return 1;
+		}
+		return 1L << ((bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1);
+	}
+
+	/**
+	 * Get the middle of a bucket
+	 * 
+	 * @param bucket Bucket
+	 */
+	private static long getMiddle(int bucket) {
+		return getLowerBound(bucket) + getWidth(bucket) / 2;
+	}
+
+}
\ No newline at end of file
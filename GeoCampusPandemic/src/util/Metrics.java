@@ -0,0 +1,202 @@
+package util;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Metrics {
+
+	/**
+	 * Key of the metrics without key
+	 */
+	private static final String NO_KEY = "";
+
+	/**
+	 * Enabled flag. Set before the run, so hot paths only pay a static read
+	 * when metrics are disabled.
+	 */
+	private static boolean enabled;
+
+	/**
+	 * Counters by name and key
+	 */
+	private static final Map<String, Map<String, LongAdder>> COUNTERS = new ConcurrentHashMap<>();
+
+	/**
+	 * Histograms by name and key
+	 */
+	private static final Map<String, Map<String, Histogram>> HISTOGRAMS = new ConcurrentHashMap<>();
+
+	/**
+	 * Private constructor
+	 */
+	private Metrics() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Enable or disable the metrics. Recorded metrics are cleared.
+	 * 
+	 * @param enabled Enabled flag
+	 */
+	public static void setEnabled(boolean enabled) {
+		Metrics.enabled = enabled;
+		COUNTERS.clear();
+		HISTOGRAMS.clear();
+	}
+
+	/**
+	 * Are metrics enabled? Callers that build keys check it first.
+	 */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Increment a counter
+	 * 
+	 * @param name Counter name
+	 */
+	public static void count(String name) {
+		count(name, NO_KEY, 1);
+	}
+
+	/**
+	 * Increment a keyed counter, e.g. per action name
+	 * 
+	 * @param name Counter name
+	 * @param key  Key
+	 */
+	public static void count(String name, String key) {
+		count(name, key, 1);
+	}
+
+	/**
+	 * Add to a keyed counter. It's safe to call from worker threads.
+	 * 
+	 * @param name  Counter name
+	 * @param key   Key
+	 * @param delta Delta
+	 */
+	public static void count(String name, String key, long delta) {
+		if (!enabled) {
+			return;
+		}
+		COUNTERS.computeIfAbsent(name, n -> new ConcurrentHashMap<>())
+				.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+	}
+
+	/**
+	 * Record a value in a histogram
+	 * 
+	 * @param name  Histogram name
+	 * @param value Value
+	 */
+	public static void record(String name, long value) {
+		record(name, NO_KEY, value);
+	}
+
+	/**
+	 * Record a value in a keyed histogram. It's safe to call from worker
+	 * threads.
+	 * 
+	 * @param name  Histogram name
+	 * @param key   Key
+	 * @param value Value
+	 */
+	public static void record(String name, String key, long value) {
+		if (!enabled) {
+			return;
+		}
+		HISTOGRAMS.computeIfAbsent(name, n -> new ConcurrentHashMap<>())
+				.computeIfAbsent(key, k -> new Histogram()).record(value);
+	}
+
+	/**
+	 * Get a counter value. It returns zero if the counter doesn't exist.
+	 * 
+	 * @param name Counter name
+	 * @param key  Key
+	 */
+	public static long getCount(String name, String key) {
+		Map<String, LongAdder> keys = COUNTERS.get(name);
+		LongAdder counter = keys != null ? keys.get(key) : null;
+		return counter != null ? counter.sum() : 0;
+	}
+
+	/**
+	 * Get the counters, sorted by name and key. Counters without key are
+	 * named as is; the others as name.key.
+	 */
+	public static Map<String, Long> getCounts() {
+		Map<String, Long> counts = new TreeMap<>();
+		for (Map.Entry<String, Map<String, LongAdder>> counter : COUNTERS
+				.entrySet()) {
+			for (Map.Entry<String, LongAdder> key : counter.getValue()
+					.entrySet()) {
+				counts.put(getFullName(counter.getKey(), key.getKey()),
+						key.getValue().sum());
+			}
+		}
+		return counts;
+	}
+
+	/**
+	 * Get the histograms, sorted by name and key. They are named as the
+	 * COUNTERS.
+	 */
+	public static Map<String, Histogram> getHistograms() {
+		Map<String, Histogram> sorted = new TreeMap<>();
+		for (Map.Entry<String, Map<String, Histogram>> histogram : HISTOGRAMS
+				.entrySet()) {
+			for (Map.Entry<String, Histogram> key : histogram.getValue()
+					.entrySet()) {
+				sorted.put(getFullName(histogram.getKey(), key.getKey()),
+						key.getValue());
+			}
+		}
+		return sorted;
+	}
+
+	/**
+	 * Print the metrics to the standard output
+	 * 
+	 * @param title Report title
+	 */
+	public static void report(String title) {
+		if (!enabled) {
+			return;
+		}
+		StringBuilder report = new StringBuilder();
+		report.append(title);
+		for (Map.Entry<String, Long> counter : getCounts().entrySet()) {
+			report.append(System.lineSeparator());
+			report.append(String.format("  %-48s %12d", counter.getKey(),
+					counter.getValue()));
+		}
+		for (Map.Entry<String, Histogram> entry : getHistograms()
+				.entrySet()) {
+			Histogram histogram = entry.getValue();
+			report.append(System.lineSeparator());
+			report.append(String.format(
+					"  %-48s %12d mean %.1f p50 %d p90 %d p99 %d max %d",
+					entry.getKey(), histogram.getCount(),
+					histogram.getMean(), histogram.getPercentile(50),
+					histogram.getPercentile(90), histogram.getPercentile(99),
+					histogram.getMax()));
+		}
+		System.out.println(report);
+	}
+
+	/**
+	 * Get the full name of a metric
+	 * 
+	 * @param name Metric name
+	 * @param key  Key
+	 */
+	private static String getFullName(String name, String key) {
+		return key.isEmpty() ? name : name + "." + key;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class ParallelUtil {
+
+	/**
+	 * Chunks per worker thread. More chunks than threads balance uneven work.
+	 */
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	/**
+	 * Private constructor
+	 */
+	private ParallelUtil() {
+		throw new UnsupportedOperationException("Utility class");
+	}
+
+	/**
+	 * Resolve the number of worker threads. Zero or less means all the
+	 * available processors.
+	 * 
+	 * @param threads Requested number of worker threads
+	 */
+	public static int resolveThreads(int threads) {
+		if (threads <= 0) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+		return threads;
+	}
+
+	/**
+	 * Split the range [0, size) in chunks and process them on a worker pool.
+	 * The method returns once every chunk is processed.
+	 * 
+	 * @param size    Range size
+	 * @param threads Number of worker threads
+	 * @param task    Chunk task
+	 */
+	public static void forEachChunk(int size, int threads, ChunkTask task) {
+		threads = resolveThreads(threads);
+		if (threads == 1 || size <= 1) {
+			task.run(0, size);
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			forEachChunk(executor, size, threads, task);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Split the range [0, size) in chunks and process them on a given worker
+	 * pool. The method returns once every chunk is processed.
+	 * 
+	 * @param executor Worker pool
+	 * @param size     Range size
+	 * @param threads  Number of worker threads of the pool
+	 * @param task     Chunk task
+	 */
+	public static void forEachChunk(ExecutorService executor, int size,
+			int threads, ChunkTask task) {
+		if (threads <= 1 || size <= 1) {
+			task.run(0, size);
+			return;
+		}
+		int chunks = Math.min(size, threads * CHUNKS_PER_THREAD);
+		int chunkSize = (size + chunks - 1) / chunks;
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int from = 0; from < size; from += chunkSize) {
+				int start = from;
+				int end = Math.min(size, from + chunkSize);
+				futures.add(executor.submit(() -> task.run(start, end)));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Parallel task interrupted", ie);
+		} catch (ExecutionException ee) {
+			throw new IllegalStateException("Parallel task failed",
+					ee.getCause());
+		}
+	}
+
+	/**
+	 * Task over a chunk of a range
+	 */
+	public interface ChunkTask {
+
+		/**
+		 * Process the chunk [from, to)
+		 * 
+		 * @param from First index (inclusive)
+		 * @param to   Last index (exclusive)
+		 */
+		void run(int from, int to);
+
+	}
+
+}
\ No newline at end of file
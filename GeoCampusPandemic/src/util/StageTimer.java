@@ -0,0 +1,74 @@
+package util;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import profiling.StageEvent;
+
+public class StageTimer {
+
+	/**
+	 * Nanoseconds per millisecond
+	 */
+	private static final double NANOS_PER_MILLI = 1e6;
+
+	/**
+	 * Stage durations (unit: milliseconds)
+	 */
+	private Map<String, Double> durations;
+
+	/**
+	 * Create a new stage timer
+	 */
+	public StageTimer() {
+		this.durations = Collections.synchronizedMap(new LinkedHashMap<>());
+	}
+
+	/**
+	 * Start timing a stage. It returns the start timestamp to pass to
+	 * record.
+	 */
+	public long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Record the duration of a stage and emit its flight recorder event. It
+	 * is safe to call from worker threads.
+	 * 
+	 * @param stage     Stage name
+	 * @param startTime Start timestamp returned by start
+	 */
+	public void record(String stage, long startTime) {
+		long nanos = System.nanoTime() - startTime;
+		this.durations.put(stage, nanos / NANOS_PER_MILLI);
+		StageEvent.emit(stage, nanos);
+	}
+
+	/**
+	 * Get stage durations in recording order (unit: milliseconds)
+	 */
+	public Map<String, Double> getDurations() {
+		synchronized (this.durations) {
+			return new LinkedHashMap<>(this.durations);
+		}
+	}
+
+	/**
+	 * Print stage durations to the standard output
+	 * 
+	 * @param title Report title
+	 */
+	public void report(String title) {
+		StringBuilder report = new StringBuilder();
+		report.append(title);
+		report.append(" (unit: milliseconds)");
+		for (Map.Entry<String, Double> stage : getDurations().entrySet()) {
+			report.append(System.lineSeparator());
+			report.append(String.format("  %-32s %10.1f", stage.getKey(),
+					stage.getValue()));
+		}
+		System.out.println(report);
+	}
+
+}
\ No newline at end of file
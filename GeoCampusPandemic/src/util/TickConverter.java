@@ -56,6 +56,15 @@ public final class TickConverter {
 		return minutes * TICKS_PER_MINUTE;
 	}
 
+	/**
+	 * Ticks to minutes
+	 * 
+	 * @param ticks Ticks
+	 */
+	public static double ticksToMinutes(double ticks) {
+		return ticks / TICKS_PER_MINUTE;
+	}
+
 	/**
 	 * Days to ticks
 	 * 